@@ -0,0 +1,266 @@
+import bench.Workload;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The HotPathWorkloads class holds the parts of a game tick that the benchmarks in the bench package measure.
+ * Each nested class sets up a world, effect layer, or set of trails of the requested size from a fixed seed, so every
+ * run of a benchmark measures the same state.
+ */
+public class HotPathWorkloads {
+    public static final long SEED = 20240501L;
+    public static final int SPREAD_TICKS = 200;
+
+    /**
+     * Builds a world with the given number of balls spread out over the field, with no power-ups.
+     * The balls are moved for a while without spawning anything, so they sit where they would in play.
+     *
+     * @param balls The number of balls.
+     * @return The world.
+     */
+    static PongModel spreadWorld(int balls) {
+        PongModel world = new PongModel(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, SEED);
+        world.setLimits(balls, 0);
+        for (int i = 0; i < balls; i++) {
+            world.addNewBall();
+        }
+        for (int i = 0; i < SPREAD_TICKS; i++) {
+            world.checkCollisions();
+            world.updateScoring();
+            world.idle();
+            world.move();
+        }
+        return world;
+    }
+
+    /**
+     * Checks every ball against both paddles, as PongModel.checkCollisions does each tick.
+     */
+    public static class PaddleCollision implements Workload {
+        private List<BallModel> balls;
+        private PaddleModel leftPaddle, rightPaddle;
+
+        @Override
+        public void setUp(int size) {
+            PongModel world = spreadWorld(size);
+            balls = world.getBalls();
+            leftPaddle = world.getLeftPaddle();
+            rightPaddle = world.getRightPaddle();
+        }
+
+        @Override
+        public int run() {
+            int sum = 0;
+            for (int i = 0; i < balls.size(); i++) {
+                BallModel ball = balls.get(i);
+                ball.checkPaddleCollision(leftPaddle, rightPaddle);
+                sum += ball.getVX();
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Checks every ball against the top and bottom walls.
+     */
+    public static class VerticalCollision implements Workload {
+        private List<BallModel> balls;
+        private int fieldHeight;
+
+        @Override
+        public void setUp(int size) {
+            PongModel world = spreadWorld(size);
+            balls = world.getBalls();
+            fieldHeight = world.getFieldHeight();
+        }
+
+        @Override
+        public int run() {
+            int sum = 0;
+            for (int i = 0; i < balls.size(); i++) {
+                BallModel ball = balls.get(i);
+                ball.checkVerticalCollision(fieldHeight);
+                sum += ball.getVY();
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Bounces overlapping balls off each other with the sort and sweep PongModel uses when ball collisions are on.
+     * The balls keep moving between runs, so the sweep re-sorts a nearly sorted order each time, as it does in play.
+     */
+    public static class BallCollision implements Workload {
+        private PongModel world;
+        private final BallSweep sweep = new BallSweep();
+
+        @Override
+        public void setUp(int size) {
+            world = spreadWorld(size);
+        }
+
+        @Override
+        public int run() {
+            int bounced = sweep.collide(world.getBalls());
+            world.checkCollisions();
+            world.updateScoring();
+            world.move();
+            return bounced;
+        }
+    }
+
+    /**
+     * Checks every ball against every power-up with none of them touching, so the same state is measured every run.
+     * PongModel.checkPowerupCollision only looks at the power-ups near each ball, so this mostly measures the cost of
+     * the grid lookups.
+     */
+    public static class PowerUpCollision implements Workload {
+        private PongModel world;
+
+        @Override
+        public void setUp(int size) {
+            world = new PongModel(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, SEED);
+            world.setLimits(size, size);
+            for (int i = 0; i < size; i++) {
+                world.addNewBall();
+                world.addNewPowerup();
+            }
+            // Power-ups never spawn in the outer tenth of the field, so line the balls up along the left edge
+            List<BallModel> balls = world.getBalls();
+            for (int i = 0; i < balls.size(); i++) {
+                BallModel ball = balls.get(i);
+                ball.horizontalBounce(10);
+                ball.verticalBounce(i * (world.getFieldHeight() - 20) / Math.max(1, balls.size()));
+            }
+        }
+
+        @Override
+        public int run() {
+            world.checkPowerupCollision();
+            return world.getPowerUps().size();
+        }
+    }
+
+    /**
+     * Updates an effect layer holding the given number of pickup bursts, replacing each burst as it finishes, the way
+     * the layer checks its generators' lifespans every frame.
+     */
+    public static class GeneratorLifespan implements Workload {
+        private EffectLayer layer;
+        private int generators;
+
+        @Override
+        public void setUp(int size) {
+            layer = new EffectLayer(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, new RandomStream(SEED));
+            generators = size;
+        }
+
+        @Override
+        public int run() {
+            // Keep the number of running generators steady
+            while (layer.getGeneratorCount() < generators) {
+                int i = layer.getGeneratorCount();
+                layer.addGenerator(new ParticleGenerator(i * 20, i * 10, 1, 100, 10, 7, Color.WHITE, layer.getParticles()));
+            }
+            layer.update();
+            return layer.getEffectCount();
+        }
+    }
+
+    /**
+     * Runs the given number of generators that never finish, each spawning into a shared pool that is aged every run so
+     * it stays at a steady size.
+     */
+    public static class ParticleGeneratorAct implements Workload {
+        private final ArrayList<ParticleGenerator> generators = new ArrayList<>();
+        private ParticlePool particles;
+
+        @Override
+        public void setUp(int size) {
+            particles = new ParticlePool(4096, new RandomStream(SEED));
+            for (int i = 0; i < size; i++) {
+                generators.add(new ParticleGenerator(i * 20, i * 10, Integer.MAX_VALUE, 100, 10, 7, Color.WHITE, particles));
+            }
+        }
+
+        @Override
+        public int run() {
+            for (int i = 0; i < generators.size(); i++) {
+                generators.get(i).act();
+            }
+            particles.update();
+            return particles.getLiveCount();
+        }
+    }
+
+    /**
+     * Records the next point of the given number of ball trails.
+     */
+    public static class TrailRecord implements Workload {
+        private final ArrayList<TrailBuffer> trails = new ArrayList<>();
+        private int time;
+
+        @Override
+        public void setUp(int size) {
+            for (int i = 0; i < size; i++) {
+                trails.add(new TrailBuffer(Ball.DEFAULT_TRAIL_LENGTH, 15));
+            }
+        }
+
+        @Override
+        public int run() {
+            time++;
+            for (int i = 0; i < trails.size(); i++) {
+                trails.get(i).record(time & 1023, i * 10, 15, i % 3, time);
+            }
+            return trails.get(trails.size() - 1).isFaded(time) ? 1 : 0;
+        }
+    }
+
+    /**
+     * Lets both paddles pick the closest incoming ball out of the given number, as in the attract mode.
+     */
+    public static class PaddleIdle implements Workload {
+        private List<BallModel> balls;
+        private PaddleModel leftPaddle, rightPaddle;
+
+        @Override
+        public void setUp(int size) {
+            PongModel world = spreadWorld(size);
+            balls = world.getBalls();
+            leftPaddle = world.getLeftPaddle();
+            rightPaddle = world.getRightPaddle();
+        }
+
+        @Override
+        public int run() {
+            leftPaddle.idle(balls);
+            rightPaddle.idle(balls);
+            return leftPaddle.getVelocity() + rightPaddle.getVelocity();
+        }
+    }
+
+    /**
+     * Plays whole attract-mode matches one tick at a time, starting a new match whenever one ends.
+     */
+    public static class MatchTick implements Workload {
+        private HeadlessMatch match;
+        private long seed;
+
+        @Override
+        public void setUp(int size) {
+            seed = SEED;
+            match = new HeadlessMatch(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, HeadlessMatch.DEFAULT_MAX_TICKS, seed);
+        }
+
+        @Override
+        public int run() {
+            if (match.tick()) {
+                match = new HeadlessMatch(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, HeadlessMatch.DEFAULT_MAX_TICKS, ++seed);
+            }
+            return match.getTicks();
+        }
+    }
+}
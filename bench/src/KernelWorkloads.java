@@ -0,0 +1,61 @@
+import bench.Workload;
+
+/**
+ * The KernelWorkloads class holds the workloads that KernelBenchmark compares: the wall, scoring, and movement rules of
+ * a BallStore run with the scalar kernel and with the vector kernel.
+ */
+public class KernelWorkloads {
+
+    /**
+     * Runs the kernel's rules for a store of the given size that was filled from a fixed seed.
+     */
+    abstract static class KernelTick implements Workload {
+        private BallStore store;
+        private final RandomStream random = new RandomStream(HotPathWorkloads.SEED);
+
+        /**
+         * Creates the kernel to measure.
+         *
+         * @return The kernel.
+         */
+        abstract BallKernel createKernel();
+
+        @Override
+        public void setUp(int size) {
+            store = new BallStore(size, createKernel());
+            store.spawn(size, HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, random);
+        }
+
+        @Override
+        public int run() {
+            store.bounceWalls(HeadlessMatch.FIELD_HEIGHT);
+            store.score(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, random);
+            store.integrate();
+            return store.getLeftScored();
+        }
+    }
+
+    /**
+     * Runs the rules with ScalarBallKernel.
+     */
+    public static class ScalarTick extends KernelTick {
+        @Override
+        BallKernel createKernel() {
+            return new ScalarBallKernel();
+        }
+    }
+
+    /**
+     * Runs the rules with VectorBallKernel, which must be on the class path with the incubator module added.
+     */
+    public static class VectorTick extends KernelTick {
+        @Override
+        BallKernel createKernel() {
+            BallKernel kernel = BallKernel.load();
+            if (!kernel.getClass().getName().equals("VectorBallKernel")) {
+                throw new IllegalStateException("VectorBallKernel is not available; run with --add-modules jdk.incubator.vector");
+            }
+            return kernel;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+import bench.Workload;
+
+/**
+ * The SwarmWorkloads class holds the whole-tick workloads that SwarmBenchmark compares at large ball counts: balls
+ * kept as BallModel objects, and balls kept in a BallStore.
+ */
+public class SwarmWorkloads {
+
+    /**
+     * Runs the paddle, wall, scoring, and movement rules for the given number of BallModel objects.
+     */
+    public static class ObjectTick implements Workload {
+        private PongModel world;
+
+        @Override
+        public void setUp(int size) {
+            world = new PongModel(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, HotPathWorkloads.SEED);
+            world.setLimits(size, 0);
+            for (int i = 0; i < size; i++) {
+                world.addNewBall();
+            }
+        }
+
+        @Override
+        public int run() {
+            world.checkCollisions();
+            world.updateScoring();
+            world.move();
+            return world.getLeftScore();
+        }
+    }
+
+    /**
+     * Runs the same rules for the given number of balls in a BallStore.
+     */
+    public static class StoreTick implements Workload {
+        private BallStore store;
+        private PaddleModel leftPaddle, rightPaddle;
+        private final RandomStream random = new RandomStream(HotPathWorkloads.SEED);
+
+        @Override
+        public void setUp(int size) {
+            PongModel world = new PongModel(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, HotPathWorkloads.SEED);
+            world.move();
+            leftPaddle = world.getLeftPaddle();
+            rightPaddle = world.getRightPaddle();
+            store = new BallStore(size);
+            store.spawn(size, HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, random);
+        }
+
+        @Override
+        public int run() {
+            store.tick(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, leftPaddle, rightPaddle, random);
+            return store.getLeftScored();
+        }
+    }
+}
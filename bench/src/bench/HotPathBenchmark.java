@@ -0,0 +1,87 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each part of a game tick on its own, at several ball, power-up, trail, and generator counts.
+ * The game caps balls and power-ups at about 50 each, so 50 is the worst case a real match reaches; 200 shows how
+ * each path scales if the caps are raised.
+ *
+ * @see RunBenchmarks
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    public int size;
+
+    private Workload paddleCollision, verticalCollision, ballCollision, powerUpCollision, generatorLifespan, particleGeneratorAct,
+            trailRecord, paddleIdle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        paddleCollision = Workload.load("HotPathWorkloads$PaddleCollision", size);
+        verticalCollision = Workload.load("HotPathWorkloads$VerticalCollision", size);
+        ballCollision = Workload.load("HotPathWorkloads$BallCollision", size);
+        powerUpCollision = Workload.load("HotPathWorkloads$PowerUpCollision", size);
+        generatorLifespan = Workload.load("HotPathWorkloads$GeneratorLifespan", size);
+        particleGeneratorAct = Workload.load("HotPathWorkloads$ParticleGeneratorAct", size);
+        trailRecord = Workload.load("HotPathWorkloads$TrailRecord", size);
+        paddleIdle = Workload.load("HotPathWorkloads$PaddleIdle", size);
+    }
+
+    /** BallModel.checkPaddleCollision for every ball. */
+    @Benchmark
+    public int paddleCollision() {
+        return paddleCollision.run();
+    }
+
+    /** BallModel.checkVerticalCollision for every ball. */
+    @Benchmark
+    public int verticalCollision() {
+        return verticalCollision.run();
+    }
+
+    /** BallSweep.collide for size moving balls, plus moving them between runs. */
+    @Benchmark
+    public int ballCollision() {
+        return ballCollision.run();
+    }
+
+    /** PongModel.checkPowerupCollision with size balls and size power-ups. */
+    @Benchmark
+    public int powerUpCollision() {
+        return powerUpCollision.run();
+    }
+
+    /** EffectLayer.update with size pickup bursts, which acts the generators and drops the finished ones. */
+    @Benchmark
+    public int generatorLifespan() {
+        return generatorLifespan.run();
+    }
+
+    /** ParticleGenerator.act for size generators. */
+    @Benchmark
+    public int particleGeneratorAct() {
+        return particleGeneratorAct.run();
+    }
+
+    /** TrailBuffer.record for size trails, which replaced Trail.act. */
+    @Benchmark
+    public int trailRecord() {
+        return trailRecord.run();
+    }
+
+    /** PaddleModel.idle for both paddles over size balls. */
+    @Benchmark
+    public int paddleIdle() {
+        return paddleIdle.run();
+    }
+}
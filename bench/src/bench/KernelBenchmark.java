@@ -0,0 +1,45 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many ticks per second the wall, scoring, and movement rules of a BallStore can run with the scalar
+ * kernel and with the vector kernel as the number of balls grows.
+ * The forked JVM is started with the incubator vector module, so the vector classes must be compiled and on the class
+ * path, which needs Java 16 or newer.
+ *
+ * @see RunBenchmarks
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int balls;
+
+    private Workload scalarTick, vectorTick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scalarTick = Workload.load("KernelWorkloads$ScalarTick", balls);
+        vectorTick = Workload.load("KernelWorkloads$VectorTick", balls);
+    }
+
+    /** A BallStore tick with ScalarBallKernel. */
+    @Benchmark
+    public int scalarTick() {
+        return scalarTick.run();
+    }
+
+    /** A BallStore tick with VectorBallKernel. */
+    @Benchmark
+    public int vectorTick() {
+        return vectorTick.run();
+    }
+}
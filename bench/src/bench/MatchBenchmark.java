@@ -0,0 +1,32 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a whole tick of an attract-mode match, averaged over matches from their first tick to their last.
+ *
+ * @see RunBenchmarks
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark {
+
+    private Workload matchTick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matchTick = Workload.load("HotPathWorkloads$MatchTick", 0);
+    }
+
+    /** HeadlessMatch.tick, starting a new match whenever one ends. */
+    @Benchmark
+    public int tick() {
+        return matchTick.run();
+    }
+}
@@ -0,0 +1,30 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the allocation profiler, the same as passing -prof gc to JMH, so every result comes with
+ * the bytes allocated per operation (gc.alloc.rate.norm) next to its time.
+ *
+ * Any JMH command-line options can be given, such as a pattern to run only some benchmarks or -p size=50. In IntelliJ
+ * the Bench module builds with annotation processing turned on; from a shell, with the JMH jars in lib:
+ *
+ *     javac -cp "csta.ibm.pong.v15.jar:lib/*" -d out/bench src/*.java bench/src/*.java bench/src/bench/*.java
+ *     java -cp "csta.ibm.pong.v15.jar:lib/*:out/bench" bench.RunBenchmarks [JMH options]
+ */
+public class RunBenchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,43 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many ticks per second the paddle, wall, scoring, and movement rules can run as the number of balls
+ * grows, with the balls kept as BallModel objects and kept in a BallStore.
+ *
+ * @see RunBenchmarks
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwarmBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int balls;
+
+    private Workload objectTick, storeTick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectTick = Workload.load("SwarmWorkloads$ObjectTick", balls);
+        storeTick = Workload.load("SwarmWorkloads$StoreTick", balls);
+    }
+
+    /** A tick of PongModel with every ball a BallModel. */
+    @Benchmark
+    public int objectTick() {
+        return objectTick.run();
+    }
+
+    /** A tick of a BallStore holding every ball. */
+    @Benchmark
+    public int storeTick() {
+        return storeTick.run();
+    }
+}
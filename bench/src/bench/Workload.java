@@ -0,0 +1,43 @@
+package bench;
+
+/**
+ * A piece of the game's per-tick work that a benchmark runs over and over.
+ *
+ * JMH will not generate benchmarks for classes in the default package, and classes in a named package cannot refer to
+ * the game's classes, which all live in the default package. Each workload is therefore written in the default
+ * package against this interface and loaded by name once per trial. Every call goes to a single implementation, so
+ * the JIT inlines it and the indirection does not show up in the measurements.
+ */
+public interface Workload {
+
+    /**
+     * Builds the state the workload runs on.
+     *
+     * @param size The number of balls, power-ups, trails, or generators to run with.
+     */
+    void setUp(int size);
+
+    /**
+     * Runs the workload once.
+     *
+     * @return A value derived from the work, so the JIT cannot remove it.
+     */
+    int run();
+
+    /**
+     * Loads and sets up a workload written in the default package.
+     *
+     * @param className The binary name of the workload class, such as HotPathWorkloads$PaddleIdle.
+     * @param size      The size to set the workload up with.
+     * @return The workload, ready to run.
+     */
+    static Workload load(String className, int size) {
+        try {
+            Workload workload = (Workload) Class.forName(className).getDeclaredConstructor().newInstance();
+            workload.setUp(size);
+            return workload;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load workload " + className, e);
+        }
+    }
+}
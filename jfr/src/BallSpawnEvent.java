@@ -0,0 +1,40 @@
+import jdk.jfr.*;
+
+/**
+ * The BallSpawnEvent class is the Flight Recorder event for a ball added to the world.
+ *
+ * @see GameEvents#ballSpawned(BallModel, int)
+ */
+@Name("pongfinity.BallSpawn")
+@Label("Ball Spawn")
+@Category({"Pongfinity", "Gameplay"})
+@Description("A ball added to the world")
+@StackTrace(false)
+public final class BallSpawnEvent extends Event {
+    private static final BallSpawnEvent PROBE = new BallSpawnEvent();
+    @Label("X")
+    int x;
+    @Label("Y")
+    int y;
+    @Label("Balls")
+    int balls;
+
+    /**
+     * Commits an event for a new ball if it is being recorded.
+     *
+     * @param ball  The new ball.
+     * @param balls The number of balls in the world, including the new one.
+     */
+    static void emit(BallModel ball, int balls) {
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+        BallSpawnEvent event = new BallSpawnEvent();
+        if (event.shouldCommit()) {
+            event.x = ball.getX();
+            event.y = ball.getY();
+            event.balls = balls;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * The FlightRecorderSink class reports what happens in a match as Flight Recorder events.
+ * GameEvents creates it by name when the running Java has Flight Recorder.
+ *
+ * @see GameEvents
+ */
+public final class FlightRecorderSink implements GameEventSink {
+
+    @Override
+    public void tick(FrameStats stats, PongModel world) {
+        TickEvent.emit(stats, world);
+    }
+
+    @Override
+    public void ballSpawned(BallModel ball, int balls) {
+        BallSpawnEvent.emit(ball, balls);
+    }
+
+    @Override
+    public void scored(BallModel.Owner scorer, int points, int leftScore, int rightScore) {
+        ScoreEvent.emit(scorer, points, leftScore, rightScore);
+    }
+
+    @Override
+    public void powerUpCollected(PowerUpModel.Type type, BallModel.Owner collector) {
+        PowerUpEvent.emit(type, collector);
+    }
+
+    @Override
+    public void particleBurst(int particles, int lifespan) {
+        ParticleBurstEvent.emit(particles, lifespan);
+    }
+
+    @Override
+    public void stateChanged(Enum<?> from, Enum<?> to) {
+        StateEvent.emit(from, to);
+    }
+}
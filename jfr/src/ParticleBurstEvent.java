@@ -0,0 +1,38 @@
+import jdk.jfr.*;
+
+/**
+ * The ParticleBurstEvent class is the Flight Recorder event for a burst of particles started.
+ *
+ * @see GameEvents#particleBurst(int, int)
+ */
+@Name("pongfinity.ParticleBurst")
+@Label("Particle Burst")
+@Category({"Pongfinity", "Effects"})
+@Description("A particle generator started, and how many particles it will spawn")
+@StackTrace(false)
+public final class ParticleBurstEvent extends Event {
+    private static final ParticleBurstEvent PROBE = new ParticleBurstEvent();
+    @Label("Particles")
+    int particles;
+    @Label("Lifespan")
+    @Description("The number of frames each particle lives for")
+    int lifespan;
+
+    /**
+     * Commits an event for a particle burst if it is being recorded.
+     *
+     * @param particles The number of particles the burst will spawn.
+     * @param lifespan  The number of frames each particle lives for.
+     */
+    static void emit(int particles, int lifespan) {
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+        ParticleBurstEvent event = new ParticleBurstEvent();
+        if (event.shouldCommit()) {
+            event.particles = particles;
+            event.lifespan = lifespan;
+            event.commit();
+        }
+    }
+}
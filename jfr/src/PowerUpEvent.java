@@ -0,0 +1,37 @@
+import jdk.jfr.*;
+
+/**
+ * The PowerUpEvent class is the Flight Recorder event for a power-up collected.
+ *
+ * @see GameEvents#powerUpCollected(PowerUpModel.Type, BallModel.Owner)
+ */
+@Name("pongfinity.PowerUp")
+@Label("Power-Up Pickup")
+@Category({"Pongfinity", "Gameplay"})
+@Description("A power-up collected by a ball")
+@StackTrace(false)
+public final class PowerUpEvent extends Event {
+    private static final PowerUpEvent PROBE = new PowerUpEvent();
+    @Label("Type")
+    String type;
+    @Label("Collector")
+    String collector;
+
+    /**
+     * Commits an event for a power-up collected if it is being recorded.
+     *
+     * @param type      The kind of power-up.
+     * @param collector The player whose ball collected it.
+     */
+    static void emit(PowerUpModel.Type type, BallModel.Owner collector) {
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+        PowerUpEvent event = new PowerUpEvent();
+        if (event.shouldCommit()) {
+            event.type = type.name();
+            event.collector = collector.name();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+import jdk.jfr.*;
+
+/**
+ * The ScoreEvent class is the Flight Recorder event for points scored, by a ball or by the swarm in infinity mode.
+ *
+ * @see GameEvents#scored(BallModel.Owner, int, int, int)
+ */
+@Name("pongfinity.Score")
+@Label("Score")
+@Category({"Pongfinity", "Gameplay"})
+@Description("Points scored by a ball leaving the field")
+@StackTrace(false)
+public final class ScoreEvent extends Event {
+    private static final ScoreEvent PROBE = new ScoreEvent();
+    @Label("Scorer")
+    String scorer;
+    @Label("Points")
+    int points;
+    @Label("Left Score")
+    int leftScore;
+    @Label("Right Score")
+    int rightScore;
+
+    /**
+     * Commits an event for points scored if it is being recorded.
+     *
+     * @param scorer     The player who scored.
+     * @param points     The number of points scored at once.
+     * @param leftScore  The left player's score afterwards.
+     * @param rightScore The right player's score afterwards.
+     */
+    static void emit(BallModel.Owner scorer, int points, int leftScore, int rightScore) {
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+        ScoreEvent event = new ScoreEvent();
+        if (event.shouldCommit()) {
+            event.scorer = scorer.name();
+            event.points = points;
+            event.leftScore = leftScore;
+            event.rightScore = rightScore;
+            event.commit();
+        }
+    }
+}
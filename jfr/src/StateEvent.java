@@ -0,0 +1,37 @@
+import jdk.jfr.*;
+
+/**
+ * The StateEvent class is the Flight Recorder event for the game moving between the menu, playing, and game over.
+ *
+ * @see GameEvents#stateChanged(Enum, Enum)
+ */
+@Name("pongfinity.StateTransition")
+@Label("State Transition")
+@Category({"Pongfinity", "Lifecycle"})
+@Description("The game moving from one state to another")
+@StackTrace(false)
+public final class StateEvent extends Event {
+    private static final StateEvent PROBE = new StateEvent();
+    @Label("From")
+    String from;
+    @Label("To")
+    String to;
+
+    /**
+     * Commits an event for a state change if it is being recorded.
+     *
+     * @param from The state left, or null when the game first gets a state.
+     * @param to   The state entered.
+     */
+    static void emit(Enum<?> from, Enum<?> to) {
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+        StateEvent event = new StateEvent();
+        if (event.shouldCommit()) {
+            event.from = from != null ? from.name() : "NONE";
+            event.to = to.name();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import jdk.jfr.*;
+
+/**
+ * The TickEvent class is the Flight Recorder event for one tick of the game, holding how long each of its phases took.
+ * It is committed when the tick ends.
+ *
+ * @see GameEvents#tick(FrameStats, PongModel)
+ */
+@Name("pongfinity.Tick")
+@Label("Tick")
+@Category({"Pongfinity", "Gameplay"})
+@Description("One tick of the game and the time each phase of it took")
+@StackTrace(false)
+public final class TickEvent extends Event {
+    private static final TickEvent PROBE = new TickEvent();
+    @Label("Tick Time") @Timespan
+    long tickTime;
+    @Label("Collisions") @Timespan
+    long collisions;
+    @Label("Trails") @Timespan
+    long trails;
+    @Label("Scoring") @Timespan
+    long scoring;
+    @Label("Power-Ups") @Timespan
+    long powerUps;
+    @Label("Spawning") @Timespan
+    long spawning;
+    @Label("State Logic") @Timespan
+    long state;
+    @Label("Movement") @Timespan
+    long move;
+    @Label("Balls")
+    int balls;
+    @Label("Swarm Size")
+    int swarm;
+    @Label("Power-Ups Waiting")
+    int powerUpsWaiting;
+
+    /**
+     * Commits an event for the tick just finished if it is being recorded.
+     *
+     * @param stats The frame statistics holding the time of each phase of the tick.
+     * @param world The world the tick was played in.
+     */
+    static void emit(FrameStats stats, PongModel world) {
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+        TickEvent event = new TickEvent();
+        if (event.shouldCommit()) {
+            event.tickTime = stats.getLast(FrameStats.Phase.TICK);
+            event.collisions = stats.getLast(FrameStats.Phase.COLLISIONS);
+            event.trails = stats.getLast(FrameStats.Phase.TRAILS);
+            event.scoring = stats.getLast(FrameStats.Phase.SCORING);
+            event.powerUps = stats.getLast(FrameStats.Phase.POWER_UPS);
+            event.spawning = stats.getLast(FrameStats.Phase.SPAWNING);
+            event.state = stats.getLast(FrameStats.Phase.STATE);
+            event.move = stats.getLast(FrameStats.Phase.MOVE);
+            event.balls = world.getBalls().size();
+            event.swarm = world.getSwarm() != null ? world.getSwarm().size() : 0;
+            event.powerUpsWaiting = world.getPowerUps().size();
+            event.commit();
+        }
+    }
+}
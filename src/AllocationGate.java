@@ -0,0 +1,145 @@
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+/**
+ * The AllocationGate class checks that a game tick in steady play allocates nothing, so the garbage collector never
+ * has to pause the game while it runs. It plays a match with no window through the same MatchTick Pong runs, with the
+ * same views, trails, score display, and particle effects, until the world is full and the JIT has compiled the tick,
+ * then counts the bytes the thread allocates over many more ticks. It exits with status 1 if they average more than
+ * the budget per tick, so a build can run it after compiling:
+ *
+ *     java -Djava.awt.headless=true -cp out:csta.ibm.pong.v15.jar AllocationGate [ticks] [bytesPerTick]
+ *
+ * The match never ends, so the ticks measured are always ones of play rather than the explosions after a win, and
+ * the score keeps changing, so drawing it again is measured too. Setting pong.infinity to a number of balls adds the
+ * swarm to the match. Counting allocated bytes needs a HotSpot Java, which all current ones are.
+ */
+public class AllocationGate implements PongModel.Listener, GameField {
+    public static final int WARM_UP_TICKS = 50_000, DEFAULT_TICKS = 50_000, DEFAULT_BUDGET = 0;
+    private static final int PARTICLE_FREQUENCY = 10;
+    private final PongModel world = new PongModel(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, 1);
+    private final FrameStats stats = new FrameStats();
+    private final EffectLayer effects = new EffectLayer(this, world.getRandom().effects());
+    private final Hud hud = new Hud(this, Assets.font().join().deriveFont(Font.BOLD, 48f));
+    private final ArrayList<Ball> balls = new ArrayList<>();
+    private final Paddle leftPaddle = new Paddle(world.getLeftPaddle()), rightPaddle = new Paddle(world.getRightPaddle());
+    private final MatchTick matchTick = new MatchTick(world, balls, effects, hud, stats);
+    private final Runnable stateLogic = this::actStateLogic;
+
+    /**
+     * Constructs a match that is never won.
+     */
+    public AllocationGate() {
+        world.setListener(this);
+        world.setRules(Integer.MAX_VALUE, PongModel.BALL_RESPAWN_TIME, PongModel.POWERUP_RESPAWN_TIME);
+        int infinity = Integer.getInteger("pong.infinity", 0);
+        if (infinity > 0) {
+            world.setInfinity(infinity, 20);
+        }
+    }
+
+    /**
+     * Runs a single tick as Pong runs one while a match is being played, with both paddles following the ball.
+     */
+    public void tick() {
+        world.storePreviousPositions();
+        matchTick.run(System.nanoTime(), true, stateLogic);
+        // Update the views as the game's timer does after each tick
+        leftPaddle.act();
+        rightPaddle.act();
+        for (int i = 0; i < balls.size(); i++) {
+            balls.get(i).act();
+        }
+        hud.act();
+        effects.act();
+    }
+
+    /**
+     * Lets both paddles follow the ball in place of the players' input, and checks for a win that never comes.
+     */
+    private void actStateLogic() {
+        world.idle();
+        world.checkForWin();
+    }
+
+    @Override
+    public int getFieldWidth() {
+        return HeadlessMatch.FIELD_WIDTH;
+    }
+
+    @Override
+    public int getFieldHeight() {
+        return HeadlessMatch.FIELD_HEIGHT;
+    }
+
+    @Override
+    public FrameStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Adds a view for a new ball, as Pong does.
+     *
+     * @param ball The new ball.
+     */
+    @Override
+    public void ballAdded(BallModel ball) {
+        balls.add(new Ball(ball));
+    }
+
+    /**
+     * Does nothing; power-up views never change once created, so they take no part in a tick.
+     *
+     * @param powerUp The new power-up.
+     */
+    @Override
+    public void powerUpAdded(PowerUpModel powerUp) {
+    }
+
+    /**
+     * Starts the burst of particles Pong shows for a pickup.
+     *
+     * @param powerUp The collected power-up.
+     * @param ball    The ball that collected it.
+     */
+    @Override
+    public void powerUpCollected(PowerUpModel powerUp, BallModel ball) {
+        int centerX = powerUp.getX() + powerUp.getSize() / 2;
+        int centerY = powerUp.getY() + powerUp.getSize() / 2;
+        int speed = ball.getVX() * ball.getVX() + ball.getVY() * ball.getVY();
+        effects.addBurst(centerX, centerY, 1, speed, PARTICLE_FREQUENCY, 7, Palette.powerUpColor(powerUp.getType()));
+        GameEvents.particleBurst(PARTICLE_FREQUENCY, 7);
+    }
+
+    /**
+     * Plays the match, measures the allocation of the ticks after the warm-up, and exits with status 1 if they went
+     * over the budget.
+     *
+     * @param args The number of ticks to measure and the budget in bytes per tick, both optional.
+     */
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+        long budget = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_BUDGET;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        AllocationGate gate = new AllocationGate();
+        for (int i = 0; i < WARM_UP_TICKS; i++) {
+            gate.tick();
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ticks; i++) {
+            gate.tick();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        double perTick = (double) allocated / ticks;
+        System.out.printf("%d bytes allocated over %d ticks (%.2f bytes/tick, budget %d) with %d balls%n",
+                allocated, ticks, perTick, budget, gate.world.getBalls().size());
+        if (perTick > budget) {
+            System.out.println("Over the allocation budget");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+/**
+ * The AssetArchive class reads the game's assets out of a single file written by AssetPacker.
+ * Images are stored as already decoded pixels, so loading one is a bulk copy out of the archive instead of finding a
+ * resource, inflating it, and decoding a PNG, and other files such as the font are stored as they are. The file is
+ * memory-mapped, so only the pages that are read are ever loaded from disk, and the index is read once when it is
+ * opened.
+ *
+ * @see AssetPacker
+ */
+public class AssetArchive {
+    private final ByteBuffer buffer;
+    private final HashMap<String, Entry> entries = new HashMap<>();
+
+    /**
+     * The place of one asset in the archive.
+     */
+    private static class Entry {
+        final int kind, width, height, offset, length;
+
+        Entry(int kind, int width, int height, int offset, int length) {
+            this.kind = kind;
+            this.width = width;
+            this.height = height;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Opens an archive by memory-mapping a file.
+     *
+     * @param file The file to read.
+     * @throws IOException If the file cannot be read or is not an archive this version of the game understands.
+     */
+    public AssetArchive(Path file) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        readIndex(file.toString());
+    }
+
+    /**
+     * Opens an archive by reading all of a stream, such as an archive packed inside the game's jar, which cannot be
+     * mapped.
+     *
+     * @param in   The stream to read.
+     * @param name The name of the archive, used in error messages.
+     * @throws IOException If the stream cannot be read or does not hold an archive this version of the game
+     *                     understands.
+     */
+    public AssetArchive(InputStream in, String name) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1 << 16];
+        for (int read = in.read(chunk); read >= 0; read = in.read(chunk)) {
+            bytes.write(chunk, 0, read);
+        }
+        buffer = ByteBuffer.wrap(bytes.toByteArray());
+        readIndex(name);
+    }
+
+    /**
+     * Checks the header and reads where every asset is.
+     */
+    private void readIndex(String name) throws IOException {
+        if (buffer.capacity() < AssetPacker.HEADER_SIZE || buffer.getInt(0) != AssetPacker.MAGIC) {
+            throw new IOException("Not a Pong asset archive: " + name);
+        }
+        if (buffer.getInt(4) != AssetPacker.VERSION) {
+            throw new IOException("Unsupported asset archive version " + buffer.getInt(4) + ": " + name);
+        }
+        int count = buffer.getInt(8);
+        int at = AssetPacker.HEADER_SIZE;
+        for (int i = 0; i < count; i++) {
+            int nameLength = buffer.getInt(at);
+            byte[] nameBytes = new byte[nameLength];
+            ByteBuffer index = buffer.duplicate();
+            index.position(at + 4);
+            index.get(nameBytes);
+            at += 4 + nameLength;
+            entries.put(new String(nameBytes, StandardCharsets.UTF_8), new Entry(buffer.getInt(at),
+                    buffer.getInt(at + 4), buffer.getInt(at + 8), buffer.getInt(at + 12), buffer.getInt(at + 16)));
+            at += AssetPacker.ENTRY_SIZE;
+        }
+    }
+
+    /**
+     * Checks if the archive holds an asset.
+     *
+     * @param name The file name of the asset, such as "play_button.png".
+     * @return True if the archive holds it.
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Copies an image out of the archive.
+     * Safe to call from several threads at once.
+     *
+     * @param name The file name of the image, such as "play_button.png".
+     * @return The image, or null if the archive does not hold it as an image.
+     */
+    public BufferedImage getImage(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null || entry.kind != AssetPacker.KIND_IMAGE) {
+            return null;
+        }
+        BufferedImage image = new BufferedImage(entry.width, entry.height, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        IntBuffer source = slice(entry).asIntBuffer();
+        source.get(pixels, 0, entry.width * entry.height);
+        return image;
+    }
+
+    /**
+     * Gets the bytes of an asset stored as it is, such as the font.
+     * Safe to call from several threads at once.
+     *
+     * @param name The file name of the asset, such as "ARCADECLASSIC.TTF".
+     * @return A read-only buffer holding the asset, or null if the archive does not hold it.
+     */
+    public ByteBuffer getData(String name) {
+        Entry entry = entries.get(name);
+        return entry == null ? null : slice(entry).asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets a buffer over just the bytes of an asset, with its own position so each caller can read it on its own.
+     */
+    private ByteBuffer slice(Entry entry) {
+        ByteBuffer data = buffer.duplicate();
+        data.position(entry.offset);
+        data.limit(entry.offset + entry.length);
+        return data.slice();
+    }
+}
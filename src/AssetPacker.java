@@ -0,0 +1,127 @@
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The AssetPacker class packs every asset the game loads into one archive, with the images already decoded, so the
+ * game can load them without decoding anything:
+ *
+ *     java -cp out AssetPacker res res/assets.pack
+ *
+ * It must be run again whenever an image or the font changes; the game reads the PNGs instead if the archive is
+ * missing, but it cannot tell if the archive is out of date.
+ *
+ * The archive starts with a header of HEADER_SIZE bytes holding MAGIC, VERSION, and the number of assets. An index
+ * follows, with one entry per asset: the length of its name, the name in UTF-8, and ENTRY_SIZE bytes holding its kind,
+ * width and height, and the offset and length of its data. The data of each asset follows the index, starting on a
+ * multiple of 4 bytes. An image's data is its pixels as ARGB ints, row by row; anything else is stored as it is.
+ *
+ * @see AssetArchive
+ */
+public class AssetPacker {
+    public static final int MAGIC = 0x50415353, VERSION = 1, HEADER_SIZE = 16, ENTRY_SIZE = 20;
+    public static final int KIND_IMAGE = 0, KIND_FILE = 1;
+
+    /**
+     * Packs every asset in Assets from a directory into an archive.
+     *
+     * @param source  The directory holding the assets, such as res.
+     * @param archive The archive to write, replacing it if it exists.
+     * @return The size of the archive in bytes.
+     * @throws IOException If an asset cannot be read or the archive cannot be written.
+     */
+    public static int pack(Path source, Path archive) throws IOException {
+        String[] names = new String[Assets.IMAGES.length + 1];
+        System.arraycopy(Assets.IMAGES, 0, names, 0, Assets.IMAGES.length);
+        names[Assets.IMAGES.length] = Assets.FONT;
+
+        // Read every asset, working out the size of the index as we go
+        BufferedImage[] images = new BufferedImage[names.length];
+        byte[][] files = new byte[names.length][];
+        byte[][] nameBytes = new byte[names.length][];
+        int indexEnd = HEADER_SIZE;
+        for (int i = 0; i < names.length; i++) {
+            Path file = source.resolve(names[i]);
+            if (names[i].endsWith(".png")) {
+                images[i] = ImageIO.read(file.toFile());
+                if (images[i] == null) {
+                    throw new IOException("Not an image: " + file);
+                }
+            } else {
+                files[i] = Files.readAllBytes(file);
+            }
+            nameBytes[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            indexEnd += 4 + nameBytes[i].length + ENTRY_SIZE;
+        }
+
+        // Lay out the data after the index, each asset starting on a multiple of 4 bytes
+        int[] offsets = new int[names.length], lengths = new int[names.length];
+        int end = align(indexEnd);
+        for (int i = 0; i < names.length; i++) {
+            offsets[i] = end;
+            lengths[i] = images[i] != null ? images[i].getWidth() * images[i].getHeight() * 4 : files[i].length;
+            end = align(end + lengths[i]);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(end);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(names.length).putInt(0);
+        for (int i = 0; i < names.length; i++) {
+            buffer.putInt(nameBytes[i].length).put(nameBytes[i]);
+            boolean image = images[i] != null;
+            buffer.putInt(image ? KIND_IMAGE : KIND_FILE).putInt(image ? images[i].getWidth() : 0)
+                    .putInt(image ? images[i].getHeight() : 0).putInt(offsets[i]).putInt(lengths[i]);
+        }
+        for (int i = 0; i < names.length; i++) {
+            buffer.position(offsets[i]);
+            if (images[i] != null) {
+                int width = images[i].getWidth(), height = images[i].getHeight();
+                int[] row = new int[width];
+                for (int y = 0; y < height; y++) {
+                    images[i].getRGB(0, y, width, 1, row, 0, width);
+                    buffer.asIntBuffer().put(row);
+                    buffer.position(buffer.position() + width * 4);
+                }
+            } else {
+                buffer.put(files[i]);
+            }
+        }
+
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Rounds an offset up to a multiple of 4 bytes.
+     */
+    private static int align(int offset) {
+        return (offset + 3) & ~3;
+    }
+
+    /**
+     * Packs the assets in a directory into an archive.
+     *
+     * @param args The directory holding the assets and the archive to write.
+     * @throws IOException If an asset cannot be read or the archive cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: AssetPacker sourceDirectory archive");
+            return;
+        }
+        int size = pack(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.printf("Packed %d assets into %s (%d bytes)%n", Assets.IMAGES.length + 1, args[1], size);
+    }
+}
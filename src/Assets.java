@@ -0,0 +1,221 @@
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Assets class loads every image and font the game uses, all at once, while the window is being created.
+ * Reading and decoding a PNG takes a few milliseconds, and the game used to do it for each image in turn as the menu
+ * was built. Calling start as the game launches begins every decode in parallel, and each asset is handed out as a
+ * CompletableFuture that the menu and buttons wait on only when they need the asset, by which time it has usually
+ * finished. Progress can be read at any time, for the splash screen shown until everything has loaded.
+ *
+ * If the game's resources hold an archive written by AssetPacker, every asset is copied out of it instead, with no
+ * PNG to decode. The archive is memory-mapped when it is a plain file, and read whole when it is inside a jar. Setting
+ * pong.assets to the path of an archive uses that one instead, and setting it to "none" decodes the PNGs.
+ *
+ * Loading runs on virtual threads when the running Java has them, which are cheap enough to start one per asset, or
+ * on a small pool of daemon threads otherwise. The game still targets Java 8, so virtual threads are found by
+ * reflection.
+ *
+ * @see SpriteCache
+ * @see AssetArchive
+ * @see Splash
+ */
+public final class Assets {
+    public static final String FONT = "ARCADECLASSIC.TTF", ARCHIVE = "assets.pack";
+    // Every image the menu and its buttons draw
+    public static final String[] IMAGES = {
+            "pong_title.png", "play_button.png", "help_button.png", "exit_button.png",
+            "z_key.png", "x_key.png", "controls_button.png", "n_key.png", "m_key.png",
+            "red_arrow_up.png", "red_arrow_down.png", "blue_arrow_up.png", "blue_arrow_down.png",
+            "left_arrow.png", "right_arrow.png", "cancel_button.png", "select_button.png"
+    };
+    private static final ExecutorService EXECUTOR = createExecutor();
+    private static final AtomicInteger LOADED = new AtomicInteger();
+    private static CompletableFuture<Font> font;
+    private static CompletableFuture<Void> all;
+    private static volatile long startTime;
+    private static AssetArchive archive;
+    private static boolean archiveOpened;
+
+    private Assets() {
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task, or a pool of daemon threads with one per processor if
+     * virtual threads are not available.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Older than Java 21, or virtual threads are a preview that is not enabled
+        }
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "Asset loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the archive to load assets from, opening it the first time it is asked for.
+     *
+     * @return The archive, or null if there is none and the assets should be read from their own files.
+     */
+    public static synchronized AssetArchive getArchive() {
+        if (!archiveOpened) {
+            archiveOpened = true;
+            archive = openArchive();
+        }
+        return archive;
+    }
+
+    /**
+     * Opens the archive named by pong.assets, or the one in the game's resources.
+     */
+    private static AssetArchive openArchive() {
+        String path = System.getProperty("pong.assets");
+        try {
+            if ("none".equals(path)) {
+                return null;
+            } else if (path != null) {
+                return new AssetArchive(Paths.get(path));
+            }
+            URL resource = Assets.class.getClassLoader().getResource(ARCHIVE);
+            if (resource == null) {
+                return null;
+            } else if ("file".equals(resource.getProtocol())) {
+                return new AssetArchive(Paths.get(resource.toURI()));
+            }
+            try (InputStream in = resource.openStream()) {
+                return new AssetArchive(in, resource.toString());
+            }
+        } catch (IOException | URISyntaxException e) {
+            System.out.println(e);
+            return null;
+        }
+    }
+
+    /**
+     * Starts loading every asset, if that has not been started already, and notes the time as the start of the game.
+     */
+    public static synchronized void start() {
+        if (all != null) {
+            return;
+        }
+        startTime = System.nanoTime();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[IMAGES.length + 1];
+        for (int i = 0; i < IMAGES.length; i++) {
+            futures[i] = count(SpriteCache.request(IMAGES[i]));
+        }
+        font = CompletableFuture.supplyAsync(Assets::loadFont, EXECUTOR);
+        futures[IMAGES.length] = count(font);
+        all = CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Counts an asset as loaded once its future completes.
+     */
+    private static <T> CompletableFuture<T> count(CompletableFuture<T> future) {
+        return future.whenComplete((asset, error) -> LOADED.incrementAndGet());
+    }
+
+    /**
+     * Gets the executor assets are loaded on.
+     *
+     * @return The executor.
+     */
+    public static ExecutorService getExecutor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Gets the sprite of an image, which finishes loading in the background if it has not already.
+     *
+     * @param name The file name of the image, such as "play_button.png".
+     * @return A future completed with the sprite.
+     */
+    public static CompletableFuture<Sprite> sprite(String name) {
+        return SpriteCache.request(name);
+    }
+
+    /**
+     * Gets the game's font, which finishes loading in the background if it has not already.
+     *
+     * @return A future completed with the font, at a size of 1 point.
+     */
+    public static synchronized CompletableFuture<Font> font() {
+        start();
+        return font;
+    }
+
+    /**
+     * Reads the game's font, falling back to the default font if it cannot be read.
+     */
+    private static Font loadFont() {
+        AssetArchive archive = getArchive();
+        ByteBuffer packed = archive != null ? archive.getData(FONT) : null;
+        byte[] bytes = null;
+        if (packed != null) {
+            bytes = new byte[packed.remaining()];
+            packed.get(bytes);
+        }
+        try (InputStream in = bytes != null ? new ByteArrayInputStream(bytes)
+                : Assets.class.getClassLoader().getResourceAsStream(FONT)) {
+            if (in != null) {
+                return Font.createFont(Font.TRUETYPE_FONT, in);
+            }
+            System.out.println("Missing font: " + FONT);
+        } catch (IOException | FontFormatException e) {
+            System.out.println(e);
+        }
+        return new Font(Font.DIALOG, Font.PLAIN, 1);
+    }
+
+    /**
+     * Gets a future completed once every asset has loaded.
+     *
+     * @return The future.
+     */
+    public static synchronized CompletableFuture<Void> all() {
+        start();
+        return all;
+    }
+
+    /**
+     * Gets the number of assets that have finished loading.
+     *
+     * @return The number loaded so far.
+     */
+    public static int getLoaded() {
+        return LOADED.get();
+    }
+
+    /**
+     * Gets the number of assets there are to load.
+     *
+     * @return The number of images and fonts.
+     */
+    public static int getTotal() {
+        return IMAGES.length + 1;
+    }
+
+    /**
+     * Logs how long the game took from starting to load its assets to its first frame.
+     */
+    public static void logFirstFrame() {
+        System.out.printf("First frame %.0f ms after launch%n", (System.nanoTime() - startTime) / 1e6);
+    }
+}
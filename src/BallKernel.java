@@ -0,0 +1,62 @@
+/**
+ * The BallKernel interface is the per-ball arithmetic a BallStore runs every tick: moving the balls, bouncing them off
+ * the top and bottom walls, and finding the ones that have left the field.
+ * Every method works on the store's packed arrays, so an implementation can step many balls at once with SIMD
+ * instructions. ScalarBallKernel works on any Java version; VectorBallKernel, in the vector source root, uses the
+ * jdk.incubator.vector module and is only used when the JVM was started with --add-modules jdk.incubator.vector.
+ */
+public interface BallKernel {
+
+    /**
+     * Moves every ball by its velocity.
+     *
+     * @param x     The x-coordinates of the balls.
+     * @param y     The y-coordinates of the balls.
+     * @param vx    The horizontal velocities of the balls.
+     * @param vy    The vertical velocities of the balls.
+     * @param count The number of balls in use at the start of the arrays.
+     */
+    void integrate(float[] x, float[] y, float[] vx, float[] vy, int count);
+
+    /**
+     * Bounces every ball off the top and bottom walls, putting it back on the wall it went past.
+     *
+     * @param y           The y-coordinates of the balls.
+     * @param vy          The vertical velocities of the balls.
+     * @param size        The sizes of the balls.
+     * @param count       The number of balls in use at the start of the arrays.
+     * @param fieldHeight The height of the playing field.
+     */
+    void bounceWalls(float[] y, float[] vy, float[] size, int count, int fieldHeight);
+
+    /**
+     * Finds every ball that is entirely past the left or right edge of the field.
+     *
+     * @param x          The x-coordinates of the balls.
+     * @param size       The sizes of the balls.
+     * @param count      The number of balls in use at the start of the arrays.
+     * @param fieldWidth The width of the playing field.
+     * @param out        Filled with the indices of the balls found, in increasing order; must hold count entries.
+     * @return The number of balls found.
+     */
+    int findOutOfBounds(float[] x, float[] size, int count, int fieldWidth, int[] out);
+
+    /**
+     * Gets the fastest kernel this JVM can run.
+     * The vector kernel is loaded by name so that this class still compiles and runs on Java 8; it is skipped when the
+     * incubator module is missing or the pong.vector property is set to false.
+     *
+     * @return The vector kernel if it can be used, otherwise the scalar kernel.
+     */
+    static BallKernel load() {
+        if (!"false".equals(System.getProperty("pong.vector"))) {
+            try {
+                Class.forName("jdk.incubator.vector.FloatVector");
+                return (BallKernel) Class.forName("VectorBallKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall back to the scalar kernel
+            }
+        }
+        return new ScalarBallKernel();
+    }
+}
@@ -0,0 +1,566 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The simulation state of a pong ball.
+ * Moves in the vertical and horizontal direction and can reflect its velocity upon collision.
+ * It uses no AWT or Swing classes, so it can be stepped without a display; the Ball class draws it.
+ */
+public class BallModel {
+	public enum Owner {LEFT, RIGHT, NONE}
+	public static final int STATE_SIZE = 2 * 8 + 6 * 4 + 2;
+	private final double MAX_VELOCITY = 30;
+	private double vx = 6, vy = 6;
+	private boolean alive = true;
+	private int x, y, width, height, lastX, lastY, previousX, previousY;
+	private Owner currentOwner = Owner.NONE;
+	private final RandomStream random;
+
+
+	/**
+	 * Constructs a new ball with random size, position, and velocity.
+	 *
+	 * @param screenWidth The width of the game screen.
+	 * @param screenHeight The height of the game screen.
+	 * @param random The random number stream for the balls of the world the ball is in.
+	 */
+	public BallModel(int screenWidth, int screenHeight, RandomStream random) {
+		this.random = random;
+		// Generate a random size for the ball
+		int randomSize = (int) (10 + 10 * random.nextDouble());
+		// Set the size of the ball
+		width = randomSize;
+		height = randomSize;
+
+		// Reset the position and velocity of the ball
+		resetPosition(screenWidth, screenHeight);
+	}
+
+	/**
+	 * Constructs a ball from the state written by writeState, such as one saved in a replay keyframe.
+	 *
+	 * @param in The buffer to read STATE_SIZE bytes of state from.
+	 * @param random The random number stream for the balls of the world the ball is in.
+	 */
+	public BallModel(ByteBuffer in, RandomStream random) {
+		this.random = random;
+		readState(in);
+	}
+
+
+	/**
+	 * Puts the ball back to a state written by writeState, such as to show a snapshot sent by a server.
+	 *
+	 * @param in The buffer to read STATE_SIZE bytes of state from.
+	 */
+	public void readState(ByteBuffer in) {
+		vx = in.getDouble();
+		vy = in.getDouble();
+		x = in.getInt();
+		y = in.getInt();
+		width = in.getInt();
+		height = in.getInt();
+		lastX = in.getInt();
+		lastY = in.getInt();
+		previousX = x;
+		previousY = y;
+		alive = in.get() != 0;
+		currentOwner = Owner.values()[in.get()];
+	}
+
+
+	/**
+	 * Updates the ball's x and y location based on its velocity.
+	 */
+	public void act() {
+		// Store the current x and y coordinates as the last coordinates
+		lastX = x;
+		lastY = y;
+
+		// Update the x and y coordinates based on the velocity
+		x = (int) (x + vx);
+		y = (int) (y + vy);
+	}
+
+
+	/**
+	 * Checks for vertical collision of the ball with the top and bottom boundaries of the screen.
+	 * If a collision is detected, the ball is bounced vertically.
+	 *
+	 * @param screenHeight The height of the screen.
+	 */
+	public void checkVerticalCollision(int screenHeight) {
+		// Check if the ball's bottom edge exceeds the screen height
+		if (y + height > screenHeight) {
+			// If so, bounce the ball vertically from the bottom boundary
+			verticalBounce(screenHeight - height);
+		}
+		// Check if the ball's top edge goes beyond the top boundary of the screen
+		else if (y < 0) {
+			// If so, bounce the ball vertically from the top boundary
+			verticalBounce(0);
+		}
+	}
+
+
+	/**
+	 * Checks for collision with paddles and updates ball movement accordingly.
+	 *
+	 * The ball and both paddles have already moved this tick, so the ball's path is swept against each paddle's path
+	 * to find the first moment they touch, which catches collisions however far either of them moved. The ball
+	 * bounces off whichever paddle it reaches first, off the face it reached it through.
+	 *
+	 * @param leftPaddle The left paddle.
+	 * @param rightPaddle The right paddle.
+	 * @see #timeOfImpact(PaddleModel)
+	 */
+	public void checkPaddleCollision(PaddleModel leftPaddle, PaddleModel rightPaddle) {
+		double leftImpact = timeOfImpact(leftPaddle);
+		double rightImpact = timeOfImpact(rightPaddle);
+		if (leftImpact <= rightImpact && leftImpact <= 1) {
+			bounceOffPaddle(leftPaddle, leftImpact);
+			// Set the current owner of the ball to the left paddle
+			currentOwner = Owner.LEFT;
+		} else if (rightImpact <= 1) {
+			bounceOffPaddle(rightPaddle, rightImpact);
+			// Set the current owner of the ball to the right paddle
+			currentOwner = Owner.RIGHT;
+		}
+	}
+
+
+	/**
+	 * Finds when the ball first touched a paddle during the last tick.
+	 *
+	 * The paddle is held still at its last position while the ball moves by the difference between the two
+	 * movements, and the time the two boxes start to overlap on both axes is found by the slab method.
+	 *
+	 * @param paddle The paddle to sweep against.
+	 * @return The fraction of the tick at which they touched, from 0 to 1; a negative number if they were already
+	 * 		   overlapping at the start of the tick and still are; or positive infinity if they did not touch.
+	 */
+	public double timeOfImpact(PaddleModel paddle) {
+		// Most balls are nowhere near a paddle, so skip the division unless the areas both swept through overlap
+		if (Math.max(lastX, x) + width <= Math.min(paddle.getLastX(), paddle.getX())
+				|| Math.min(lastX, x) >= Math.max(paddle.getLastX(), paddle.getX()) + paddle.getWidth()
+				|| Math.max(lastY, y) + height <= Math.min(paddle.getLastY(), paddle.getY())
+				|| Math.min(lastY, y) >= Math.max(paddle.getLastY(), paddle.getY()) + paddle.getHeight()) {
+			return Double.POSITIVE_INFINITY;
+		}
+
+		// Movement of the ball relative to the paddle
+		int relativeX = (x - lastX) - (paddle.getX() - paddle.getLastX());
+		int relativeY = (y - lastY) - (paddle.getY() - paddle.getLastY());
+
+		// Times along each axis at which the ball starts and stops overlapping the paddle
+		double entryX, exitX, entryY, exitY;
+		int paddleX = paddle.getLastX(), paddleY = paddle.getLastY();
+		if (relativeX > 0) {
+			entryX = (paddleX - (lastX + width)) / (double) relativeX;
+			exitX = (paddleX + paddle.getWidth() - lastX) / (double) relativeX;
+		} else if (relativeX < 0) {
+			entryX = (paddleX + paddle.getWidth() - lastX) / (double) relativeX;
+			exitX = (paddleX - (lastX + width)) / (double) relativeX;
+		} else if (lastX < paddleX + paddle.getWidth() && lastX + width > paddleX) {
+			entryX = Double.NEGATIVE_INFINITY;
+			exitX = Double.POSITIVE_INFINITY;
+		} else {
+			return Double.POSITIVE_INFINITY;
+		}
+		if (relativeY > 0) {
+			entryY = (paddleY - (lastY + height)) / (double) relativeY;
+			exitY = (paddleY + paddle.getHeight() - lastY) / (double) relativeY;
+		} else if (relativeY < 0) {
+			entryY = (paddleY + paddle.getHeight() - lastY) / (double) relativeY;
+			exitY = (paddleY - (lastY + height)) / (double) relativeY;
+		} else if (lastY < paddleY + paddle.getHeight() && lastY + height > paddleY) {
+			entryY = Double.NEGATIVE_INFINITY;
+			exitY = Double.POSITIVE_INFINITY;
+		} else {
+			return Double.POSITIVE_INFINITY;
+		}
+
+		// They overlap once they overlap on both axes, until they stop overlapping on either
+		double entry = Math.max(entryX, entryY);
+		double exit = Math.min(exitX, exitY);
+		if (entry >= exit || entry >= 1 || exit <= 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		if (entry < 0) {
+			// Already overlapping at the start of the tick; only a collision if they still are
+			return collides(paddle) ? -1 : Double.POSITIVE_INFINITY;
+		}
+		return entry;
+	}
+
+
+	/**
+	 * Bounces the ball off a paddle it has collided with.
+	 *
+	 * @param paddle The paddle the ball collided with.
+	 * @param impact The time of impact found by timeOfImpact.
+	 */
+	private void bounceOffPaddle(PaddleModel paddle, double impact) {
+		if (impact < 0) {
+			// The ball started the tick inside the paddle, so guess the side it came from by where it was last
+			if (getLastX() >= paddle.getLastX() + paddle.getWidth()) {
+				bounceOffSide(paddle, true);
+			} else if (getLastX() + width <= paddle.getLastX()) {
+				bounceOffSide(paddle, false);
+			} else if (getLastY() >= paddle.getLastY() + paddle.getHeight()) {
+				bounceOffEnd(paddle, true);
+			} else if (getLastY() + height <= paddle.getLastY()) {
+				bounceOffEnd(paddle, false);
+			}
+			return;
+		}
+
+		// Work out which face the ball came through from where each was at the moment of impact
+		int relativeX = (x - lastX) - (paddle.getX() - paddle.getLastX());
+		int relativeY = (y - lastY) - (paddle.getY() - paddle.getLastY());
+		double ballX = lastX + (x - lastX) * impact, ballY = lastY + (y - lastY) * impact;
+		double paddleX = paddle.getLastX() + (paddle.getX() - paddle.getLastX()) * impact;
+		double paddleY = paddle.getLastY() + (paddle.getY() - paddle.getLastY()) * impact;
+		double gapX = relativeX < 0 ? ballX - (paddleX + paddle.getWidth()) : paddleX - (ballX + width);
+		double gapY = relativeY < 0 ? ballY - (paddleY + paddle.getHeight()) : paddleY - (ballY + height);
+
+		// The face is on the axis that was the last to start overlapping
+		if (relativeX != 0 && (relativeY == 0 || gapX >= gapY)) {
+			bounceOffSide(paddle, relativeX < 0);
+		} else {
+			bounceOffEnd(paddle, relativeY < 0);
+		}
+	}
+
+	/**
+	 * Bounces the ball back off the inner or outer side of a paddle, adding some of the paddle's velocity.
+	 *
+	 * @param paddle The paddle the ball collided with.
+	 * @param rightSide True if the ball hit the right side of the paddle, false for the left side.
+	 */
+	private void bounceOffSide(PaddleModel paddle, boolean rightSide) {
+		// Bounce horizontally from the side of the paddle
+		horizontalBounce(rightSide ? paddle.getX() + paddle.getWidth() : paddle.getX() - width);
+		// Bounce vertically with adjusted velocity based on paddle velocity
+		verticalBounce(y, (int)(getVY() + paddle.getVelocity() * 1.1));
+	}
+
+	/**
+	 * Bounces the ball off the top or bottom end of a paddle, at the speed the paddle was moving.
+	 *
+	 * @param paddle The paddle the ball collided with.
+	 * @param bottom True if the ball hit the bottom end of the paddle, false for the top end.
+	 */
+	private void bounceOffEnd(PaddleModel paddle, boolean bottom) {
+		if (bottom) {
+			// Bounce vertically from the bottom edge of the paddle
+			verticalBounce(paddle.getY() + paddle.getHeight(), (int)(paddle.getVelocity() * 1.1));
+		} else {
+			// Bounce vertically from the top edge of the paddle
+			verticalBounce(paddle.getY() - height, (int)(paddle.getVelocity() * 1.1));
+		}
+	}
+
+
+	/**
+	 * Checks if the ball overlaps a paddle.
+	 *
+	 * @param paddle The paddle to check against.
+	 * @return True if the ball and paddle overlap, otherwise false.
+	 */
+	public boolean collides(PaddleModel paddle) {
+		return Collision.intersects(x, y, width, height, paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight());
+	}
+
+	/**
+	 * Checks if the ball overlaps a rectangle.
+	 *
+	 * @param otherX The x-coordinate of the rectangle.
+	 * @param otherY The y-coordinate of the rectangle.
+	 * @param otherWidth The width of the rectangle.
+	 * @param otherHeight The height of the rectangle.
+	 * @return True if the ball and rectangle overlap, otherwise false.
+	 */
+	public boolean collides(int otherX, int otherY, int otherWidth, int otherHeight) {
+		return Collision.intersects(x, y, width, height, otherX, otherY, otherWidth, otherHeight);
+	}
+
+
+	/**
+	 * Bounces the ball off another ball if the two overlap.
+	 *
+	 * The balls are pushed apart along the axis they overlap least on, and if they are moving towards each other along
+	 * that axis, they exchange momentum as in an elastic collision, with each ball's mass taken to be its area.
+	 *
+	 * @param other The other ball.
+	 * @return True if the balls overlapped, otherwise false.
+	 */
+	public boolean bounceOff(BallModel other) {
+		if (!collides(other.x, other.y, other.width, other.height)) {
+			return false;
+		}
+		int overlapX = Math.min(x + width, other.x + other.width) - Math.max(x, other.x);
+		int overlapY = Math.min(y + height, other.y + other.height) - Math.max(y, other.y);
+		double mass = width * height, otherMass = other.width * other.height;
+
+		if (overlapX <= overlapY) {
+			// Push the balls apart horizontally, each taking half of the overlap
+			int direction = x + width / 2 <= other.x + other.width / 2 ? 1 : -1;
+			x -= direction * (overlapX / 2);
+			other.x += direction * (overlapX - overlapX / 2);
+			// Exchange horizontal momentum if they are moving towards each other
+			if ((vx - other.vx) * direction > 0) {
+				double newVX = ((mass - otherMass) * vx + 2 * otherMass * other.vx) / (mass + otherMass);
+				double otherNewVX = ((otherMass - mass) * other.vx + 2 * mass * vx) / (mass + otherMass);
+				setVX(newVX);
+				other.setVX(otherNewVX);
+			}
+		} else {
+			// Push the balls apart vertically, each taking half of the overlap
+			int direction = y + height / 2 <= other.y + other.height / 2 ? 1 : -1;
+			y -= direction * (overlapY / 2);
+			other.y += direction * (overlapY - overlapY / 2);
+			// Exchange vertical momentum if they are moving towards each other
+			if ((vy - other.vy) * direction > 0) {
+				double newVY = ((mass - otherMass) * vy + 2 * otherMass * other.vy) / (mass + otherMass);
+				double otherNewVY = ((otherMass - mass) * other.vy + 2 * mass * vy) / (mass + otherMass);
+				setVY(newVY);
+				other.setVY(otherNewVY);
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Resets the position of the ball to the center of the screen.
+	 *
+	 * @param screenWidth The width of the screen.
+	 * @param screenHeight The height of the screen.
+	 */
+	public void resetPosition(int screenWidth, int screenHeight) {
+		// Set the starting velocity of the ball to a random direction and magnitude between 6 - 11
+		setVX(Math.signum(random.nextDouble() - 0.5) * (random.nextDouble() * 5 +  6));
+		setVY(Math.signum(random.nextDouble() - 0.5) * (random.nextDouble() * 5));
+
+		// Center the ball horizontally and vertically within the screen
+		x = (screenWidth - width) / 2;
+		y = (screenHeight - height) / 2;
+
+		// Don't interpolate or sweep for collisions across the jump back to the center
+		storePreviousPosition();
+		lastX = x;
+		lastY = y;
+
+		// Set the current owner of the ball to NONE
+		currentOwner = Owner.NONE;
+	}
+
+	/**
+	 * Remembers where the ball is before a simulation tick, so frames drawn between ticks can be interpolated.
+	 */
+	public void storePreviousPosition() {
+		previousX = x;
+		previousY = y;
+	}
+
+	/**
+	 * Destroys the ball by setting its velocity to zero, size to zero, and marking it as not alive.
+	 */
+	public void selfDestruct() {
+		setVX(0);
+		setVY(0);
+		width = 0;
+		height = 0;
+		alive = false;
+	}
+
+
+
+	/**
+	 * Inverts the ball's x-velocity
+	 * @param newX The new position of the ball upon bouncing
+	 */
+	public void horizontalBounce(int newX) {
+		lastX = x;
+		x = newX;
+		vx *= -1;
+		setVX(vx * (1 + random.nextDouble() * 0.5));
+		setVY(vy * (random.nextDouble() + 0.5));
+	}
+
+	/**
+	 * Inverts the ball's y-velocity
+	 * @param newY The new position of the ball upon bouncing
+	 */
+	public void verticalBounce(int newY) {
+		lastY = y;
+		y = newY;
+		vy *= -1;
+	}
+
+	/**
+	 * Inverts and sets the ball's y-velocity to a new value
+	 * @param newY The new position of the ball upon bouncing
+	 * @param newVY The new y-velocity of the ball upon bouncing
+	 */
+	public void verticalBounce(int newY, int newVY) {
+		verticalBounce(newY);
+		setVY(Math.signum(newVY) * Math.max(Math.abs(newVY), Math.abs(vy)));
+	}
+
+	/**
+	 * Checks if the ball was last touched by the left paddle.
+	 *
+	 * @return True if the ball was last touched by the left paddle, otherwise false.
+	 */
+	public boolean lastTouchedLeft() {
+		return currentOwner == Owner.LEFT;
+	}
+
+	/**
+	 * Checks if the ball was last touched by the right paddle.
+	 *
+	 * @return True if the ball was last touched by the right paddle, otherwise false.
+	 */
+	public boolean lastTouchedRight() {
+		return currentOwner == Owner.RIGHT;
+	}
+
+	/**
+	 * Gets the paddle that last touched the ball.
+	 *
+	 * @return The current owner of the ball.
+	 */
+	public Owner getOwner() {
+		return currentOwner;
+	}
+
+	/**
+	 * Checks if the ball is still in play.
+	 *
+	 * @return False once the ball has self-destructed, otherwise true.
+	 */
+	public boolean isAlive() {
+		return alive;
+	}
+
+	/**
+	 * Gets the x-coordinate of the ball.
+	 *
+	 * @return The x-coordinate of the ball.
+	 */
+	public int getX() {
+		return x;
+	}
+
+	/**
+	 * Gets the y-coordinate of the ball.
+	 *
+	 * @return The y-coordinate of the ball.
+	 */
+	public int getY() {
+		return y;
+	}
+
+	/**
+	 * Gets the width of the ball.
+	 *
+	 * @return The width of the ball.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Gets the height of the ball.
+	 *
+	 * @return The height of the ball.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Gets the x-coordinate of the ball's last position.
+	 *
+	 * @return The x-coordinate of the ball's last position.
+	 */
+	public int getLastX() {
+		return lastX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the ball's last position.
+	 *
+	 * @return The y-coordinate of the ball's last position.
+	 */
+	public int getLastY() {
+		return lastY;
+	}
+
+	/**
+	 * Gets the x-coordinate of the ball before the current tick.
+	 *
+	 * @return The x-coordinate to interpolate from.
+	 */
+	public int getPreviousX() {
+		return previousX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the ball before the current tick.
+	 *
+	 * @return The y-coordinate to interpolate from.
+	 */
+	public int getPreviousY() {
+		return previousY;
+	}
+
+	/**
+	 * Sets the horizontal velocity of the ball, limiting it to the maximum velocity.
+	 *
+	 * @param newVX The new horizontal velocity of the ball.
+	 */
+	public void setVX(double newVX) {
+		vx = Math.signum(newVX) * Math.min(Math.abs(newVX), MAX_VELOCITY);
+	}
+
+	/**
+	 * Sets the vertical velocity of the ball, limiting it to the maximum velocity.
+	 *
+	 * @param newVY The new vertical velocity of the ball.
+	 */
+	public void setVY(double newVY) {
+		vy =  Math.signum(newVY) * Math.min(Math.abs(newVY), MAX_VELOCITY);
+	}
+
+	/**
+	 * Gets the integer value of the vertical velocity of the ball.
+	 *
+	 * @return The integer value of the vertical velocity of the ball.
+	 */
+	public int getVY() {
+		return (int) vy;
+	}
+
+	/**
+	 * Gets the integer value of the horizontal velocity of the ball.
+	 *
+	 * @return The integer value of the horizontal velocity of the ball.
+	 */
+	public int getVX() {
+		return (int) vx;
+	}
+
+	/**
+	 * Writes the whole state of the ball, so it can be rebuilt exactly with the ByteBuffer constructor.
+	 * The previous position is left out, since it is only used for drawing and is stored again before each tick.
+	 *
+	 * @param out The buffer to write STATE_SIZE bytes of state to.
+	 */
+	public void writeState(ByteBuffer out) {
+		out.putDouble(vx).putDouble(vy);
+		out.putInt(x).putInt(y).putInt(width).putInt(height).putInt(lastX).putInt(lastY);
+		out.put((byte) (alive ? 1 : 0)).put((byte) currentOwner.ordinal());
+	}
+}
@@ -0,0 +1,334 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The BallStore class holds a swarm of balls as parallel primitive arrays rather than as objects.
+ * Positions, velocities, sizes, and owners sit in their own arrays, and each rule of the game is a single loop over
+ * them, so tens of thousands of balls can be stepped every tick. Each loop has one test that almost every ball fails
+ * in the same way, such as being nowhere near a paddle, and skips the rest of the work for it; a branch that is
+ * predicted right every time turned out cheaper than computing every ball's result without branches. Moving, wall
+ * bounces, and finding the balls that scored are left to a BallKernel, which can use SIMD instructions. The swarm
+ * balls bounce off the walls and paddles and score like regular balls, but do not collect power-ups or leave trails.
+ *
+ * Owners are stored as BallModel.Owner ordinals.
+ */
+public class BallStore {
+    public static final float MAX_VELOCITY = 30;
+    private final int capacity;
+    private final float[] x, y, vx, vy, size;
+    private final byte[] owner;
+    private final int[] scored;
+    private final BallKernel kernel;
+    private int count;
+    private int leftScored, rightScored;
+
+    /**
+     * Constructs an empty store that uses the fastest kernel this JVM can run.
+     *
+     * @param capacity The most balls the store can hold.
+     * @see BallKernel#load()
+     */
+    public BallStore(int capacity) {
+        this(capacity, BallKernel.load());
+    }
+
+    /**
+     * Constructs an empty store.
+     *
+     * @param capacity The most balls the store can hold.
+     * @param kernel   The kernel that moves the balls, bounces them off the walls, and finds the ones that scored.
+     */
+    public BallStore(int capacity, BallKernel kernel) {
+        this.capacity = capacity;
+        this.kernel = kernel;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        size = new float[capacity];
+        owner = new byte[capacity];
+        scored = new int[capacity];
+    }
+
+    /**
+     * Adds balls with random sizes and velocities at the center of the field, like BallModel does.
+     *
+     * @param amount       The number of balls to add.
+     * @param fieldWidth   The width of the playing field.
+     * @param fieldHeight  The height of the playing field.
+     * @param random       The world's random number stream for the swarm.
+     * @return The number of balls added, fewer than asked for if the store is full.
+     */
+    public int spawn(int amount, int fieldWidth, int fieldHeight, RandomStream random) {
+        int added = Math.min(amount, capacity - count);
+        for (int i = count; i < count + added; i++) {
+            size[i] = (int) (10 + 10 * random.nextDouble());
+            reset(i, fieldWidth, fieldHeight, random);
+        }
+        count += added;
+        return added;
+    }
+
+    /**
+     * Sends a ball back to the center of the field with a new random velocity and no owner.
+     */
+    private void reset(int i, int fieldWidth, int fieldHeight, RandomStream random) {
+        vx[i] = (float) (Math.signum(random.nextDouble() - 0.5) * (random.nextDouble() * 5 + 6));
+        vy[i] = (float) (Math.signum(random.nextDouble() - 0.5) * (random.nextDouble() * 5));
+        x[i] = (fieldWidth - size[i]) / 2;
+        y[i] = (fieldHeight - size[i]) / 2;
+        owner[i] = (byte) BallModel.Owner.NONE.ordinal();
+    }
+
+    /**
+     * Removes every ball.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Stops every ball where it is.
+     */
+    public void stop() {
+        Arrays.fill(vx, 0, count, 0);
+        Arrays.fill(vy, 0, count, 0);
+    }
+
+    /**
+     * Moves every ball by its velocity.
+     */
+    public void integrate() {
+        kernel.integrate(x, y, vx, vy, count);
+    }
+
+    /**
+     * Bounces every ball off the top and bottom walls, putting it back on the wall it went past.
+     *
+     * @param fieldHeight The height of the playing field.
+     */
+    public void bounceWalls(int fieldHeight) {
+        kernel.bounceWalls(y, vy, size, count, fieldHeight);
+    }
+
+    /**
+     * Bounces every ball moving towards a paddle off its inner side if it overlaps the paddle.
+     * This is a simpler rule than regular balls follow: swarm balls only bounce off the inner sides and are not sped up
+     * at random, but the paddle's velocity is still added to their vertical velocity.
+     *
+     * @param leftPaddle  The left paddle.
+     * @param rightPaddle The right paddle.
+     */
+    public void bouncePaddles(PaddleModel leftPaddle, PaddleModel rightPaddle) {
+        float leftInner = leftPaddle.getX() + leftPaddle.getWidth(), leftOuter = leftPaddle.getX();
+        float rightInner = rightPaddle.getX(), rightOuter = rightPaddle.getX() + rightPaddle.getWidth();
+        for (int i = 0; i < count; i++) {
+            // Almost every ball is between the two paddles' columns
+            float left = x[i], right = left + size[i];
+            if (left >= leftInner && right <= rightInner) {
+                continue;
+            }
+            if (left < leftInner && right > leftOuter && vx[i] < 0) {
+                bouncePaddle(i, leftPaddle, leftInner, BallModel.Owner.LEFT);
+            } else if (right > rightInner && left < rightOuter && vx[i] > 0) {
+                bouncePaddle(i, rightPaddle, rightInner - size[i], BallModel.Owner.RIGHT);
+            }
+        }
+    }
+
+    /**
+     * Bounces a ball in a paddle's column off the paddle's inner side if it overlaps the paddle vertically.
+     */
+    private void bouncePaddle(int i, PaddleModel paddle, float newX, BallModel.Owner newOwner) {
+        if (y[i] >= paddle.getY() + paddle.getHeight() || y[i] + size[i] <= paddle.getY()) {
+            return;
+        }
+        x[i] = newX;
+        vx[i] = -vx[i];
+        vy[i] = Math.max(-MAX_VELOCITY, Math.min(vy[i] + paddle.getVelocity() * 1.1f, MAX_VELOCITY));
+        owner[i] = (byte) newOwner.ordinal();
+    }
+
+    /**
+     * Scores every ball that has left the field on the left or right and sends it back to the center.
+     * The points scored can be read with getLeftScored and getRightScored until the next call.
+     *
+     * @param fieldWidth  The width of the playing field.
+     * @param fieldHeight The height of the playing field.
+     * @param random      The world's random number stream for the swarm.
+     */
+    public void score(int fieldWidth, int fieldHeight, RandomStream random) {
+        leftScored = 0;
+        rightScored = 0;
+        int found = kernel.findOutOfBounds(x, size, count, fieldWidth, scored);
+        for (int j = 0; j < found; j++) {
+            int i = scored[j];
+            if (x[i] > fieldWidth) {
+                leftScored++;
+            } else {
+                rightScored++;
+            }
+            reset(i, fieldWidth, fieldHeight, random);
+        }
+    }
+
+    /**
+     * Runs every rule for one tick in the same order as PongModel: paddles, walls, scoring, then movement.
+     *
+     * @param fieldWidth  The width of the playing field.
+     * @param fieldHeight The height of the playing field.
+     * @param leftPaddle  The left paddle.
+     * @param rightPaddle The right paddle.
+     * @param random      The world's random number stream for the swarm.
+     */
+    public void tick(int fieldWidth, int fieldHeight, PaddleModel leftPaddle, PaddleModel rightPaddle, RandomStream random) {
+        bouncePaddles(leftPaddle, rightPaddle);
+        bounceWalls(fieldHeight);
+        score(fieldWidth, fieldHeight, random);
+        integrate();
+    }
+
+    /**
+     * Gets the number of points the left player scored in the last call to score.
+     *
+     * @return The points scored by the left player.
+     */
+    public int getLeftScored() {
+        return leftScored;
+    }
+
+    /**
+     * Gets the number of points the right player scored in the last call to score.
+     *
+     * @return The points scored by the right player.
+     */
+    public int getRightScored() {
+        return rightScored;
+    }
+
+    /**
+     * Gets the number of bytes writeState writes for the balls in the store now.
+     *
+     * @return The size of the store's state.
+     */
+    public int getStateSize() {
+        return 3 * 4 + count * (5 * 4 + 1);
+    }
+
+    /**
+     * Writes every ball in the store and the points scored in the last call to score, such as for a replay keyframe.
+     *
+     * @param out The buffer to write getStateSize() bytes of state to.
+     */
+    public void writeState(ByteBuffer out) {
+        out.putInt(count).putInt(leftScored).putInt(rightScored);
+        for (int i = 0; i < count; i++) {
+            out.putFloat(x[i]).putFloat(y[i]).putFloat(vx[i]).putFloat(vy[i]).putFloat(size[i]).put(owner[i]);
+        }
+    }
+
+    /**
+     * Replaces every ball in the store with the balls in a state written by writeState.
+     *
+     * @param in The buffer to read the state from.
+     * @throws IllegalArgumentException If the state holds more balls than the store can.
+     */
+    public void readState(ByteBuffer in) {
+        int newCount = in.getInt();
+        if (newCount > capacity) {
+            throw new IllegalArgumentException("State holds " + newCount + " balls but the store only holds " + capacity);
+        }
+        count = newCount;
+        leftScored = in.getInt();
+        rightScored = in.getInt();
+        for (int i = 0; i < count; i++) {
+            x[i] = in.getFloat();
+            y[i] = in.getFloat();
+            vx[i] = in.getFloat();
+            vy[i] = in.getFloat();
+            size[i] = in.getFloat();
+            owner[i] = in.get();
+        }
+    }
+
+    /**
+     * Gets the kernel the store runs its per-ball arithmetic with.
+     *
+     * @return The kernel.
+     */
+    public BallKernel getKernel() {
+        return kernel;
+    }
+
+    /**
+     * Gets the number of balls in the store.
+     *
+     * @return The ball count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the most balls the store can hold.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the x-coordinates of the balls. Only the first size() entries are in use.
+     *
+     * @return The array of x-coordinates, owned by the store.
+     */
+    public float[] getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y-coordinates of the balls. Only the first size() entries are in use.
+     *
+     * @return The array of y-coordinates, owned by the store.
+     */
+    public float[] getY() {
+        return y;
+    }
+
+    /**
+     * Gets the horizontal velocities of the balls. Only the first size() entries are in use.
+     *
+     * @return The array of horizontal velocities, owned by the store.
+     */
+    public float[] getVX() {
+        return vx;
+    }
+
+    /**
+     * Gets the vertical velocities of the balls. Only the first size() entries are in use.
+     *
+     * @return The array of vertical velocities, owned by the store.
+     */
+    public float[] getVY() {
+        return vy;
+    }
+
+    /**
+     * Gets the sizes of the balls. Only the first size() entries are in use.
+     *
+     * @return The array of sizes, owned by the store.
+     */
+    public float[] getSizes() {
+        return size;
+    }
+
+    /**
+     * Gets the owners of the balls as BallModel.Owner ordinals. Only the first size() entries are in use.
+     *
+     * @return The array of owners, owned by the store.
+     */
+    public byte[] getOwners() {
+        return owner;
+    }
+}
@@ -0,0 +1,130 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * The BallSweep class finds the balls that overlap each other using sort and sweep along the x-axis.
+ * Balls are kept sorted by their left edge, so each ball only has to be checked against the balls that start before
+ * its right edge. The sorted order is kept from one tick to the next, and since balls only move a few pixels per tick
+ * it is nearly sorted already, so re-sorting it with an insertion sort takes close to linear time.
+ *
+ * The world's list of balls only ever grows until it is cleared, so new balls are picked up by their position in the
+ * list. The sweep must be cleared whenever the list is.
+ */
+public class BallSweep {
+    private BallModel[] sorted = new BallModel[64];
+    private int count;
+
+    /**
+     * Forgets every ball, for when the world's list of balls has been cleared.
+     */
+    public void clear() {
+        Arrays.fill(sorted, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Bounces every pair of overlapping balls off each other.
+     *
+     * @param balls The balls in the world, in the order they were added.
+     * @return The number of pairs that bounced.
+     * @see BallModel#bounceOff(BallModel)
+     */
+    public int collide(List<BallModel> balls) {
+        // The list was cleared without telling the sweep, so start again
+        if (balls.size() < count) {
+            clear();
+        }
+        // Pick up balls added since the last tick
+        if (balls.size() > sorted.length) {
+            sorted = Arrays.copyOf(sorted, Math.max(balls.size(), sorted.length * 2));
+        }
+        while (count < balls.size()) {
+            sorted[count] = balls.get(count);
+            count++;
+        }
+
+        sort();
+
+        int bounced = 0;
+        for (int i = 0; i < count; i++) {
+            BallModel ball = sorted[i];
+            if (!ball.isAlive()) {
+                continue;
+            }
+            int right = ball.getX() + ball.getWidth();
+            // Only balls that start before this ball's right edge can overlap it
+            for (int j = i + 1; j < count && sorted[j].getX() < right; j++) {
+                BallModel other = sorted[j];
+                if (other.isAlive() && ball.bounceOff(other)) {
+                    bounced++;
+                }
+            }
+        }
+        return bounced;
+    }
+
+    /**
+     * Sorts the balls by their left edge with an insertion sort, which is fast on the nearly sorted order left over
+     * from the last tick.
+     */
+    private void sort() {
+        for (int i = 1; i < count; i++) {
+            BallModel ball = sorted[i];
+            int x = ball.getX();
+            int j = i - 1;
+            while (j >= 0 && sorted[j].getX() > x) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = ball;
+        }
+    }
+
+    /**
+     * Gets the number of bytes writeState writes for the balls in the sweep now.
+     *
+     * @return The size of the sweep's state.
+     */
+    public int getStateSize() {
+        return 4 + count * 4;
+    }
+
+    /**
+     * Writes the sorted order of the balls as their positions in the world's list, such as for a replay keyframe.
+     * Balls with the same left edge stay in the order they were sorted into, and that order decides which pairs bounce
+     * first, so it has to be kept for a replay to play out the same.
+     *
+     * @param out   The buffer to write getStateSize() bytes of state to.
+     * @param balls The balls in the world, in the order they were added.
+     */
+    public void writeState(ByteBuffer out, List<BallModel> balls) {
+        IdentityHashMap<BallModel, Integer> index = new IdentityHashMap<>();
+        for (int i = 0; i < balls.size(); i++) {
+            index.put(balls.get(i), i);
+        }
+        out.putInt(count);
+        for (int i = 0; i < count; i++) {
+            out.putInt(index.get(sorted[i]));
+        }
+    }
+
+    /**
+     * Puts the sorted order back to a state written by writeState.
+     *
+     * @param in    The buffer to read the state from.
+     * @param balls The balls in the world, in the order they were added, rebuilt from the same state.
+     */
+    public void readState(ByteBuffer in, List<BallModel> balls) {
+        clear();
+        int newCount = in.getInt();
+        if (newCount > sorted.length) {
+            sorted = new BallModel[newCount];
+        }
+        for (int i = 0; i < newCount; i++) {
+            sorted[i] = balls.get(in.getInt());
+        }
+        count = newCount;
+    }
+}
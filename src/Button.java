@@ -1,16 +1,13 @@
 import csta.ibm.pong.GameObject;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 /**
  * A class to represent a selectable button within the game environment allowing
  * for the triggering of specific actions or events when selected by the player.
  */
 public class Button extends GameObject{
-    private BufferedImage image;
+    private final Sprite image;
     private int restingY, restingX, dx, dy, time = 0;
     private boolean visible = true, floating = false, active = false;
     /**
@@ -21,11 +18,7 @@ public class Button extends GameObject{
      * @param imagePath The file path of the image.
      */
     public Button(int screenWidth, int screenHeight, String imagePath) {
-        try {
-            image = ImageIO.read(getClass().getClassLoader().getResourceAsStream(imagePath));
-        } catch (IOException e) {
-            System.out.println(e);
-        }
+        image = Assets.sprite(imagePath).join();
         setSize(screenWidth, screenHeight);
     }
 
@@ -38,22 +31,37 @@ public class Button extends GameObject{
     public void paint(Graphics g) {
         super.paintComponent(g);
 
-        if (visible) g.drawImage(image, restingX, restingY + dy, null);
+        if (visible) image.draw(g, restingX, restingY + dy);
     }
 
     /**
-     * Updates the button's state.
+     * Updates the button's state, repainting it if it has moved.
      */
     @Override
     public void act() {
         time += 1;
+        int newDy;
         if (floating) {
-            dy = (int) (-10 * Math.sin(time / 4.0));
-            if (active) dy -= 20;
+            newDy = (int) (-10 * Math.sin(time / 4.0));
+            if (active) newDy -= 20;
         } else {
-            dy = 0;
+            newDy = 0;
+        }
+        if (newDy != dy) {
+            // Repaint the image where it was and where it is now
+            if (visible) {
+                repaint(restingX, restingY + Math.min(dy, newDy), getImageWidth(), image.getHeight() + Math.abs(newDy - dy));
+            }
+            dy = newDy;
         }
     }
+
+    /**
+     * Repaints the region the image is drawn in.
+     */
+    private void repaintImage() {
+        repaint(restingX, restingY + dy, getImageWidth(), image.getHeight());
+    }
     /**
      * Sets the location of the button.
      *
@@ -61,8 +69,12 @@ public class Button extends GameObject{
      * @param y The y-coordinate of the location.
      */
     public void setLocation(int x, int y) {
-        restingY = y;
-        restingX = x;
+        if (x != restingX || y != restingY) {
+            repaintImage();
+            restingY = y;
+            restingX = x;
+            repaintImage();
+        }
     }
 
     /**
@@ -71,7 +83,7 @@ public class Button extends GameObject{
      * @return The width of the image.
      */
     public int getImageWidth() {
-        return image.getWidth(null);
+        return image.getWidth();
     }
 
     /**
@@ -92,7 +104,10 @@ public class Button extends GameObject{
      * @param newVisibility The new visibility value.
      */
     public void updateVisibility(boolean newVisibility) {
-        visible = newVisibility;
+        if (newVisibility != visible) {
+            visible = newVisibility;
+            repaintImage();
+        }
     }
 
     /**
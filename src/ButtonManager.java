@@ -1,9 +1,6 @@
 import csta.ibm.pong.GameObject;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
 import java.util.ArrayList;
 
 /**
@@ -11,8 +8,8 @@ import java.util.ArrayList;
  * It extends the GameObject class and provides methods to handle button interactions and selection.
  * */
 public class ButtonManager extends GameObject {
-    private ArrayList<BufferedImage> controls = new ArrayList<>();
-    private ArrayList<BufferedImage> icons = new ArrayList<>();
+    private ArrayList<Sprite> controls = new ArrayList<>();
+    private ArrayList<Sprite> icons = new ArrayList<>();
     private ArrayList<Button> buttons = new ArrayList<Button>();
     private int totalUnscaledWidth, selectedButton = 1, controlsWidth = 0, time = 0, screenWidth, screenHeight;
     private Pong mainGame;
@@ -70,23 +67,19 @@ public class ButtonManager extends GameObject {
         }
 
         // Load control images
-        try {
-            controls.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("z_key.png")));
-            controls.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("x_key.png")));
-            controls.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("controls_button.png")));
-            controls.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("n_key.png")));
-            controls.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("m_key.png")));
-            icons.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("red_arrow_up.png")));
-            icons.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("red_arrow_down.png")));
-            icons.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("blue_arrow_up.png")));
-            icons.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("blue_arrow_down.png")));
-            icons.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("left_arrow.png")));
-            icons.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("right_arrow.png")));
-            icons.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("cancel_button.png")));
-            icons.add(ImageIO.read(getClass().getClassLoader().getResourceAsStream("select_button.png")));
-        } catch (IOException e) {
-            System.out.println(e);
-        }
+        controls.add(Assets.sprite("z_key.png").join());
+        controls.add(Assets.sprite("x_key.png").join());
+        controls.add(Assets.sprite("controls_button.png").join());
+        controls.add(Assets.sprite("n_key.png").join());
+        controls.add(Assets.sprite("m_key.png").join());
+        icons.add(Assets.sprite("red_arrow_up.png").join());
+        icons.add(Assets.sprite("red_arrow_down.png").join());
+        icons.add(Assets.sprite("blue_arrow_up.png").join());
+        icons.add(Assets.sprite("blue_arrow_down.png").join());
+        icons.add(Assets.sprite("left_arrow.png").join());
+        icons.add(Assets.sprite("right_arrow.png").join());
+        icons.add(Assets.sprite("cancel_button.png").join());
+        icons.add(Assets.sprite("select_button.png").join());
 
         // Calculate total width of control images
         controlsWidth += (controls.get(0).getWidth()) * 4;
@@ -138,28 +131,19 @@ public class ButtonManager extends GameObject {
      * @param g The graphics context.
      */
     public void paint(Graphics g) {
-        // Update the location and size of buttons
-        int currentX = (screenWidth - totalUnscaledWidth) / 2;
-        int currentY = screenHeight * 8 / 10;
-        for (Button b : buttons) {
-            b.setLocation(currentX, currentY);
-            b.setSize(screenWidth, screenHeight);
-            currentX += b.getImageWidth() + 20;
-        }
-
         // Draw control images if the controls button is active
 //        if (buttons.get(1).getActive()) {
         if (selectedButton == 1) {
             int xPos = (screenWidth - controlsWidth - 20 * (controls.size() - 1)) / 2;
             for (int i = 0; i < controls.size(); i++) {
-                g.drawImage(controls.get(i), xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + i * 20) / 4.0)), null);
+                controls.get(i).draw(g, xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + i * 20) / 4.0)));
                 if (i > 2) {
-                    g.drawImage(icons.get(i - 1), xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + i * 20) / 4.0)) - 100, null);
-                    g.drawImage(icons.get(i - 1 + 4), xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + i * 20) / 4.0)) + 80, null);
+                    icons.get(i - 1).draw(g, xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + i * 20) / 4.0)) - 100);
+                    icons.get(i - 1 + 4).draw(g, xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + i * 20) / 4.0)) + 80);
 
                 } else if (i < 2) {
-                    g.drawImage(icons.get(i), xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + (i) * 20) / 4.0)) - 100, null);
-                    g.drawImage(icons.get(i + 4), xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + (i) * 20) / 4.0)) + 80, null);
+                    icons.get(i).draw(g, xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + (i) * 20) / 4.0)) - 100);
+                    icons.get(i + 4).draw(g, xPos, (int) (screenHeight / 2 - 5 * Math.sin((time + (i) * 20) / 4.0)) + 80);
 
                 }
                 xPos += controls.get(i).getWidth() + 20;
@@ -167,6 +151,34 @@ public class ButtonManager extends GameObject {
         }
     }
 
+    /**
+     * Checks if the controls are being drawn, which they are while the help button is selected.
+     *
+     * @return True if paint draws the controls.
+     */
+    public boolean isShowingControls() {
+        return selectedButton == 1;
+    }
+
+    /**
+     * Gets the region the controls are drawn in as they bob up and down.
+     *
+     * @param bounds The rectangle to set to the region.
+     */
+    public void getControlsBounds(Rectangle bounds) {
+        int width = 20 * (controls.size() - 1), height = 0;
+        for (int i = 0; i < controls.size(); i++) {
+            width += controls.get(i).getWidth();
+            height = Math.max(height, controls.get(i).getHeight());
+        }
+        for (int i = 0; i < icons.size(); i++) {
+            height = Math.max(height, icons.get(i).getHeight());
+        }
+        // The icons are drawn 100 pixels above and 80 below the controls, which bob 5 pixels each way
+        bounds.setBounds((screenWidth - controlsWidth - 20 * (controls.size() - 1)) / 2, screenHeight / 2 - 105,
+                width, 190 + height);
+    }
+
     /**
      * Updates the state of the button manager.
      */
@@ -177,6 +189,15 @@ public class ButtonManager extends GameObject {
         screenHeight = mainGame.getFieldHeight();
         screenWidth = mainGame.getFieldWidth();
 
+        // Keep the buttons centered at the bottom of the screen
+        int currentX = (screenWidth - totalUnscaledWidth) / 2;
+        int currentY = screenHeight * 8 / 10;
+        for (Button b : buttons) {
+            b.setLocation(currentX, currentY);
+            b.setSize(screenWidth, screenHeight);
+            currentX += b.getImageWidth() + 20;
+        }
+
         // Update floating state of buttons and deactivate non-selected buttons
         for (int i = 0; i < buttons.size(); i++) {
             buttons.get(i).setFloating(i == selectedButton);
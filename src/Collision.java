@@ -0,0 +1,30 @@
+/**
+ * The Collision class holds the overlap tests shared by the simulation.
+ * It works on plain coordinates so the simulation never needs AWT rectangles.
+ */
+public final class Collision {
+
+	private Collision() {
+	}
+
+	/**
+	 * Checks if two rectangles overlap, following the same rules as java.awt.Rectangle#intersects.
+	 * A rectangle with no width or height never overlaps anything.
+	 *
+	 * @param ax The x-coordinate of the first rectangle.
+	 * @param ay The y-coordinate of the first rectangle.
+	 * @param aw The width of the first rectangle.
+	 * @param ah The height of the first rectangle.
+	 * @param bx The x-coordinate of the second rectangle.
+	 * @param by The y-coordinate of the second rectangle.
+	 * @param bw The width of the second rectangle.
+	 * @param bh The height of the second rectangle.
+	 * @return True if the rectangles overlap, otherwise false.
+	 */
+	public static boolean intersects(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+		if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) {
+			return false;
+		}
+		return ax < bx + bw && bx < ax + aw && ay < by + bh && by < ay + ah;
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * The DamageGrid class collects the parts of a window that need repainting as a grid of square tiles.
+ * Marking a region sets the tiles it touches, so any number of overlapping regions cost the same to keep, and
+ * collecting the damage merges the marked tiles into a few rectangles: runs of tiles along a row, joined with the
+ * identical runs of the rows below. Nothing is allocated after the grid has been sized.
+ */
+public class DamageGrid {
+    public static final int TILE_SIZE = 32;
+    private int width, height, columns, rows;
+    private boolean[] tiles = new boolean[0];
+    private int[] openRects = new int[0], nextOpenRects = new int[0];
+    private int marked;
+
+    /**
+     * Constructs an empty grid covering an area of the given size.
+     *
+     * @param width  The width of the area.
+     * @param height The height of the area.
+     */
+    public DamageGrid(int width, int height) {
+        resize(width, height);
+    }
+
+    /**
+     * Changes the size of the area the grid covers, clearing every mark.
+     *
+     * @param newWidth  The width of the area.
+     * @param newHeight The height of the area.
+     */
+    public void resize(int newWidth, int newHeight) {
+        width = Math.max(0, newWidth);
+        height = Math.max(0, newHeight);
+        columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        if (tiles.length < columns * rows) {
+            tiles = new boolean[columns * rows];
+        }
+        if (openRects.length < columns) {
+            openRects = new int[columns];
+            nextOpenRects = new int[columns];
+        }
+        clear();
+    }
+
+    /**
+     * Marks a region as needing to be repainted. Parts of it outside the area are ignored.
+     *
+     * @param x The x-coordinate of the region.
+     * @param y The y-coordinate of the region.
+     * @param w The width of the region.
+     * @param h The height of the region.
+     */
+    public void add(int x, int y, int w, int h) {
+        int left = Math.max(0, x), top = Math.max(0, y);
+        int right = Math.min(width, x + w), bottom = Math.min(height, y + h);
+        if (left >= right || top >= bottom) {
+            return;
+        }
+        for (int row = top / TILE_SIZE; row <= (bottom - 1) / TILE_SIZE; row++) {
+            for (int column = left / TILE_SIZE; column <= (right - 1) / TILE_SIZE; column++) {
+                int tile = row * columns + column;
+                if (!tiles[tile]) {
+                    tiles[tile] = true;
+                    marked++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the whole area as needing to be repainted.
+     */
+    public void addAll() {
+        add(0, 0, width, height);
+    }
+
+    /**
+     * Checks if nothing has been marked since the grid was last cleared.
+     *
+     * @return True if there is nothing to repaint.
+     */
+    public boolean isEmpty() {
+        return marked == 0;
+    }
+
+    /**
+     * Gets the fraction of the area that has been marked.
+     *
+     * @return The marked fraction, from 0 to 1.
+     */
+    public double getCoverage() {
+        return columns * rows == 0 ? 0 : (double) marked / (columns * rows);
+    }
+
+    /**
+     * Merges the marked tiles into rectangles and clears the grid.
+     * Each row's marked tiles become runs, and a run that covers exactly the same columns as a run of the row above
+     * extends that run's rectangle downwards instead of starting a new one. Rectangles are clipped to the area.
+     *
+     * @param rects The array to write the rectangles into, four ints each: x, y, width, and height.
+     * @return The number of rectangles written, or -1 if they did not all fit, in which case the caller should repaint
+     * the whole area instead.
+     */
+    public int collect(int[] rects) {
+        int count = 0, open = 0;
+        boolean overflow = false;
+        for (int row = 0; row < rows; row++) {
+            int top = row * TILE_SIZE, bottom = Math.min(height, top + TILE_SIZE);
+            int next = 0;
+            for (int column = 0; column < columns; column++) {
+                if (!tiles[row * columns + column]) {
+                    continue;
+                }
+                // Follow the run of marked tiles starting here
+                int start = column;
+                while (column < columns && tiles[row * columns + column]) {
+                    tiles[row * columns + column] = false;
+                    column++;
+                }
+                int x = start * TILE_SIZE, w = Math.min(width, column * TILE_SIZE) - x;
+
+                // Extend the rectangle of the matching run of the row above, or start a new one
+                int rect = -1;
+                for (int k = 0; k < open; k++) {
+                    int candidate = openRects[k];
+                    if (rects[candidate * 4] == x && rects[candidate * 4 + 2] == w) {
+                        rect = candidate;
+                        break;
+                    }
+                }
+                if (rect >= 0) {
+                    rects[rect * 4 + 3] = bottom - rects[rect * 4 + 1];
+                } else if ((count + 1) * 4 <= rects.length) {
+                    rect = count++;
+                    rects[rect * 4] = x;
+                    rects[rect * 4 + 1] = top;
+                    rects[rect * 4 + 2] = w;
+                    rects[rect * 4 + 3] = bottom - top;
+                } else {
+                    overflow = true;
+                    continue;
+                }
+                nextOpenRects[next++] = rect;
+            }
+            // Only the rectangles reaching this row can be extended by the next
+            int[] swap = openRects;
+            openRects = nextOpenRects;
+            nextOpenRects = swap;
+            open = next;
+        }
+        marked = 0;
+        return overflow ? -1 : count;
+    }
+
+    /**
+     * Clears every mark.
+     */
+    public void clear() {
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = false;
+        }
+        marked = 0;
+    }
+
+    /**
+     * Gets the width of the area the grid covers.
+     *
+     * @return The width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the area the grid covers.
+     *
+     * @return The height.
+     */
+    public int getHeight() {
+        return height;
+    }
+}
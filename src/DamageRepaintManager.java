@@ -0,0 +1,96 @@
+import javax.swing.*;
+
+/**
+ * The DamageRepaintManager class repaints only the parts of the game's window that have changed.
+ *
+ * Most of the game is drawn by components that cover the whole field, such as the menu and the effect layer, and
+ * Swing repaints the smallest rectangle holding every region that asked to be repainted, so a ball moving on each side
+ * of the field was enough to repaint all of it. Instead, every region of the game's window that asks to be repainted
+ * is marked in a DamageGrid, and once per batch of requests the marked tiles are merged into a few rectangles and
+ * each is painted on its own. The components only ask for the regions they have changed: where something was drawn
+ * before and where it is drawn now. If most of the window has changed it is repainted whole, which is cheaper than
+ * many rectangles. Repaints of anything outside the game's window are left to Swing.
+ *
+ * @see DamageGrid
+ */
+public class DamageRepaintManager extends TimedRepaintManager {
+    private static final int MAX_RECTS = 64;
+    private static final double FULL_REPAINT_COVERAGE = 0.5;
+    private final DamageGrid damage = new DamageGrid(0, 0);
+    private final int[] rects = new int[MAX_RECTS * 4];
+    private final Runnable paintDamage = this::paintDamage;
+    private boolean scheduled;
+
+    /**
+     * Constructs a repaint manager for the game's window that records into the given statistics.
+     *
+     * @param stats The statistics to record each repaint in.
+     * @param root  The root pane of the game's window.
+     */
+    public DamageRepaintManager(FrameStats stats, JRootPane root) {
+        super(stats, root);
+    }
+
+    /**
+     * Marks a region of a component in the game's window as damaged, or queues it with Swing if the component is
+     * anywhere else.
+     *
+     * @param c The component to repaint.
+     * @param x The x-coordinate of the region in the component.
+     * @param y The y-coordinate of the region in the component.
+     * @param w The width of the region.
+     * @param h The height of the region.
+     */
+    @Override
+    public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        if (!locate(c)) {
+            super.addDirtyRegion(c, x, y, w, h);
+            return;
+        }
+        if (damage.getWidth() != root.getWidth() || damage.getHeight() != root.getHeight()) {
+            // The window has changed size, so everything in it will be repainted anyway
+            damage.resize(root.getWidth(), root.getHeight());
+            damage.addAll();
+        }
+        // Clip the region to the component, as Swing does
+        int left = Math.max(0, x), top = Math.max(0, y);
+        int right = Math.min(c.getWidth(), x + w), bottom = Math.min(c.getHeight(), y + h);
+        damage.add(offsetX + left, offsetY + top, right - left, bottom - top);
+        if (!scheduled) {
+            scheduled = true;
+            SwingUtilities.invokeLater(paintDamage);
+        }
+    }
+
+    /**
+     * Paints every damaged part of the game's window, recording how long it took and how many pixels were repainted.
+     */
+    private void paintDamage() {
+        scheduled = false;
+        if (damage.isEmpty()) {
+            return;
+        }
+        if (!root.isShowing()) {
+            damage.clear();
+            return;
+        }
+        long start = System.nanoTime();
+        long pixels = 0;
+        int count = damage.getCoverage() > FULL_REPAINT_COVERAGE ? -1 : damage.collect(rects);
+        if (count < 0) {
+            damage.clear();
+            root.paintImmediately(0, 0, root.getWidth(), root.getHeight());
+            pixels = (long) root.getWidth() * root.getHeight();
+        } else {
+            for (int i = 0; i < count; i++) {
+                root.paintImmediately(rects[i * 4], rects[i * 4 + 1], rects[i * 4 + 2], rects[i * 4 + 3]);
+                pixels += (long) rects[i * 4 + 2] * rects[i * 4 + 3];
+            }
+        }
+        stats.countPixels(pixels);
+        stats.lap(FrameStats.Phase.PAINT, start);
+    }
+}
@@ -0,0 +1,233 @@
+import csta.ibm.pong.GameObject;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * The EffectLayer class is a single full-screen component that owns every short-lived visual effect in the game.
+ * Each ball's trail lives in its own TrailBuffer and particles live in a fixed-size ParticlePool rather than being
+ * Swing components, so spawning or expiring an effect never touches the component tree. All effects are updated in
+ * act() and drawn together in one paint pass. Finished particle generators are kept and reused by addBurst.
+ */
+public class EffectLayer extends GameObject {
+    private static final int PARTICLE_CAPACITY = 4096;
+    private final ArrayList<TrailBuffer> allTrails = new ArrayList<>();
+    private final ParticlePool particles;
+    private final ArrayList<ParticleGenerator> allGenerators = new ArrayList<>();
+    private final ArrayList<ParticleGenerator> spareGenerators = new ArrayList<>();
+    private final GameField game;
+    private final Rectangle clip = new Rectangle();
+    private int time = 0;
+
+    /**
+     * Constructs an effect layer covering the game field.
+     *
+     * @param game   The field, which the layer is kept the size of and times its updates into.
+     * @param random The random number stream that sprays the particles.
+     */
+    public EffectLayer(GameField game, RandomStream random) {
+        this.game = game;
+        particles = new ParticlePool(PARTICLE_CAPACITY, random);
+        setSize(game.getFieldWidth(), game.getFieldHeight());
+    }
+
+    /**
+     * Constructs an effect layer of a fixed size that is not part of a game, such as one driven by a benchmark.
+     *
+     * @param width  The width of the layer.
+     * @param height The height of the layer.
+     * @param random The random number stream that sprays the particles.
+     */
+    public EffectLayer(int width, int height, RandomStream random) {
+        this.game = null;
+        particles = new ParticlePool(PARTICLE_CAPACITY, random);
+        setSize(width, height);
+    }
+
+    /**
+     * Adds a ball's trail to the layer. The trail is drawn until it has faded away.
+     *
+     * @param newTrail The trail to add.
+     */
+    public void addTrail(TrailBuffer newTrail) {
+        newTrail.setAttached(true);
+        allTrails.add(newTrail);
+    }
+
+    /**
+     * Gets the current frame of the layer, which trails use to age their segments.
+     *
+     * @return The number of frames the layer has been updated for.
+     */
+    public int getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the pool that holds every particle drawn by the layer.
+     *
+     * @return The particle pool.
+     */
+    public ParticlePool getParticles() {
+        return particles;
+    }
+
+    /**
+     * Adds a particle generator to the layer. The generator is updated every frame until it has finished.
+     *
+     * @param newGenerator The particle generator to add.
+     */
+    public void addGenerator(ParticleGenerator newGenerator) {
+        allGenerators.add(newGenerator);
+    }
+
+    /**
+     * Starts a burst of particles, reusing a generator that has finished if there is one so a burst in steady play
+     * allocates nothing.
+     *
+     * @param x         The x-coordinate of the burst.
+     * @param y         The y-coordinate of the burst.
+     * @param duration  The number of frames particles are generated for.
+     * @param velocity  The velocity of the particles, which sets their size.
+     * @param frequency The number of particles generated per frame.
+     * @param lifespan  The number of frames each particle lives for.
+     * @param color     The color of the particles.
+     */
+    public void addBurst(int x, int y, int duration, int velocity, int frequency, int lifespan, Color color) {
+        if (spareGenerators.isEmpty()) {
+            addGenerator(new ParticleGenerator(x, y, duration, velocity, frequency, lifespan, color, particles));
+        } else {
+            ParticleGenerator generator = spareGenerators.remove(spareGenerators.size() - 1);
+            generator.restart(x, y, duration, velocity, frequency, lifespan, color);
+            addGenerator(generator);
+        }
+    }
+
+    /**
+     * Gets the number of particle generators that have not finished yet.
+     *
+     * @return The number of running generators.
+     */
+    public int getGeneratorCount() {
+        return allGenerators.size();
+    }
+
+    /**
+     * Gets the number of effects currently held by the layer.
+     *
+     * @return The combined number of drawn trails and live particles.
+     */
+    public int getEffectCount() {
+        return allTrails.size() + particles.getLiveCount();
+    }
+
+    /**
+     * Updates every effect and repaints the regions they were and are drawn in.
+     *
+     * @see #update()
+     */
+    @Override
+    public void act() {
+        // Keep the layer covering the whole field
+        if (game != null) {
+            setSize(game.getFieldWidth(), game.getFieldHeight());
+            long start = System.nanoTime();
+            // Repaint where every effect was drawn, update them, then repaint where they are drawn now
+            repaintEffects();
+            update();
+            repaintEffects();
+            game.getStats().lap(FrameStats.Phase.EFFECTS, start);
+        } else {
+            update();
+            repaint();
+        }
+    }
+
+    /**
+     * Asks for the regions covered by every trail and particle to be repainted.
+     */
+    private void repaintEffects() {
+        for (int i = 0; i < allTrails.size(); i++) {
+            allTrails.get(i).repaint(this, time);
+        }
+        particles.repaint(this);
+    }
+
+    /**
+     * Updates every generator, trail, and particle, then drops the ones that have finished.
+     */
+    public void update() {
+        // Let the generators emit new particles before anything is aged
+        int kept = 0;
+        for (int i = 0; i < allGenerators.size(); i++) {
+            ParticleGenerator currentGenerator = allGenerators.get(i);
+            currentGenerator.act();
+            if (!currentGenerator.isFinished()) {
+                allGenerators.set(kept++, currentGenerator);
+            } else {
+                spareGenerators.add(currentGenerator);
+            }
+        }
+        truncate(allGenerators, kept);
+
+        // Age every trail by one frame and compact out the ones that have faded away
+        time += 1;
+        kept = 0;
+        for (int i = 0; i < allTrails.size(); i++) {
+            TrailBuffer currentTrail = allTrails.get(i);
+            if (currentTrail.isFaded(time)) {
+                currentTrail.setAttached(false);
+            } else {
+                allTrails.set(kept++, currentTrail);
+            }
+        }
+        truncate(allTrails, kept);
+
+        // Move the particles and release the ones that have expired
+        particles.update();
+    }
+
+    /**
+     * Paints every trail and particle in a single pass.
+     * The layer is painted once for every damaged rectangle of the window, so only the trail segments and particles
+     * inside the region being painted are drawn, and painting a small rectangle costs little however many effects
+     * are live elsewhere.
+     *
+     * @param g The graphics context.
+     */
+    @Override
+    public void paint(Graphics g) {
+        // The whole layer, unless the graphics context is clipped to less
+        clip.setBounds(0, 0, getWidth(), getHeight());
+        g.getClipBounds(clip);
+        for (int i = 0; i < allTrails.size(); i++) {
+            allTrails.get(i).paint(g, time, clip);
+        }
+        particles.paint(g, clip);
+    }
+
+    /**
+     * Removes every effect from the layer.
+     */
+    public void clear() {
+        for (int i = 0; i < allTrails.size(); i++) {
+            allTrails.get(i).setAttached(false);
+        }
+        allTrails.clear();
+        particles.clear();
+        allGenerators.clear();
+        repaint();
+    }
+
+    /**
+     * Shrinks a list to the given size by dropping elements from the end.
+     *
+     * @param list The list to shrink.
+     * @param size The number of elements to keep.
+     */
+    private static void truncate(ArrayList<?> list, int size) {
+        for (int i = list.size() - 1; i >= size; i--) {
+            list.remove(i);
+        }
+    }
+}
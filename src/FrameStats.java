@@ -0,0 +1,193 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The FrameStats class times each phase of a frame into its own Histogram.
+ * A phase is timed by taking System.nanoTime before it and calling lap after it; lap returns the time it read, so
+ * back-to-back phases share one clock read each. Recording never allocates, so the timing is always on.
+ *
+ * Everything is recorded and read on the Swing event thread, which runs both the game's timer and painting.
+ */
+public class FrameStats {
+
+    /**
+     * The parts of a frame that are timed.
+     */
+    public enum Phase {
+        /** The time between the starts of two frames. */
+        FRAME,
+        /** A whole tick of Pong.act, including every phase below up to MOVE; see MatchTick. */
+        TICK,
+        /** PongModel.checkCollisions: paddles, walls, and other balls. */
+        COLLISIONS,
+        /** Recording every ball's trail. */
+        TRAILS,
+        /** PongModel.updateScoring and the score shown by the HUD. */
+        SCORING,
+        /** PongModel.checkPowerupCollision. */
+        POWER_UPS,
+        /** Spawning new balls and power-ups. */
+        SPAWNING,
+        /** The menu, playing, or game over logic. */
+        STATE,
+        /** Moving the paddles and balls. */
+        MOVE,
+        /** EffectLayer.update: ageing particles and dropping finished generators and trails. */
+        EFFECTS,
+        /** Swing painting every component that needs it. */
+        PAINT
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private final Histogram[] histograms = new Histogram[PHASES.length];
+    private final long[] last = new long[PHASES.length];
+    private long lastFrame = -1;
+    private final Histogram pixels = new Histogram();
+    private long lastPixels;
+    private int components, maxComponents;
+
+    /**
+     * Constructs empty statistics.
+     */
+    public FrameStats() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Records the time a phase took.
+     *
+     * @param phase The phase that has just finished.
+     * @param start The value of System.nanoTime when the phase started.
+     * @return The value of System.nanoTime now, which is when the next phase starts.
+     */
+    public long lap(Phase phase, long start) {
+        long now = System.nanoTime();
+        histograms[phase.ordinal()].record(now - start);
+        last[phase.ordinal()] = now - start;
+        return now;
+    }
+
+    /**
+     * Marks the start of a frame, recording the time since the last one as a FRAME.
+     *
+     * @return The value of System.nanoTime now.
+     */
+    public long startFrame() {
+        long now = System.nanoTime();
+        if (lastFrame >= 0) {
+            histograms[Phase.FRAME.ordinal()].record(now - lastFrame);
+        }
+        lastFrame = now;
+        return now;
+    }
+
+    /**
+     * Gets the time a phase took the last time it was recorded.
+     *
+     * @param phase The phase.
+     * @return The duration in nanoseconds, or 0 if the phase has not been recorded.
+     */
+    public long getLast(Phase phase) {
+        return last[phase.ordinal()];
+    }
+
+    /**
+     * Records how many pixels of the window a paint pass repainted.
+     *
+     * @param count The number of pixels repainted.
+     */
+    public void countPixels(long count) {
+        pixels.record(count);
+        lastPixels = count;
+    }
+
+    /**
+     * Gets the histogram of pixels repainted per paint pass.
+     *
+     * @return The histogram of pixel counts.
+     */
+    public Histogram getPixels() {
+        return pixels;
+    }
+
+    /**
+     * Gets the number of pixels the last paint pass repainted.
+     *
+     * @return The pixel count.
+     */
+    public long getLastPixels() {
+        return lastPixels;
+    }
+
+    /**
+     * Records how many Swing components the game has.
+     *
+     * @param count The number of components in the game's window.
+     */
+    public void countComponents(int count) {
+        components = count;
+        maxComponents = Math.max(maxComponents, count);
+    }
+
+    /**
+     * Gets the histogram of a phase.
+     *
+     * @param phase The phase.
+     * @return The histogram of its durations in nanoseconds.
+     */
+    public Histogram get(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Gets the number of Swing components last counted.
+     *
+     * @return The component count.
+     */
+    public int getComponents() {
+        return components;
+    }
+
+    /**
+     * Gets the most Swing components counted at once.
+     *
+     * @return The largest component count.
+     */
+    public int getMaxComponents() {
+        return maxComponents;
+    }
+
+    /**
+     * Writes a table of every phase's count, mean, percentiles, and maximum in microseconds.
+     *
+     * @param out The writer to write the table to.
+     */
+    public void write(PrintWriter out) {
+        out.printf("%-11s %9s %9s %9s %9s %9s %9s%n", "phase (us)", "count", "mean", "p50", "p90", "p99", "max");
+        for (Phase phase : PHASES) {
+            Histogram h = get(phase);
+            out.printf("%-11s %9d %9.1f %9.1f %9.1f %9.1f %9.1f%n", phase.name().toLowerCase(), h.getCount(),
+                    h.getMean() / 1e3, h.getPercentile(50) / 1e3, h.getPercentile(90) / 1e3, h.getPercentile(99) / 1e3,
+                    h.getMax() / 1e3);
+        }
+        out.printf("components: %d now, %d at most%n", components, maxComponents);
+        out.printf("pixels repainted per pass: %d passes, mean %.0f, p50 %d, p99 %d, max %d%n", pixels.getCount(),
+                pixels.getMean(), pixels.getPercentile(50), pixels.getPercentile(99), pixels.getMax());
+    }
+
+    /**
+     * Writes the table to a file, replacing it if it exists.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void dump(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            write(out);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * The GameEventSink interface receives what happens in a match, as reported through GameEvents.
+ * FlightRecorderSink, in the jfr source root, turns each call into a Flight Recorder event. It is kept out of this
+ * source root because the jdk.jfr module is not part of Java 8, so the game itself still compiles with --release 8.
+ *
+ * @see GameEvents
+ */
+public interface GameEventSink {
+
+    /**
+     * Receives a tick that has just finished.
+     *
+     * @param stats The frame statistics, holding how long each phase of the tick took.
+     * @param world The world the tick was played in.
+     */
+    void tick(FrameStats stats, PongModel world);
+
+    /**
+     * Receives a ball added to the world.
+     *
+     * @param ball  The new ball.
+     * @param balls The number of balls in the world, including the new one.
+     */
+    void ballSpawned(BallModel ball, int balls);
+
+    /**
+     * Receives points scored.
+     *
+     * @param scorer     The player who scored.
+     * @param points     The number of points scored at once.
+     * @param leftScore  The left player's score afterwards.
+     * @param rightScore The right player's score afterwards.
+     */
+    void scored(BallModel.Owner scorer, int points, int leftScore, int rightScore);
+
+    /**
+     * Receives a power-up collected.
+     *
+     * @param type      The kind of power-up.
+     * @param collector The player whose ball collected it.
+     */
+    void powerUpCollected(PowerUpModel.Type type, BallModel.Owner collector);
+
+    /**
+     * Receives a burst of particles started.
+     *
+     * @param particles The number of particles the burst will spawn.
+     * @param lifespan  The number of frames each particle lives for.
+     */
+    void particleBurst(int particles, int lifespan);
+
+    /**
+     * Receives the game moving from one state to another.
+     *
+     * @param from The state left, or null when the game first gets a state.
+     * @param to   The state entered.
+     */
+    void stateChanged(Enum<?> from, Enum<?> to);
+}
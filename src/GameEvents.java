@@ -0,0 +1,111 @@
+/**
+ * The GameEvents class reports what happens in a match to Java Flight Recorder, so ticks, spawns, scores, power-ups,
+ * particle bursts, and state changes can be lined up with garbage collection pauses and frame hitches in a recording.
+ *
+ *     java -XX:StartFlightRecording=filename=pong.jfr,settings=profile -cp out:csta.ibm.pong.v15.jar Pong
+ *
+ * The events live in the jfr source root, which needs Java 11 or newer to build, and are reached through a
+ * GameEventSink created by name. They are only loaded when the running Java has Flight Recorder and the jfr classes
+ * are on the class path, so the game still builds and runs on Java 8, and setting pong.jfr to false leaves them out
+ * altogether. When no recording is running, or a recording has an event turned off, reporting it costs a check of a
+ * flag and allocates nothing: each event class keeps a PROBE instance that is never committed and only asks it whether
+ * the event is enabled before creating one, so even the interpreter, which cannot remove an unused allocation as the
+ * JIT does, allocates nothing while the event is off.
+ *
+ * @see GameEventSink
+ */
+public final class GameEvents {
+    private static final GameEventSink SINK = load();
+
+    private GameEvents() {
+    }
+
+    /**
+     * Creates the sink that reports to Flight Recorder, if it can be used.
+     */
+    private static GameEventSink load() {
+        if (!Boolean.parseBoolean(System.getProperty("pong.jfr", "true"))) {
+            return null;
+        }
+        try {
+            Class.forName("jdk.jfr.Event", false, GameEvents.class.getClassLoader());
+            return (GameEventSink) Class.forName("FlightRecorderSink").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reports a tick that has just finished.
+     *
+     * @param stats The frame statistics, holding how long each phase of the tick took.
+     * @param world The world the tick was played in.
+     */
+    public static void tick(FrameStats stats, PongModel world) {
+        if (SINK != null) {
+            SINK.tick(stats, world);
+        }
+    }
+
+    /**
+     * Reports a ball added to the world.
+     *
+     * @param ball  The new ball.
+     * @param balls The number of balls in the world, including the new one.
+     */
+    public static void ballSpawned(BallModel ball, int balls) {
+        if (SINK != null) {
+            SINK.ballSpawned(ball, balls);
+        }
+    }
+
+    /**
+     * Reports points scored.
+     *
+     * @param scorer     The player who scored.
+     * @param points     The number of points scored at once.
+     * @param leftScore  The left player's score afterwards.
+     * @param rightScore The right player's score afterwards.
+     */
+    public static void scored(BallModel.Owner scorer, int points, int leftScore, int rightScore) {
+        if (SINK != null) {
+            SINK.scored(scorer, points, leftScore, rightScore);
+        }
+    }
+
+    /**
+     * Reports a power-up collected.
+     *
+     * @param type      The kind of power-up.
+     * @param collector The player whose ball collected it.
+     */
+    public static void powerUpCollected(PowerUpModel.Type type, BallModel.Owner collector) {
+        if (SINK != null) {
+            SINK.powerUpCollected(type, collector);
+        }
+    }
+
+    /**
+     * Reports a burst of particles started.
+     *
+     * @param particles The number of particles the burst will spawn.
+     * @param lifespan  The number of frames each particle lives for.
+     */
+    public static void particleBurst(int particles, int lifespan) {
+        if (SINK != null) {
+            SINK.particleBurst(particles, lifespan);
+        }
+    }
+
+    /**
+     * Reports the game moving from one state to another.
+     *
+     * @param from The state left, or null when the game first gets a state.
+     * @param to   The state entered.
+     */
+    public static void stateChanged(Enum<?> from, Enum<?> to) {
+        if (SINK != null) {
+            SINK.stateChanged(from, to);
+        }
+    }
+}
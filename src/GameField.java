@@ -0,0 +1,30 @@
+/**
+ * The GameField interface is the playing field the game's views cover: its size, and the statistics they time their
+ * work into. Pong is the field of the game's window; AllocationGate is a field of a fixed size with no window, so the
+ * same views and the same tick can run on either.
+ *
+ * @see MatchTick
+ */
+public interface GameField {
+
+    /**
+     * Gets the width of the playing field.
+     *
+     * @return The width in pixels.
+     */
+    int getFieldWidth();
+
+    /**
+     * Gets the height of the playing field.
+     *
+     * @return The height in pixels.
+     */
+    int getFieldHeight();
+
+    /**
+     * Gets the timings of every phase of the frames played so far.
+     *
+     * @return The frame statistics.
+     */
+    FrameStats getStats();
+}
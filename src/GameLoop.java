@@ -0,0 +1,154 @@
+/**
+ * The GameLoop class decides how many fixed-length simulation ticks to run for each displayed frame.
+ * Real time since the last frame is added to an accumulator and spent in whole ticks, so the game advances at the
+ * same speed however often frames are delivered. Leftover time is kept for the next frame and reported as an
+ * interpolation factor between the previous and current tick. If a frame arrives very late, only a capped number of
+ * ticks are run to catch up and the rest of the backlog is dropped instead of snowballing.
+ * The loop also measures frame pacing: the mean interval between frames, its jitter, and the worst interval seen.
+ */
+public class GameLoop {
+    private final long tickNanos;
+    private final int maxTicksPerFrame;
+    private long lastFrameTime = -1, accumulator = 0;
+    private long frameCount = 0, tickCount = 0, cappedFrames = 0, droppedNanos = 0;
+    private double meanInterval = 0, intervalVariance = 0;
+    private long maxInterval = 0;
+
+    /**
+     * Constructs a game loop with the given tick rate.
+     *
+     * @param ticksPerSecond    The number of simulation ticks per second of real time.
+     * @param maxTicksPerFrame  The most ticks a single frame may run while catching up.
+     */
+    public GameLoop(int ticksPerSecond, int maxTicksPerFrame) {
+        this.tickNanos = 1_000_000_000L / Math.max(1, ticksPerSecond);
+        this.maxTicksPerFrame = Math.max(1, maxTicksPerFrame);
+    }
+
+    /**
+     * Records a new frame and works out how many ticks it should run.
+     *
+     * @param now The current time in nanoseconds, from System.nanoTime().
+     * @return The number of ticks to run before drawing this frame.
+     */
+    public int advance(long now) {
+        if (lastFrameTime < 0) {
+            // The first frame only starts the clock
+            lastFrameTime = now;
+            return 0;
+        }
+        long interval = now - lastFrameTime;
+        lastFrameTime = now;
+        recordInterval(interval);
+
+        accumulator += interval;
+        int ticks = (int) Math.min(accumulator / tickNanos, maxTicksPerFrame);
+        accumulator -= ticks * tickNanos;
+
+        // Drop whatever backlog the cap could not cover, keeping only the partial tick
+        if (accumulator >= tickNanos) {
+            cappedFrames++;
+            droppedNanos += accumulator - accumulator % tickNanos;
+            accumulator %= tickNanos;
+        }
+        tickCount += ticks;
+        return ticks;
+    }
+
+    /**
+     * Gets how far the current frame lies between the previous tick and the current one.
+     *
+     * @return A value from 0 (previous tick) up to 1 (current tick).
+     */
+    public double getAlpha() {
+        return accumulator / (double) tickNanos;
+    }
+
+    /**
+     * Gets the length of a single tick.
+     *
+     * @return The tick length in nanoseconds.
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Gets the number of frames recorded so far.
+     *
+     * @return The frame count.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Gets the number of ticks run so far.
+     *
+     * @return The tick count.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Gets the number of frames that hit the catch-up cap.
+     *
+     * @return The number of capped frames.
+     */
+    public long getCappedFrames() {
+        return cappedFrames;
+    }
+
+    /**
+     * Gets the mean time between frames.
+     *
+     * @return The mean frame interval in milliseconds.
+     */
+    public double getMeanIntervalMillis() {
+        return meanInterval / 1e6;
+    }
+
+    /**
+     * Gets the frame jitter, measured as the standard deviation of the time between frames.
+     *
+     * @return The frame jitter in milliseconds.
+     */
+    public double getJitterMillis() {
+        return frameCount > 1 ? Math.sqrt(intervalVariance / (frameCount - 1)) / 1e6 : 0;
+    }
+
+    /**
+     * Gets the longest time between two frames.
+     *
+     * @return The longest frame interval in milliseconds.
+     */
+    public double getMaxIntervalMillis() {
+        return maxInterval / 1e6;
+    }
+
+    /**
+     * Describes the frame pacing measured so far.
+     *
+     * @return A one-line summary of the loop statistics.
+     */
+    @Override
+    public String toString() {
+        return String.format("frames=%d ticks=%d tick=%.2fms interval mean=%.2fms jitter=%.2fms max=%.2fms capped=%d dropped=%.1fms",
+                frameCount, tickCount, tickNanos / 1e6, getMeanIntervalMillis(), getJitterMillis(),
+                getMaxIntervalMillis(), cappedFrames, droppedNanos / 1e6);
+    }
+
+    /**
+     * Adds a frame interval to the running mean and variance.
+     *
+     * @param interval The time since the previous frame in nanoseconds.
+     */
+    private void recordInterval(long interval) {
+        frameCount++;
+        double delta = interval - meanInterval;
+        meanInterval += delta / frameCount;
+        intervalVariance += delta * (interval - meanInterval);
+        maxInterval = Math.max(maxInterval, interval);
+    }
+}
@@ -0,0 +1,119 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The GlyphAtlas class rasterizes every printable ASCII character of a font once, side by side in one image, so text
+ * can be drawn by copying each character's cell instead of laying the text out and rasterizing it again. Characters
+ * outside printable ASCII are drawn as '?'.
+ *
+ * Each cell is the width of its character's advance plus PADDING on either side, so parts of a glyph that reach past
+ * its advance, as italic and rounded letters do, are kept. Characters are placed one advance after another with no
+ * kerning.
+ *
+ * @see TextLine
+ */
+public class GlyphAtlas {
+    private static final int FIRST = 32, LAST = 126, PADDING = 4;
+    private final BufferedImage image;
+    private final int[] cellX = new int[LAST - FIRST + 1], advance = new int[LAST - FIRST + 1];
+    private final int ascent, height;
+
+    /**
+     * Rasterizes a font in a single color.
+     *
+     * @param font  The font, at the size it will be drawn at.
+     * @param color The color to draw the characters in.
+     */
+    public GlyphAtlas(Font font, Color color) {
+        // Measure every character on a scratch image
+        Graphics2D scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        FontMetrics metrics = scratch.getFontMetrics(font);
+        scratch.dispose();
+        ascent = metrics.getAscent();
+        height = metrics.getAscent() + metrics.getDescent();
+        int width = 0;
+        for (int c = FIRST; c <= LAST; c++) {
+            cellX[c - FIRST] = width;
+            advance[c - FIRST] = metrics.charWidth((char) c);
+            width += advance[c - FIRST] + 2 * PADDING;
+        }
+
+        image = Sprite.createCompatibleImage(width, height + 2 * PADDING);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(color);
+        for (int c = FIRST; c <= LAST; c++) {
+            g.drawString(String.valueOf((char) c), cellX[c - FIRST] + PADDING, PADDING + ascent);
+        }
+        g.dispose();
+    }
+
+    /**
+     * Finds the index of the cell a character is drawn from.
+     */
+    private static int cell(char c) {
+        return c >= FIRST && c <= LAST ? c - FIRST : '?' - FIRST;
+    }
+
+    /**
+     * Draws characters with the top of the line at a point.
+     *
+     * @param g      The graphics context.
+     * @param text   The text to take the characters from.
+     * @param length The number of characters to draw from the start of the text.
+     * @param x      The x-coordinate of the start of the line.
+     * @param y      The y-coordinate of the top of the line.
+     */
+    public void draw(Graphics g, CharSequence text, int length, int x, int y) {
+        for (int i = 0; i < length; i++) {
+            int cell = cell(text.charAt(i));
+            int sx = cellX[cell], sw = advance[cell] + 2 * PADDING, sh = height + 2 * PADDING;
+            g.drawImage(image, x - PADDING, y - PADDING, x - PADDING + sw, y - PADDING + sh,
+                    sx, 0, sx + sw, sh, null);
+            x += advance[cell];
+        }
+    }
+
+    /**
+     * Measures the width of characters drawn one after another.
+     *
+     * @param text   The text to take the characters from.
+     * @param length The number of characters to measure from the start of the text.
+     * @return The width in pixels.
+     */
+    public int getWidth(CharSequence text, int length) {
+        int width = 0;
+        for (int i = 0; i < length; i++) {
+            width += advance[cell(text.charAt(i))];
+        }
+        return width;
+    }
+
+    /**
+     * Gets the height of a line of text, from the top of the tallest character to the bottom of the lowest.
+     *
+     * @return The line height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the distance from the top of a line to its baseline.
+     *
+     * @return The ascent.
+     */
+    public int getAscent() {
+        return ascent;
+    }
+
+    /**
+     * Gets how far a character can be drawn outside its line on any side.
+     *
+     * @return The padding around every cell.
+     */
+    public int getPadding() {
+        return PADDING;
+    }
+}
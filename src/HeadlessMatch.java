@@ -0,0 +1,142 @@
+/**
+ * The HeadlessMatch class plays a whole match of Pong with no window.
+ * Both paddles are driven by the same computer player the main menu uses in its attract mode, and the world is
+ * stepped tick by tick as fast as the CPU allows. It can be run on its own to check how quickly the simulation runs:
+ *
+ *     java -Djava.awt.headless=true -cp out HeadlessMatch [matches] [maxTicks]
+ */
+public class HeadlessMatch implements MatchScheduler.Match {
+    public static final int FIELD_WIDTH = 1264, FIELD_HEIGHT = 681, DEFAULT_MAX_TICKS = 1_000_000;
+    private final PongModel world;
+    private final int maxTicks;
+    private int ticks;
+    private BallModel.Owner winner = BallModel.Owner.NONE;
+
+    /**
+     * Constructs a match on a field the size of the game window.
+     *
+     * @param maxTicks The number of ticks after which the match is abandoned without a winner.
+     */
+    public HeadlessMatch(int maxTicks) {
+        this(FIELD_WIDTH, FIELD_HEIGHT, maxTicks);
+    }
+
+    /**
+     * Constructs a match on a field of the given size.
+     *
+     * @param fieldWidth  The width of the playing field.
+     * @param fieldHeight The height of the playing field.
+     * @param maxTicks    The number of ticks after which the match is abandoned without a winner.
+     */
+    public HeadlessMatch(int fieldWidth, int fieldHeight, int maxTicks) {
+        this(new PongModel(fieldWidth, fieldHeight), maxTicks);
+    }
+
+    /**
+     * Constructs a match on a field of the given size that always plays out the same way for the same seed.
+     *
+     * @param fieldWidth  The width of the playing field.
+     * @param fieldHeight The height of the playing field.
+     * @param maxTicks    The number of ticks after which the match is abandoned without a winner.
+     * @param seed        The seed of the world's random number generator.
+     */
+    public HeadlessMatch(int fieldWidth, int fieldHeight, int maxTicks, long seed) {
+        this(new PongModel(fieldWidth, fieldHeight, seed), maxTicks);
+    }
+
+    private HeadlessMatch(PongModel world, int maxTicks) {
+        this.world = world;
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * Runs a single tick of the match, in the same order as the main menu's attract mode.
+     *
+     * @return True once the match is over, either won or abandoned.
+     */
+    @Override
+    public boolean tick() {
+        if (isOver()) {
+            return true;
+        }
+        world.storePreviousPositions();
+        world.update(true);
+        world.advanceClock();
+        world.idle();
+        winner = world.checkForWin();
+        world.move();
+        ticks++;
+        return isOver();
+    }
+
+    /**
+     * Runs ticks until the match is over.
+     *
+     * @return The winning side, or NONE if the match was abandoned.
+     */
+    public BallModel.Owner play() {
+        while (!tick()) {
+            // Keep going until someone wins or the tick limit is reached
+        }
+        return winner;
+    }
+
+    /**
+     * Checks if the match is over.
+     *
+     * @return True if a side has won or the tick limit has been reached.
+     */
+    public boolean isOver() {
+        return winner != BallModel.Owner.NONE || ticks >= maxTicks;
+    }
+
+    /**
+     * Gets the winning side.
+     *
+     * @return LEFT or RIGHT for the winning side, or NONE if nobody has won yet.
+     */
+    public BallModel.Owner getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the number of ticks played so far.
+     *
+     * @return The tick count.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the simulated world the match is played in.
+     *
+     * @return The world.
+     */
+    public PongModel getWorld() {
+        return world;
+    }
+
+    /**
+     * Plays a number of matches one after another and reports how fast the simulation ran.
+     *
+     * @param args The number of matches to play and the tick limit of each, both optional.
+     */
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TICKS;
+
+        long totalTicks = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < matches; i++) {
+            HeadlessMatch match = new HeadlessMatch(maxTicks);
+            BallModel.Owner winner = match.play();
+            PongModel world = match.getWorld();
+            System.out.println("Match " + (i + 1) + ": " + winner + " after " + match.getTicks() + " ticks ("
+                    + world.getLeftScore() + " - " + world.getRightScore() + ")");
+            totalTicks += match.getTicks();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d ticks in %.2f s (%.0f ticks/s)%n", totalTicks, seconds, totalTicks / seconds);
+    }
+}
@@ -0,0 +1,127 @@
+import java.util.Arrays;
+
+/**
+ * The Histogram class counts durations in a fixed set of buckets, so recording one never allocates.
+ * Buckets are log-linear: every power of two is split into eight equal buckets, so any recorded value is known to
+ * within an eighth of itself, from a nanosecond up to centuries, in 512 counters. Percentiles are read back as the
+ * upper end of the bucket they fall in; the maximum is kept exactly.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 3, SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+    private long count, total, max;
+
+    /**
+     * Records a value.
+     *
+     * @param value The value, such as a duration in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts[bucket(v)]++;
+        count++;
+        total += v;
+        if (v > max) {
+            max = v;
+        }
+    }
+
+    /**
+     * Finds the bucket a value is counted in.
+     * Values below SUB_BUCKETS get a bucket each; above that, the position of the highest set bit picks the power of
+     * two and the next three bits pick the eighth of it.
+     */
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Gets the largest value counted in a bucket.
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int group = bucket / SUB_BUCKETS, sub = bucket % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (group - 1);
+        return lower + (1L << (group - 1)) - 1;
+    }
+
+    /**
+     * Gets a percentile of the recorded values.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return A value at least as large as that percentile of the recorded values, and within an eighth of it, or 0
+     * if nothing has been recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @return The mean, or 0 if nothing has been recorded.
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Gets the largest value recorded.
+     *
+     * @return The maximum, or 0 if nothing has been recorded.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Adds every value recorded by another histogram to this one.
+     *
+     * @param other The histogram to add.
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+}
@@ -0,0 +1,82 @@
+import csta.ibm.pong.GameObject;
+
+import java.awt.*;
+
+/**
+ * The Hud class draws the score at the top of the field in the game's font, straight onto the game's window.
+ * The score is drawn from a GlyphAtlas into a TextLine, so it is only rasterized when it changes, and the HUD only
+ * asks for the region of the score to be repainted when the score or the size of the field changes.
+ */
+public class Hud extends GameObject {
+    private static final String SCORE_GAP = "     ";
+    private static final int SCORE_TOP = 20;
+    private final GameField game;
+    private final TextLine score;
+    private final StringBuilder scoreText = new StringBuilder();
+    private final Rectangle drawn = new Rectangle();
+    private int leftScore = -1, rightScore = -1, scoreX, scoreY;
+
+    /**
+     * Constructs the HUD for a field, showing a score of 0 to 0.
+     *
+     * @param game The field the HUD covers.
+     * @param font The font to draw the score in, at the size to draw it.
+     */
+    public Hud(GameField game, Font font) {
+        this.game = game;
+        score = new TextLine(new GlyphAtlas(font, Color.WHITE));
+        setScore(0, 0);
+        act();
+    }
+
+    /**
+     * Sets the score shown, drawing it again only if it has changed.
+     *
+     * @param left  The left player's score.
+     * @param right The right player's score.
+     */
+    public void setScore(int left, int right) {
+        if (left == leftScore && right == rightScore) {
+            return;
+        }
+        leftScore = left;
+        rightScore = right;
+        scoreText.setLength(0);
+        scoreText.append(left).append(SCORE_GAP).append(right);
+        score.setText(scoreText);
+        place();
+    }
+
+    /**
+     * Keeps the HUD the size of the field.
+     */
+    @Override
+    public void act() {
+        if (getWidth() != game.getFieldWidth() || getHeight() != game.getFieldHeight()) {
+            setSize(game.getFieldWidth(), game.getFieldHeight());
+            place();
+        }
+    }
+
+    /**
+     * Centres the score in the band at the top of the field and repaints it where it was and where it is now.
+     */
+    private void place() {
+        // The band is a tenth of the field high, as the score label was
+        scoreX = (game.getFieldWidth() - score.getWidth()) / 2;
+        scoreY = SCORE_TOP + (game.getFieldHeight() / 10 - score.getHeight()) / 2;
+        repaint(drawn);
+        score.getBounds(scoreX, scoreY, drawn);
+        repaint(drawn);
+    }
+
+    /**
+     * Draws the score.
+     *
+     * @param g The graphics context.
+     */
+    @Override
+    public void paint(Graphics g) {
+        score.draw(g, scoreX, scoreY);
+    }
+}
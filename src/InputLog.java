@@ -0,0 +1,142 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The InputLog class reads back a match recorded by an InputRecorder.
+ * The file is memory-mapped, so looking up the input of any tick or the keyframe before it is a couple of reads from
+ * memory, and a replay can start from any tick by restoring the nearest keyframe and playing on from there.
+ *
+ * @see InputRecorder
+ */
+public class InputLog implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long seed, ticks;
+    private final int keyframeInterval;
+    private final int[] keyframes;
+
+    /**
+     * Opens a recording.
+     *
+     * @param file The file to read.
+     * @throws IOException If the file cannot be read or is not a recording this version of the game understands.
+     */
+    public InputLog(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.capacity() < InputRecorder.HEADER_SIZE || buffer.getInt(0) != InputRecorder.MAGIC) {
+            channel.close();
+            throw new IOException("Not a Pong recording: " + file);
+        }
+        if (buffer.getInt(4) != InputRecorder.VERSION) {
+            channel.close();
+            throw new IOException("Unsupported recording version " + buffer.getInt(4) + ": " + file);
+        }
+        seed = buffer.getLong(InputRecorder.SEED_OFFSET);
+        keyframeInterval = buffer.getInt(InputRecorder.INTERVAL_OFFSET);
+        ticks = buffer.getLong(InputRecorder.TICKS_OFFSET);
+
+        // Walk the segments once to find where each keyframe starts
+        int end = buffer.getInt(InputRecorder.END_OFFSET);
+        int words = InputRecorder.wordsPerSegment(keyframeInterval);
+        int count = 0;
+        for (int at = InputRecorder.HEADER_SIZE; at < end; at += 4 + buffer.getInt(at) + words * 8) {
+            count++;
+        }
+        keyframes = new int[count];
+        for (int i = 0, at = InputRecorder.HEADER_SIZE; i < count; at += 4 + buffer.getInt(at) + words * 8, i++) {
+            keyframes[i] = at;
+        }
+    }
+
+    /**
+     * Gets the keys held during a tick.
+     *
+     * @param tick The tick, counted from the start of the recording.
+     * @return The input, as a combination of InputRecorder.LEFT_UP, LEFT_DOWN, RIGHT_UP, RIGHT_DOWN, and SPACE.
+     */
+    public int getInput(long tick) {
+        int segment = (int) (tick / keyframeInterval), slot = (int) (tick % keyframeInterval);
+        int at = keyframes[segment] + 4 + buffer.getInt(keyframes[segment]) + slot / InputRecorder.TICKS_PER_WORD * 8;
+        long shift = slot % InputRecorder.TICKS_PER_WORD * InputRecorder.BITS_PER_TICK;
+        return (int) (buffer.getLong(at) >>> shift) & InputRecorder.INPUT_MASK;
+    }
+
+    /**
+     * Puts a world back to the last keyframe at or before a tick.
+     *
+     * @param tick  The tick to seek to.
+     * @param world The world to restore.
+     * @return The tick of the keyframe restored, from which the replay carries on.
+     * @see PongModel#readState(ByteBuffer)
+     */
+    public long restore(long tick, PongModel world) {
+        int segment = (int) Math.max(0, Math.min(tick / keyframeInterval, keyframes.length - 1));
+        world.readState(getKeyframe(segment));
+        return (long) segment * keyframeInterval;
+    }
+
+    /**
+     * Gets a keyframe as it was written, such as to check that a replay has not drifted from the recording.
+     *
+     * @param index The index of the keyframe; keyframe i holds the world at tick i * getKeyframeInterval().
+     * @return A read-only buffer holding the keyframe.
+     */
+    public ByteBuffer getKeyframe(int index) {
+        ByteBuffer keyframe = buffer.duplicate();
+        keyframe.position(keyframes[index] + 4);
+        keyframe.limit(keyframes[index] + 4 + buffer.getInt(keyframes[index]));
+        return keyframe.slice();
+    }
+
+    /**
+     * Gets the number of keyframes in the recording.
+     *
+     * @return The keyframe count.
+     */
+    public int getKeyframeCount() {
+        return keyframes.length;
+    }
+
+    /**
+     * Gets the number of ticks between keyframes.
+     *
+     * @return The keyframe interval.
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * Gets the seed the recorded match was started from.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of ticks recorded.
+     *
+     * @return The tick count.
+     */
+    public long getTickCount() {
+        return ticks;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
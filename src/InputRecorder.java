@@ -0,0 +1,133 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The InputRecorder class records a match as the keys held on every tick, so an InputLog can replay it exactly.
+ * Every random choice in a match comes from the world's seeded streams, so the state the match starts from and the
+ * input of each tick decide everything that happens in it.
+ *
+ * Each tick's input is packed into 5 bits, twelve ticks to a long, and written straight into a memory-mapped file, so
+ * recording a tick costs a few shifts and stores and no system calls on the game thread. The file is only mapped again,
+ * a megabyte at a time, when it fills up. The tick count in the header is updated every tick as well, so a recording
+ * that was never closed, such as when the game was killed, can still be replayed up to its last tick.
+ *
+ * Every keyframeInterval ticks the whole state of the world is written as a keyframe, so a replay can start from any
+ * keyframe instead of from the first tick. The file starts with a header of HEADER_SIZE bytes holding MAGIC, VERSION,
+ * the seed of the match, the keyframe interval, the tick count, and the end of the data. One segment per keyframe
+ * interval follows, each holding the length of its keyframe, the keyframe, and the packed input of its ticks.
+ */
+public class InputRecorder implements Closeable {
+    public static final int LEFT_UP = 1, LEFT_DOWN = 2, RIGHT_UP = 4, RIGHT_DOWN = 8, SPACE = 16;
+    public static final int BITS_PER_TICK = 5, TICKS_PER_WORD = 12, INPUT_MASK = (1 << BITS_PER_TICK) - 1;
+    public static final int MAGIC = 0x504F4E47, VERSION = 1, HEADER_SIZE = 32, DEFAULT_KEYFRAME_INTERVAL = 600;
+    static final int SEED_OFFSET = 8, INTERVAL_OFFSET = 16, TICKS_OFFSET = 20, END_OFFSET = 28;
+    private static final int MAP_CHUNK = 1 << 20;
+    private final FileChannel channel;
+    private final int keyframeInterval;
+    private MappedByteBuffer buffer;
+    private long ticks;
+    private int end, wordsStart;
+
+    /**
+     * Creates a recording, replacing any file already at the path.
+     *
+     * @param file             The file to record to.
+     * @param seed             The seed the match was started from, kept in the header for reference.
+     * @param keyframeInterval The number of ticks between keyframes; a multiple of TICKS_PER_WORD wastes no space.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    public InputRecorder(Path file, long seed, int keyframeInterval) throws IOException {
+        this.keyframeInterval = keyframeInterval;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, MAP_CHUNK);
+        end = HEADER_SIZE;
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putLong(SEED_OFFSET, seed).putInt(INTERVAL_OFFSET, keyframeInterval)
+                .putLong(TICKS_OFFSET, 0).putInt(END_OFFSET, end);
+    }
+
+    /**
+     * Gets the number of longs each segment sets aside for the input of its ticks.
+     *
+     * @param keyframeInterval The number of ticks between keyframes.
+     * @return The number of longs per segment.
+     */
+    static int wordsPerSegment(int keyframeInterval) {
+        return (keyframeInterval + TICKS_PER_WORD - 1) / TICKS_PER_WORD;
+    }
+
+    /**
+     * Records the input of the next tick. Called before the tick runs, so a keyframe holds the world as the tick finds
+     * it.
+     *
+     * @param input The keys held during the tick, as a combination of LEFT_UP, LEFT_DOWN, RIGHT_UP, RIGHT_DOWN, and
+     *              SPACE.
+     * @param world The world being recorded, written as a keyframe at the start of each segment.
+     * @throws IOException If the file had to grow and could not be mapped again.
+     */
+    public void record(int input, PongModel world) throws IOException {
+        int slot = (int) (ticks % keyframeInterval);
+        if (slot == 0) {
+            writeKeyframe(world);
+        }
+        // The mapped file starts out zeroed, so the input only has to be or-ed into its word
+        int at = wordsStart + slot / TICKS_PER_WORD * 8;
+        long shift = slot % TICKS_PER_WORD * BITS_PER_TICK;
+        buffer.putLong(at, buffer.getLong(at) | (long) (input & INPUT_MASK) << shift);
+        buffer.putLong(TICKS_OFFSET, ++ticks);
+    }
+
+    /**
+     * Starts a new segment with a keyframe of the world.
+     */
+    private void writeKeyframe(PongModel world) throws IOException {
+        int size = world.getStateSize();
+        int words = wordsPerSegment(keyframeInterval);
+        ensureMapped(end + 4 + size + words * 8);
+        buffer.putInt(end, size);
+        buffer.position(end + 4);
+        world.writeState(buffer);
+        wordsStart = end + 4 + size;
+        end = wordsStart + words * 8;
+        buffer.putInt(END_OFFSET, end);
+    }
+
+    /**
+     * Maps more of the file if the mapped part ends before the given position.
+     */
+    private void ensureMapped(int position) throws IOException {
+        if (position > buffer.capacity()) {
+            long size = ((long) position + MAP_CHUNK - 1) / MAP_CHUNK * MAP_CHUNK;
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Gets the number of ticks recorded.
+     *
+     * @return The tick count.
+     */
+    public long getTickCount() {
+        return ticks;
+    }
+
+    /**
+     * Writes the recording out to disk and closes the file, cutting it down to the data recorded.
+     *
+     * @throws IOException If the file cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        try {
+            channel.truncate(end);
+        } catch (IOException e) {
+            // Some systems cannot shrink a file while it is mapped; the header still says where the data ends
+        }
+        channel.close();
+    }
+}
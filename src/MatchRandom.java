@@ -0,0 +1,118 @@
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * The MatchRandom class holds every random number stream used by one match, all derived from a single seed.
+ * Each part of the match draws from its own stream, so a change in how many numbers one part draws, such as more
+ * particles being sprayed at a higher frame rate, never changes what the others draw. Two matches created with the same
+ * seed and given the same input play out exactly the same.
+ */
+public class MatchRandom {
+    public static final int STATE_SIZE = 4 * 8;
+    private final long seed;
+    private final RandomStream balls, powerUps, swarm, effects;
+
+    /**
+     * Constructs the streams of a match with a seed of its own, for when the match does not need to be reproduced.
+     * The seed can still be read back with getSeed.
+     */
+    public MatchRandom() {
+        this(newSeed());
+    }
+
+    /**
+     * Constructs the streams of a match from a seed.
+     *
+     * @param seed The seed of the match.
+     */
+    public MatchRandom(long seed) {
+        this.seed = seed;
+        // Each stream's seed is drawn in a fixed order, so the same match seed always gives the same streams
+        SplittableRandom root = new SplittableRandom(seed);
+        balls = new RandomStream(root.nextLong());
+        powerUps = new RandomStream(root.nextLong());
+        swarm = new RandomStream(root.nextLong());
+        effects = new RandomStream(root.nextLong());
+    }
+
+    /**
+     * Picks a seed for a match that does not need to be reproduced.
+     * SplittableRandom seeds each new generator differently, even when created on several threads at once.
+     *
+     * @return A new seed.
+     */
+    public static long newSeed() {
+        return new SplittableRandom().nextLong();
+    }
+
+    /**
+     * Gets the seed of the match.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the stream for spawning balls and the jitter of their bounces.
+     *
+     * @return The ball stream.
+     */
+    public RandomStream balls() {
+        return balls;
+    }
+
+    /**
+     * Gets the stream for the type and placement of power-ups.
+     *
+     * @return The power-up stream.
+     */
+    public RandomStream powerUps() {
+        return powerUps;
+    }
+
+    /**
+     * Gets the stream for the balls of the infinity-mode swarm.
+     *
+     * @return The swarm stream.
+     */
+    public RandomStream swarm() {
+        return swarm;
+    }
+
+    /**
+     * Gets the stream for particles and other effects that do not change the outcome of the match.
+     *
+     * @return The effects stream.
+     */
+    public RandomStream effects() {
+        return effects;
+    }
+
+    /**
+     * Writes the seed and how far each stream has been drawn from, such as for a replay keyframe.
+     * The effects stream is left out, since it never changes the outcome of the match and a replay with no window draws
+     * nothing from it; it starts again from its seed when the state is read.
+     *
+     * @param out The buffer to write STATE_SIZE bytes of state to.
+     */
+    public void writeState(ByteBuffer out) {
+        out.putLong(seed);
+        out.putLong(balls.getDraws()).putLong(powerUps.getDraws()).putLong(swarm.getDraws());
+    }
+
+    /**
+     * Rebuilds the streams of a match at the point a state was written by writeState.
+     *
+     * @param in The buffer to read STATE_SIZE bytes of state from.
+     * @return The streams, each but the effects stream rewound to where it was.
+     */
+    public static MatchRandom readState(ByteBuffer in) {
+        MatchRandom random = new MatchRandom(in.getLong());
+        random.balls.rewind(in.getLong());
+        random.powerUps.rewind(in.getLong());
+        random.swarm.rewind(in.getLong());
+        return random;
+    }
+}
@@ -0,0 +1,378 @@
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The MatchScheduler class ticks many independent matches at a fixed rate in one process, such as every game an
+ * arcade backend is hosting. It can be run on its own to see how many matches a machine can hold:
+ *
+ *     java -Djava.awt.headless=true -cp out MatchScheduler [matches] [threads] [seconds]
+ *
+ * Matches are sharded onto a fixed set of threads, one per core unless told otherwise, and every match stays on the
+ * thread it was given, so its world is only ever touched by one thread. A new match goes to the shard with the least
+ * work. Within a shard each match is given its own offset into the tick, spread evenly over it, and the shard ticks
+ * its matches one after another as each comes due. The work of a tick is spread over the whole of it instead of every
+ * match coming due at once, so a tick is late by about the cost of a tick or two of one match rather than of the
+ * whole shard, however many matches the shard holds.
+ *
+ * That holds while a shard has time to spare, so the scheduler turns matches away once the least busy shard would
+ * spend more than MAX_LOAD of every tick working with one more match, going by how long its ticks have taken so far.
+ * If a shard falls behind anyway, such as when the machine is busy with something else, it runs at most
+ * MAX_CATCH_UP_TICKS ticks late and skips the rest of the backlog, as the game loop does.
+ *
+ * How late each match's latest tick started is kept on its Handle, and how long after it was due every tick finished
+ * is counted in a Histogram, whose percentiles are what to watch as the number of matches grows.
+ *
+ * @see Tournament
+ */
+public class MatchScheduler implements Closeable {
+    public static final int MAX_CATCH_UP_TICKS = 5;
+    public static final double MAX_LOAD = 0.75;
+    // The golden ratio's fractional part, which spreads any number of offsets evenly over a tick
+    private static final double OFFSET_STEP = 0.6180339887498949;
+    // How much a new tick's cost counts towards the running mean a shard's load is worked out from
+    private static final double COST_WEIGHT = 0.01;
+    // The share of a tick a match is taken to cost before a shard has timed any, so a burst of new matches is not
+    // all put on a shard that has not measured anything yet
+    private static final double ASSUMED_COST = 0.01;
+    private final long tickNanos;
+    private final Shard[] shards;
+
+    /**
+     * A match the scheduler can tick.
+     */
+    public interface Match {
+        /**
+         * Runs a single tick of the match.
+         *
+         * @return True once the match is over, after which it is not ticked again.
+         */
+        boolean tick();
+    }
+
+    /**
+     * A match being ticked, and how far behind it is.
+     */
+    public static class Handle {
+        private final Match match;
+        private final long offset;
+        private volatile long lag;
+        private volatile long ticks;
+        private volatile boolean finished;
+
+        private Handle(Match match, long offset) {
+            this.match = match;
+            this.offset = offset;
+        }
+
+        /**
+         * Gets the match.
+         *
+         * @return The match.
+         */
+        public Match getMatch() {
+            return match;
+        }
+
+        /**
+         * Gets how late the match's latest tick started.
+         *
+         * @return The lag in nanoseconds.
+         */
+        public long getLag() {
+            return lag;
+        }
+
+        /**
+         * Gets the number of ticks the match has run.
+         *
+         * @return The tick count.
+         */
+        public long getTicks() {
+            return ticks;
+        }
+
+        /**
+         * Checks if the match is over and no longer ticked.
+         *
+         * @return True once the match has finished or the scheduler has been closed.
+         */
+        public boolean isFinished() {
+            return finished;
+        }
+    }
+
+    /**
+     * Constructs a scheduler with one thread per core.
+     *
+     * @param tickRate The number of ticks every match runs per second.
+     */
+    public MatchScheduler(int tickRate) {
+        this(tickRate, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a scheduler with a fixed number of threads.
+     *
+     * @param tickRate The number of ticks every match runs per second.
+     * @param threads  The number of threads to shard the matches onto.
+     */
+    public MatchScheduler(int tickRate, int threads) {
+        tickNanos = 1_000_000_000L / Math.max(1, tickRate);
+        shards = new Shard[Math.max(1, threads)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i);
+            shards[i].start();
+        }
+    }
+
+    /**
+     * Starts ticking a match on the shard with the least work, unless every shard is too busy to take it.
+     *
+     * @param match The match.
+     * @return The match's handle, or null if the match was turned away.
+     */
+    public Handle add(Match match) {
+        Shard best = null;
+        double bestLoad = Double.MAX_VALUE;
+        for (Shard shard : shards) {
+            double load = shard.getLoad(1);
+            if (load < bestLoad) {
+                best = shard;
+                bestLoad = load;
+            }
+        }
+        if (best == null || bestLoad > MAX_LOAD) {
+            return null;
+        }
+        return best.add(match);
+    }
+
+    /**
+     * Gets the number of matches being ticked.
+     *
+     * @return The match count, including matches added but not ticked yet.
+     */
+    public int getMatchCount() {
+        int matches = 0;
+        for (Shard shard : shards) {
+            matches += shard.matchCount.get();
+        }
+        return matches;
+    }
+
+    /**
+     * Gets the number of ticks skipped by shards that fell too far behind.
+     *
+     * @return The number of ticks skipped, summed over every match.
+     */
+    public long getSkippedTicks() {
+        long skipped = 0;
+        for (Shard shard : shards) {
+            skipped += shard.skippedTicks;
+        }
+        return skipped;
+    }
+
+    /**
+     * Gets the share of every tick the busiest shard is expected to spend working.
+     *
+     * @return The load, where 1 means the shard is busy the whole time.
+     */
+    public double getLoad() {
+        double load = 0;
+        for (Shard shard : shards) {
+            load = Math.max(load, shard.getLoad(0));
+        }
+        return load;
+    }
+
+    /**
+     * Copies how long after it was due every tick since the last call finished, and starts counting again.
+     *
+     * @param into The histogram to add the latencies to, in nanoseconds.
+     */
+    public void drainLatency(Histogram into) {
+        for (Shard shard : shards) {
+            synchronized (shard.latency) {
+                into.add(shard.latency);
+                shard.latency.reset();
+            }
+        }
+    }
+
+    /**
+     * Stops every shard, waiting for the ticks they are running to finish.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * A thread that ticks its own set of matches, each at its own offset into the tick.
+     *
+     * The matches are kept in order of offset, so within a round of ticks they come due one after another and the
+     * shard only ever waits on the next one. Every match's next tick is due at the start of the round plus its offset.
+     */
+    private class Shard extends Thread {
+        private final ArrayList<Handle> matches = new ArrayList<>();
+        private final ConcurrentLinkedQueue<Handle> added = new ConcurrentLinkedQueue<>();
+        private final Histogram latency = new Histogram();
+        private volatile boolean running = true;
+        private final AtomicInteger matchCount = new AtomicInteger();
+        private volatile long skippedTicks;
+        private volatile double meanCost = ASSUMED_COST * tickNanos;
+        private int addedCount;
+
+        private Shard(int index) {
+            super("Match shard " + index);
+            setDaemon(true);
+        }
+
+        /**
+         * Works out the share of every tick the shard would spend working with more matches than it has.
+         */
+        private double getLoad(int extraMatches) {
+            return meanCost * (matchCount.get() + extraMatches) / tickNanos;
+        }
+
+        /**
+         * Queues a match for the shard to take on at the start of its next round.
+         */
+        private synchronized Handle add(Match match) {
+            long offset = (long) (addedCount++ * OFFSET_STEP % 1 * tickNanos);
+            Handle handle = new Handle(match, offset);
+            matchCount.incrementAndGet();
+            added.add(handle);
+            LockSupport.unpark(this);
+            return handle;
+        }
+
+        @Override
+        public void run() {
+            long roundStart = System.nanoTime();
+            int next = 0;
+            while (running) {
+                if (next == 0) {
+                    takeAdded();
+                }
+                if (matches.isEmpty()) {
+                    // Wait for a match, then start the rounds from now
+                    LockSupport.parkNanos(this, tickNanos);
+                    roundStart = System.nanoTime();
+                    continue;
+                }
+
+                Handle handle = matches.get(next);
+                long due = roundStart + handle.offset, now = System.nanoTime();
+                if (due > now) {
+                    // Parking can end early, so check again before ticking
+                    LockSupport.parkNanos(this, due - now);
+                    continue;
+                }
+                if (now - due > MAX_CATCH_UP_TICKS * tickNanos) {
+                    // Skip the backlog beyond what may be caught up, moving every match's next tick along with it
+                    long behind = (now - due) / tickNanos - MAX_CATCH_UP_TICKS;
+                    roundStart += behind * tickNanos;
+                    due += behind * tickNanos;
+                    skippedTicks += behind * matches.size();
+                }
+
+                handle.lag = now - due;
+                boolean over = handle.match.tick();
+                long end = System.nanoTime();
+                handle.ticks++;
+                meanCost += (end - now - meanCost) * COST_WEIGHT;
+                synchronized (latency) {
+                    latency.record(end - due);
+                }
+
+                if (over) {
+                    handle.finished = true;
+                    matches.remove(next);
+                    matchCount.decrementAndGet();
+                } else {
+                    next++;
+                }
+                if (next >= matches.size()) {
+                    next = 0;
+                    roundStart += tickNanos;
+                }
+            }
+            for (Handle handle : matches) {
+                handle.finished = true;
+            }
+        }
+
+        /**
+         * Takes on the matches added since the last round, keeping the matches in order of offset.
+         */
+        private void takeAdded() {
+            Handle handle;
+            while ((handle = added.poll()) != null) {
+                int at = matches.size();
+                while (at > 0 && matches.get(at - 1).offset > handle.offset) {
+                    at--;
+                }
+                matches.add(at, handle);
+            }
+        }
+    }
+
+    /**
+     * Hosts a number of matches of computer-versus-computer Pong, replacing each one that ends, and reports every
+     * second how late their ticks ran.
+     *
+     * @param args The number of matches, the number of threads, and the number of seconds to run for, all optional.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int target = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        MatchScheduler scheduler = new MatchScheduler(50, threads);
+        ArrayList<Handle> handles = new ArrayList<>();
+        Histogram latency = new Histogram();
+        int turnedAway = 0;
+        for (int second = 1; second <= seconds; second++) {
+            // Replace the matches that have ended
+            handles.removeIf(Handle::isFinished);
+            while (handles.size() < target) {
+                Handle handle = scheduler.add(new HeadlessMatch(HeadlessMatch.DEFAULT_MAX_TICKS));
+                if (handle == null) {
+                    turnedAway++;
+                    break;
+                }
+                handles.add(handle);
+            }
+            Thread.sleep(1000);
+
+            long maxLag = 0;
+            for (Handle handle : handles) {
+                maxLag = Math.max(maxLag, handle.getLag());
+            }
+            scheduler.drainLatency(latency);
+            System.out.printf("%3d s: %d matches, load %.2f, tick latency p50 %.2f ms, p99 %.2f ms, max %.2f ms, "
+                            + "worst lag %.2f ms, %d ticks skipped, %d turned away%n", second,
+                    scheduler.getMatchCount(), scheduler.getLoad(), latency.getPercentile(50) / 1e6,
+                    latency.getPercentile(99) / 1e6, latency.getMax() / 1e6, maxLag / 1e6,
+                    scheduler.getSkippedTicks(), turnedAway);
+            latency.reset();
+        }
+        scheduler.close();
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.List;
+
+/**
+ * The MatchTick class runs the part of a tick that is the same whatever state the game is in: it steps the world,
+ * records every ball's trail, shows the score, times each phase into the field's FrameStats, and reports the tick to
+ * Flight Recorder. The logic of the current state runs in the middle, after the world has been updated and before
+ * everything is moved.
+ *
+ * Pong runs it every tick, and AllocationGate runs it with no window to check that a tick allocates nothing, so what
+ * the gate measures is the tick the game plays rather than a copy of it.
+ */
+public class MatchTick {
+    private final PongModel world;
+    private final List<Ball> balls;
+    private final EffectLayer effects;
+    private final Hud hud;
+    private final FrameStats stats;
+
+    /**
+     * Constructs the tick of a match.
+     *
+     * @param world   The world the match is played in.
+     * @param balls   The views of the world's balls, kept up to date by whoever listens to the world.
+     * @param effects The layer the ball trails are drawn on.
+     * @param hud     The HUD that shows the score.
+     * @param stats   The statistics to time each phase into.
+     */
+    public MatchTick(PongModel world, List<Ball> balls, EffectLayer effects, Hud hud, FrameStats stats) {
+        this.world = world;
+        this.balls = balls;
+        this.effects = effects;
+        this.hud = hud;
+        this.stats = stats;
+    }
+
+    /**
+     * Runs a single tick.
+     *
+     * @param start      The time the tick started, from System.nanoTime(), which the whole tick is timed from.
+     * @param spawning   Whether new balls and power-ups may be spawned this tick.
+     * @param stateLogic The logic of the current state, which should be created once rather than every tick.
+     * @see PongModel#update(boolean)
+     */
+    public void run(long start, boolean spawning, Runnable stateLogic) {
+        long time = System.nanoTime();
+        // Handle collisions with the paddles, the walls, and other balls
+        world.checkCollisions();
+        time = stats.lap(FrameStats.Phase.COLLISIONS, time);
+
+        // Record where every ball is in its trail
+        for (int i = 0; i < balls.size(); i++) {
+            balls.get(i).updateTrail(effects);
+        }
+        time = stats.lap(FrameStats.Phase.TRAILS, time);
+
+        // Score every ball that has left the field, and show the scores, which the HUD only draws again when they
+        // have changed
+        world.updateScoring();
+        hud.setScore(world.getLeftScore(), world.getRightScore());
+        time = stats.lap(FrameStats.Phase.SCORING, time);
+
+        // Let balls collect power-ups; the world reports each one to its listener
+        world.checkPowerupCollision();
+        time = stats.lap(FrameStats.Phase.POWER_UPS, time);
+
+        if (spawning) {
+            world.spawnObjects();
+        }
+        time = stats.lap(FrameStats.Phase.SPAWNING, time);
+
+        stateLogic.run();
+        time = stats.lap(FrameStats.Phase.STATE, time);
+
+        // Move the paddles and balls; their views follow when they act
+        world.move();
+        stats.lap(FrameStats.Phase.MOVE, time);
+        stats.lap(FrameStats.Phase.TICK, start);
+        GameEvents.tick(stats, world);
+    }
+}
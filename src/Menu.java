@@ -1,10 +1,6 @@
 import csta.ibm.pong.GameObject;
 
-import javax.imageio.ImageIO;
-import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 /**
  * The Menu class represents a menu within the Pong game environment.
@@ -13,12 +9,17 @@ import java.io.IOException;
  */
 public class Menu extends GameObject {
     private final int FONT_SIZE = 50;
-    private BufferedImage titleImage;
+    private final Sprite titleImage;
     private int titleX = 0, titleY = 0, time = 0, textTime = 0, screenWidth, screenHeight;
     private boolean titleVisible = true, buttonsPressed = false, gameOver = false;
     private String upperTextRow = "ABCDEFG", lowerTextRow = "BCDEF";
-    private JLabel upperLabel = new JLabel("ABCDEFG"), lowerLabel = new JLabel("BCDEF");
+    private final GlyphAtlas textAtlas = new GlyphAtlas(new Font("Comic Sans MS", Font.PLAIN, FONT_SIZE), Color.WHITE);
+    private final TextLine upperLine = new TextLine(textAtlas), lowerLine = new TextLine(textAtlas);
+    private final Rectangle upperBounds = new Rectangle(), lowerBounds = new Rectangle();
+    private int upperX, upperY, lowerX, lowerY;
     private ButtonManager buttonManager;
+    private final Rectangle controlsBounds = new Rectangle();
+    private boolean titleDrawn = false, controlsDrawn = false;
 
     /**
      * Constructs the main menu of the Pong game.
@@ -28,11 +29,7 @@ public class Menu extends GameObject {
      * @param game         The Pong game instance.
      */
     public Menu(int screenWidth, int screenHeight, Pong game) {
-        try {
-            titleImage = ImageIO.read(getClass().getClassLoader().getResourceAsStream("pong_title.png"));
-        } catch (IOException e) {
-            System.out.println(e);
-        }
+        titleImage = Assets.sprite("pong_title.png").join();
 
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
@@ -41,12 +38,6 @@ public class Menu extends GameObject {
         titleX = (screenWidth - titleImage.getWidth()) / 2;
 
         buttonManager = new ButtonManager(screenWidth, screenHeight, game);
-        game.add(upperLabel);
-        game.add(lowerLabel);
-        upperLabel.setForeground(Color.WHITE);
-        lowerLabel.setForeground(Color.WHITE);
-        upperLabel.setFont(new Font("Comic Sans MS", Font.PLAIN, FONT_SIZE));
-        lowerLabel.setFont(new Font("Comic Sans MS", Font.PLAIN, FONT_SIZE));
 
         buttonManager.selectButton(game);
 
@@ -68,7 +59,13 @@ public class Menu extends GameObject {
 
         // Paint title image if visible
         if (titleVisible && !gameOver) {
-            g.drawImage(titleImage, titleX, titleY, null);
+            titleImage.draw(g, titleX, titleY);
+        }
+
+        // Paint the winner text as it is typed out
+        if (gameOver) {
+            upperLine.draw(g, upperX, upperY);
+            lowerLine.draw(g, lowerX, lowerY);
         }
     }
 
@@ -80,24 +77,54 @@ public class Menu extends GameObject {
     public void act() {
 
         time += 1;
+        int lastTitleX = titleX, lastTitleY = titleY;
         updateY();
-        repaint();
+        titleX = (screenWidth - titleImage.getWidth()) / 2;
+
+        // Repaint the title where it was drawn and where it is drawn now
+        if (titleDrawn) {
+            repaint(lastTitleX, lastTitleY, titleImage.getWidth(), titleImage.getHeight());
+        }
+        titleDrawn = titleVisible && !gameOver;
+        if (titleDrawn) {
+            repaint(titleX, titleY, titleImage.getWidth(), titleImage.getHeight());
+        }
+
+        // Repaint the controls while they are shown, and once more to clear them away
+        if (controlsDrawn) {
+            repaint(controlsBounds);
+        }
+        controlsDrawn = buttonManager.isShowingControls();
+        if (controlsDrawn) {
+            buttonManager.getControlsBounds(controlsBounds);
+            repaint(controlsBounds);
+        }
         // Update the visibility of buttons based on title visibility
         buttonManager.updateVisibility(titleVisible && !gameOver);
 
 
-        if (gameOver) {
-            upperLabel.setVisible(true);
-            lowerLabel.setVisible(true);
-            upperLabel.setBounds(0, 0, screenWidth, screenHeight / 2);
-            lowerLabel.setBounds(0, 0, screenWidth, screenHeight / 2);
-            upperLabel.setLocation((screenWidth - upperTextRow.length() * (int) (FONT_SIZE * 0.5)) / 2, 0);
-            lowerLabel.setLocation((screenWidth - lowerTextRow.length() * (int) (FONT_SIZE * 0.5)) / 2, (int) (FONT_SIZE * 1.2));
-            upperLabel.setText(upperTextRow.substring(0, Math.min(upperTextRow.length(), Math.max(0, (time - textTime) / 3))));
-            lowerLabel.setText(lowerTextRow.substring(0, Math.min(lowerTextRow.length(), Math.max(0, (time - textTime - lowerTextRow.length() * 3) / 3))));
-        } else {
-            upperLabel.setVisible(false);
-            lowerLabel.setVisible(false);
+        // Type out the winner text a letter every three frames, the lower row after the upper one, repainting the
+        // rows where they were and where they are now whenever they change
+        int upperLength = gameOver ? Math.max(0, (time - textTime) / 3) : 0;
+        int lowerLength = gameOver ? Math.max(0, (time - textTime - lowerTextRow.length() * 3) / 3) : 0;
+        // Each row is centered as a whole in the top half of the screen, as it grows from the left
+        int newUpperX = (screenWidth - textAtlas.getWidth(upperTextRow, upperTextRow.length())) / 2;
+        int newLowerX = (screenWidth - textAtlas.getWidth(lowerTextRow, lowerTextRow.length())) / 2;
+        int newUpperY = (screenHeight / 2 - textAtlas.getHeight()) / 2;
+        int newLowerY = newUpperY + (int) (FONT_SIZE * 1.2);
+        if (upperLine.setText(upperTextRow, upperLength) || newUpperX != upperX || newUpperY != upperY) {
+            repaint(upperBounds);
+            upperX = newUpperX;
+            upperY = newUpperY;
+            upperLine.getBounds(upperX, upperY, upperBounds);
+            repaint(upperBounds);
+        }
+        if (lowerLine.setText(lowerTextRow, lowerLength) || newLowerX != lowerX || newLowerY != lowerY) {
+            repaint(lowerBounds);
+            lowerX = newLowerX;
+            lowerY = newLowerY;
+            lowerLine.getBounds(lowerX, lowerY, lowerBounds);
+            repaint(lowerBounds);
         }
     }
 
@@ -0,0 +1,211 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * The NetClient class plays one paddle of a match run by a PongServer.
+ * Every tick it sends the server the keys held and takes the newest snapshot the server has sent, which replaces the
+ * local world. The server only applies input once it arrives, so a paddle that waited for the server would lag behind
+ * the keys by the round trip. Instead the client predicts its own paddle: after each snapshot it applies again every
+ * input the server had not applied when it took the snapshot, so the paddle moves as soon as a key is pressed and is
+ * still corrected by the server whenever the two disagree.
+ *
+ * The channel is non-blocking, so the game's tick never waits on the network, and packets go through direct buffers.
+ *
+ * @see NetProtocol
+ */
+public class NetClient implements Closeable {
+    private static final int INPUTS = 64;
+    private static final BallModel.Owner[] OWNERS = BallModel.Owner.values();
+    private final DatagramChannel channel;
+    private final ByteBuffer received = ByteBuffer.allocateDirect(NetProtocol.MAX_PACKET);
+    private final ByteBuffer sent = ByteBuffer.allocateDirect(NetProtocol.INPUT_SIZE);
+    private final int[] inputs = new int[INPUTS];
+    private final NetProtocol.History history = new NetProtocol.History();
+    private byte[] state = new byte[0];
+    private ByteBuffer stateBuffer = ByteBuffer.wrap(state);
+    private int seq = -1, latestTick = NetProtocol.NO_TICK, latestLength, appliedSeq = -1;
+    private boolean fresh;
+    private BallModel.Owner side = BallModel.Owner.NONE, winner = BallModel.Owner.NONE;
+    private byte phase = NetProtocol.WAITING;
+
+    /**
+     * Constructs a client of a server.
+     * Nothing is sent until the first input, which is what gives the client a paddle.
+     *
+     * @param server The address of the server.
+     * @throws IOException If the channel cannot be opened.
+     */
+    public NetClient(InetSocketAddress server) throws IOException {
+        channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+        channel.connect(server);
+    }
+
+    /**
+     * Parses the address of a server.
+     *
+     * @param address The address, as host or host:port; DEFAULT_PORT is used if there is no port.
+     * @return The address.
+     */
+    public static InetSocketAddress parseAddress(String address) {
+        int colon = address.lastIndexOf(':');
+        if (colon < 0) {
+            return new InetSocketAddress(address, NetProtocol.DEFAULT_PORT);
+        }
+        return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+    }
+
+    /**
+     * Sends the input of the next tick, along with the few before it in case their packets were lost.
+     *
+     * @param input The input, as a combination of NetProtocol.UP and DOWN.
+     * @throws IOException If the channel fails.
+     */
+    public void sendInput(int input) throws IOException {
+        seq++;
+        inputs[seq % INPUTS] = input;
+        sent.clear();
+        sent.putInt(NetProtocol.MAGIC).put(NetProtocol.INPUT).putInt(seq).putInt(latestTick);
+        for (int i = 0; i < NetProtocol.INPUT_HISTORY; i++) {
+            sent.put((byte) (seq - i >= 0 ? inputs[(seq - i) % INPUTS] : 0));
+        }
+        sent.flip();
+        try {
+            channel.write(sent);
+        } catch (PortUnreachableException e) {
+            // The server is not up yet; keep sending until it is
+        }
+    }
+
+    /**
+     * Reads every snapshot that has arrived, keeping the newest.
+     *
+     * @return True if a newer snapshot arrived.
+     * @throws IOException If the channel fails.
+     */
+    public boolean receive() throws IOException {
+        boolean newer = false;
+        while (true) {
+            received.clear();
+            try {
+                if (channel.read(received) <= 0) {
+                    return newer;
+                }
+            } catch (PortUnreachableException e) {
+                return newer;
+            }
+            received.flip();
+            if (received.remaining() >= NetProtocol.SNAPSHOT_HEADER_SIZE && received.getInt() == NetProtocol.MAGIC
+                    && received.get() == NetProtocol.SNAPSHOT) {
+                newer |= readSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Decodes a SNAPSHOT packet unless it is older than the newest one or its baseline has been forgotten.
+     */
+    private boolean readSnapshot() {
+        int tick = received.getInt(), baseTick = received.getInt();
+        byte[] baseline = history.get(baseTick);
+        if (tick <= latestTick || (baseTick != NetProtocol.NO_TICK && baseline == null)) {
+            return false;
+        }
+        BallModel.Owner newSide = OWNERS[received.get()];
+        byte newPhase = received.get();
+        BallModel.Owner newWinner = OWNERS[received.get()];
+        int newAppliedSeq = received.getInt(), length = received.getInt();
+        if (state.length < length) {
+            state = new byte[length * 2];
+            stateBuffer = ByteBuffer.wrap(state);
+        }
+        NetProtocol.readDelta(received, state, length, baseline, baseline != null ? history.getLength(baseTick) : 0);
+        history.store(tick, state, length);
+
+        latestTick = tick;
+        latestLength = length;
+        side = newSide;
+        phase = newPhase;
+        winner = newWinner;
+        appliedSeq = newAppliedSeq;
+        fresh = true;
+        return true;
+    }
+
+    /**
+     * Brings a world up to date: sets it to the newest snapshot if it has not been applied yet, then moves the
+     * client's paddle by the input the server has not applied. Between snapshots only the input of the tick just
+     * sent is applied, since the rest already has been.
+     *
+     * @param world The world to update, which should only be changed by this client.
+     */
+    public void apply(PongModel world) {
+        PaddleModel paddle = side == BallModel.Owner.LEFT ? world.getLeftPaddle()
+                : side == BallModel.Owner.RIGHT ? world.getRightPaddle() : null;
+        if (fresh) {
+            fresh = false;
+            stateBuffer.clear().limit(latestLength);
+            world.readSnapshot(stateBuffer);
+            if (paddle != null && phase == NetProtocol.PLAYING) {
+                // Replay the input sent since the server took the snapshot
+                for (int s = Math.max(appliedSeq + 1, seq - INPUTS + 1); s <= seq; s++) {
+                    NetProtocol.applyInput(paddle, inputs[s % INPUTS]);
+                    paddle.act();
+                }
+            }
+        } else if (paddle != null && phase == NetProtocol.PLAYING && seq >= 0) {
+            NetProtocol.applyInput(paddle, inputs[seq % INPUTS]);
+            paddle.act();
+        }
+    }
+
+    /**
+     * Gets the side the server has given this client.
+     *
+     * @return LEFT or RIGHT, or NONE until the server has answered or if both paddles were taken.
+     */
+    public BallModel.Owner getSide() {
+        return side;
+    }
+
+    /**
+     * Gets the phase of the match in the newest snapshot.
+     *
+     * @return NetProtocol.WAITING, PLAYING, or OVER.
+     */
+    public byte getPhase() {
+        return phase;
+    }
+
+    /**
+     * Gets the winner of the match in the newest snapshot.
+     *
+     * @return LEFT or RIGHT once the match is over, or NONE before then.
+     */
+    public BallModel.Owner getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the tick of the newest snapshot.
+     *
+     * @return The tick, or NetProtocol.NO_TICK if none has arrived.
+     */
+    public int getLatestTick() {
+        return latestTick;
+    }
+
+    /**
+     * Disconnects from the server.
+     *
+     * @throws IOException If the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,191 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The NetProtocol class holds the packet layouts shared by PongServer and NetClient, and the delta compression of
+ * snapshots.
+ *
+ * Every packet is one UDP datagram starting with MAGIC and a type byte. A client sends an INPUT packet every tick
+ * holding the sequence number of its newest input, the newest INPUT_HISTORY inputs so that a lost packet costs
+ * nothing as long as a later one arrives, and the tick of the newest snapshot it has received. The server sends each
+ * client a SNAPSHOT packet every tick holding the tick, the tick of the snapshot it was compressed against, the side
+ * the client plays, the phase of the match, the sequence number of the client's newest input it has applied, and the
+ * snapshot of the world.
+ *
+ * A snapshot is compressed against the newest one the client has said it received: the two are xor-ed together, so
+ * every byte that has not changed becomes zero, and the result is written as runs of zero bytes and runs of other
+ * bytes. Most of a world does not change from one tick to the next, and what does change is mostly the low bytes of
+ * positions, so a delta is a small fraction of the snapshot. A snapshot compressed against nothing is the whole of it.
+ */
+public final class NetProtocol {
+    public static final int MAGIC = 0x504E4754, DEFAULT_PORT = 4747, MAX_PACKET = 65507;
+    public static final byte INPUT = 1, SNAPSHOT = 2;
+    public static final int UP = 1, DOWN = 2, INPUT_HISTORY = 4, NO_TICK = -1;
+    public static final int INPUT_SIZE = 4 + 1 + 4 + 4 + INPUT_HISTORY, SNAPSHOT_HEADER_SIZE = 4 + 1 + 4 + 4 + 3 + 4 + 4;
+    // Phases of the match a snapshot can be in
+    public static final byte WAITING = 0, PLAYING = 1, OVER = 2;
+    private static final int MAX_RUN = 255, HISTORY = 32;
+
+    private NetProtocol() {
+    }
+
+    /**
+     * Turns the keys held into the input of one paddle: either player's up and down keys move it.
+     *
+     * @param keys The keys held, as a combination of InputRecorder.LEFT_UP, LEFT_DOWN, RIGHT_UP, and RIGHT_DOWN.
+     * @return The input, as a combination of UP and DOWN.
+     */
+    public static int paddleInput(int keys) {
+        int input = 0;
+        if ((keys & (InputRecorder.LEFT_UP | InputRecorder.RIGHT_UP)) != 0) input |= UP;
+        if ((keys & (InputRecorder.LEFT_DOWN | InputRecorder.RIGHT_DOWN)) != 0) input |= DOWN;
+        return input;
+    }
+
+    /**
+     * Moves a paddle by one tick of input, as the server does before it moves everything.
+     *
+     * @param paddle The paddle.
+     * @param input  The input, as a combination of UP and DOWN.
+     */
+    public static void applyInput(PaddleModel paddle, int input) {
+        if ((input & UP) != 0) {
+            paddle.moveUp();
+        }
+        if ((input & DOWN) != 0) {
+            paddle.moveDown();
+        }
+    }
+
+    /**
+     * Writes a snapshot compressed against an earlier one.
+     *
+     * @param out      The buffer to write to.
+     * @param state    The snapshot.
+     * @param length   The length of the snapshot.
+     * @param baseline The earlier snapshot, or null to write the whole snapshot.
+     * @param baseLength The length of the earlier snapshot; bytes past its end are taken as zero.
+     */
+    public static void writeDelta(ByteBuffer out, byte[] state, int length, byte[] baseline, int baseLength) {
+        int at = 0;
+        while (at < length) {
+            // A run of unchanged bytes, then a run of changed ones
+            int zeros = 0;
+            while (at + zeros < length && zeros < MAX_RUN && delta(state, baseline, baseLength, at + zeros) == 0) {
+                zeros++;
+            }
+            at += zeros;
+            int literals = 0;
+            while (at + literals < length && literals < MAX_RUN
+                    && delta(state, baseline, baseLength, at + literals) != 0) {
+                literals++;
+            }
+            out.put((byte) zeros).put((byte) literals);
+            for (int i = 0; i < literals; i++) {
+                out.put(delta(state, baseline, baseLength, at + i));
+            }
+            at += literals;
+        }
+    }
+
+    /**
+     * Gets a byte of a snapshot xor-ed with the same byte of the baseline.
+     */
+    private static byte delta(byte[] state, byte[] baseline, int baseLength, int at) {
+        return baseline != null && at < baseLength ? (byte) (state[at] ^ baseline[at]) : state[at];
+    }
+
+    /**
+     * Reads a snapshot written by writeDelta.
+     *
+     * @param in       The buffer to read from.
+     * @param state    The array to write the snapshot into, at least length long.
+     * @param length   The length of the snapshot.
+     * @param baseline The snapshot it was compressed against, or null if it was written whole.
+     * @param baseLength The length of the baseline.
+     */
+    public static void readDelta(ByteBuffer in, byte[] state, int length, byte[] baseline, int baseLength) {
+        int at = 0;
+        while (at < length) {
+            int zeros = in.get() & 0xFF, literals = in.get() & 0xFF;
+            for (int i = 0; i < zeros; i++, at++) {
+                state[at] = baseline != null && at < baseLength ? baseline[at] : 0;
+            }
+            for (int i = 0; i < literals; i++, at++) {
+                byte b = in.get();
+                state[at] = baseline != null && at < baseLength ? (byte) (b ^ baseline[at]) : b;
+            }
+        }
+    }
+
+    /**
+     * Gets the most bytes writeDelta can write for a snapshot.
+     *
+     * @param length The length of the snapshot.
+     * @return The largest size of its delta.
+     */
+    public static int maxDeltaSize(int length) {
+        return length + 2 * (length / MAX_RUN + 1);
+    }
+
+    /**
+     * The snapshots of the last few ticks, kept so a delta can be written or read against any of them.
+     * Each one is copied into an array the history owns, which is reused once it is as large as the snapshots get.
+     */
+    public static class History {
+        private final byte[][] states = new byte[HISTORY][0];
+        private final int[] lengths = new int[HISTORY], ticks = new int[HISTORY];
+
+        /**
+         * Constructs an empty history.
+         */
+        public History() {
+            Arrays.fill(ticks, NO_TICK);
+        }
+
+        /**
+         * Keeps the snapshot of a tick, replacing the one from HISTORY ticks before.
+         *
+         * @param tick   The tick.
+         * @param state  The snapshot.
+         * @param length The length of the snapshot.
+         */
+        public void store(int tick, byte[] state, int length) {
+            int slot = Math.floorMod(tick, HISTORY);
+            if (states[slot].length < length) {
+                states[slot] = new byte[length * 2];
+            }
+            System.arraycopy(state, 0, states[slot], 0, length);
+            lengths[slot] = length;
+            ticks[slot] = tick;
+        }
+
+        /**
+         * Gets the snapshot of a tick.
+         *
+         * @param tick The tick.
+         * @return The snapshot, or null if it has not been kept or has been replaced.
+         */
+        public byte[] get(int tick) {
+            int slot = Math.floorMod(tick, HISTORY);
+            return tick != NO_TICK && ticks[slot] == tick ? states[slot] : null;
+        }
+
+        /**
+         * Gets the length of the snapshot of a tick.
+         *
+         * @param tick The tick, which must have a snapshot kept.
+         * @return The length of the snapshot.
+         */
+        public int getLength(int tick) {
+            return lengths[Math.floorMod(tick, HISTORY)];
+        }
+
+        /**
+         * Forgets every snapshot.
+         */
+        public void clear() {
+            Arrays.fill(ticks, NO_TICK);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * The simulation state of a paddle.
+ * Provides methods to control the paddle's movement, behavior, and interaction with balls.
+ * It uses no AWT or Swing classes, so it can be stepped without a display; the Paddle class draws it.
+ */
+public class PaddleModel {
+	public static final int STATE_SIZE = 6 * 8 + 8 * 4;
+	private double velocity;
+	private final int INITIAL_HEIGHT, INITIAL_WIDTH;
+	private int x, y, width, height, screenHeight, screenWidth, lastX, lastY, previousX, previousY;
+	private double bounceAmount = 0.5, acceleration = 2, friction = 0.95, paddleHeight, paddleWidth;
+	private final boolean IS_LEFT;
+
+	/**
+	 * Constructs a paddle with the specified dimensions and position.
+	 *
+	 * @param width   The width of the paddle.
+	 * @param height  The height of the paddle.
+	 * @param isLeft  Indicates whether the paddle is on the left side of the screen.
+	 */
+	public PaddleModel(int width, int height, boolean isLeft) {
+		INITIAL_HEIGHT = height;
+		INITIAL_WIDTH = width;
+		this.IS_LEFT = isLeft;
+		reset();
+	}
+
+
+	/**
+	 * Moves the paddle based on its velocity and handles boundary collisions.
+	 */
+	public void act() {
+		width = (int) paddleWidth;
+		height = (int) paddleHeight;
+		lastX = x;
+		lastY = y;
+
+		// Set the x-coordinate of the paddle
+		if (IS_LEFT) {
+			x = screenWidth / 20;
+		} else {
+			x = screenWidth - width - screenWidth / 20;
+		}
+
+		// Update the y-coordinate of the paddle based on its velocity
+		if (velocity > 0 && y + height < screenHeight) {
+			y = Math.min(y + (int) velocity, screenHeight - height);
+		} else if (velocity < 0 && y > 0) {
+			y = Math.max(y + (int) velocity, 0);
+		}
+
+		// Apply friction to velocity
+		velocity *= friction;
+	}
+
+
+	/**
+	 * Makes the paddle automatically adjust its position based on the position of the closest ball.
+	 *
+	 * @param allBalls The list of all balls in the game.
+	 */
+	public void idle(List<BallModel> allBalls) {
+		BallModel closestBall = null;
+		int closestDistance = Integer.MAX_VALUE;
+		int dx, dy;
+
+		// Find the closest ball to the paddle
+		for (int i = 0; i < allBalls.size(); i++) {
+			BallModel b = allBalls.get(i);
+			dx = Math.abs((x + width / 2) - (b.getX() + b.getWidth() / 2));
+			dy = Math.abs((y + height / 2) - (b.getY() + b.getHeight() / 2));
+			if (((IS_LEFT && b.getVX() < 0) || (!IS_LEFT && b.getVX() > 0)) && (dx * dx + dy * dy < closestDistance)) {
+				closestBall = b;
+				closestDistance = dx * dx + dy * dy;
+			}
+		}
+
+		// If no ball is found, return
+		if (closestBall == null) return;
+
+		// Move the paddle up or down depending on the position of the closest ball
+		if (closestBall.getY() + closestBall.getHeight() / 2 > y + height / 2) {
+			moveDown();
+		} else if (closestBall.getY() + closestBall.getHeight() / 2 < y + height / 2) {
+			moveUp();
+		}
+	}
+
+
+	/**
+	 * Resets the paddle to its initial state.
+	 */
+	public void reset() {
+		paddleHeight = INITIAL_HEIGHT;
+		paddleWidth = INITIAL_WIDTH;
+		width = (int) paddleWidth;
+		height = (int) paddleHeight;
+		bounceAmount = 0.5;
+		acceleration = 2;
+		friction = 0.95;
+		velocity = 0;
+	}
+
+	/**
+	 * Sets the screen height for the paddle.
+	 *
+	 * @param screenHeight The height of the screen.
+	 */
+	public void setScreenHeight(int screenHeight) {
+		this.screenHeight = screenHeight;
+	}
+
+	/**
+	 * Sets the screen width for the paddle.
+	 *
+	 * @param screenWidth The width of the screen.
+	 */
+	public void setScreenWidth(int screenWidth) {
+		this.screenWidth = screenWidth;
+	}
+
+	/**
+	 * Moves the paddle upward.
+	 * Decreases the velocity of the paddle.
+	 */
+	public void moveUp() {
+		velocity -= acceleration;
+		if (y + velocity <= 0) {
+			velocity = 0;
+		}
+	}
+
+	/**
+	 * Moves the paddle downward.
+	 * Increases the velocity of the paddle.
+	 */
+	public void moveDown() {
+		velocity += acceleration;
+		if (y + height + velocity >= screenHeight) {
+			velocity = 0;
+		}
+	}
+
+	/**
+	 * Remembers where the paddle is before a simulation tick, so frames drawn between ticks can be interpolated.
+	 */
+	public void storePreviousPosition() {
+		previousX = x;
+		previousY = y;
+	}
+
+	/**
+	 * Gets the x-coordinate of the paddle.
+	 *
+	 * @return The x-coordinate of the paddle.
+	 */
+	public int getX() {
+		return x;
+	}
+
+	/**
+	 * Gets the y-coordinate of the paddle.
+	 *
+	 * @return The y-coordinate of the paddle.
+	 */
+	public int getY() {
+		return y;
+	}
+
+	/**
+	 * Sets the y-coordinate of the paddle.
+	 *
+	 * @param newY The new y-coordinate of the paddle.
+	 */
+	public void setY(int newY) {
+		y = newY;
+	}
+
+	/**
+	 * Gets the width of the paddle.
+	 *
+	 * @return The width of the paddle.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Gets the height of the paddle.
+	 *
+	 * @return The height of the paddle.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Gets the x-coordinate of the paddle in the previous frame.
+	 *
+	 * @return The x-coordinate of the paddle in the previous frame.
+	 */
+	public int getLastX() {
+		return lastX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the paddle in the previous frame.
+	 *
+	 * @return The y-coordinate of the paddle in the previous frame.
+	 */
+	public int getLastY() {
+		return lastY;
+	}
+
+	/**
+	 * Gets the x-coordinate of the paddle before the current tick.
+	 *
+	 * @return The x-coordinate to interpolate from.
+	 */
+	public int getPreviousX() {
+		return previousX;
+	}
+
+	/**
+	 * Gets the y-coordinate of the paddle before the current tick.
+	 *
+	 * @return The y-coordinate to interpolate from.
+	 */
+	public int getPreviousY() {
+		return previousY;
+	}
+
+	/**
+	 * Gets the velocity of the paddle.
+	 *
+	 * @return The velocity of the paddle.
+	 */
+	public int getVelocity() {
+		return (int) velocity;
+	}
+
+	/**
+	 * Checks if this is the left paddle.
+	 *
+	 * @return True for the left paddle, false for the right paddle.
+	 */
+	public boolean isLeft() {
+		return IS_LEFT;
+	}
+
+
+	/**
+	 * Changes the height of the paddle by a given factor.
+	 *
+	 * @param factorChange The factor by which to change the paddle height.
+	 */
+	public void changePaddleHeight(double factorChange) {
+		double newPaddleHeight = Math.min(screenHeight, Math.max(0, paddleHeight * factorChange));
+		if (factorChange > 1) {
+			newPaddleHeight += 5;
+		}
+		y = y - (int) (newPaddleHeight - paddleHeight) / 2;
+		paddleHeight = newPaddleHeight;
+	}
+
+	/**
+	 * Changes the paddle's acceleration, affecting its speed.
+	 *
+	 * @param magnitudeChange The change in acceleration magnitude.
+	 */
+	public void changePaddleSpeed(double magnitudeChange) {
+		acceleration = Math.min(5, Math.max(0.3, acceleration + magnitudeChange));
+	}
+
+	/**
+	 * Writes the whole state of the paddle, such as for a replay keyframe.
+	 * The previous position is left out, since it is only used for drawing and is stored again before each tick.
+	 *
+	 * @param out The buffer to write STATE_SIZE bytes of state to.
+	 */
+	public void writeState(ByteBuffer out) {
+		out.putDouble(velocity).putDouble(bounceAmount).putDouble(acceleration).putDouble(friction);
+		out.putDouble(paddleHeight).putDouble(paddleWidth);
+		out.putInt(x).putInt(y).putInt(width).putInt(height).putInt(screenHeight).putInt(screenWidth);
+		out.putInt(lastX).putInt(lastY);
+	}
+
+	/**
+	 * Puts the paddle back to a state written by writeState.
+	 *
+	 * @param in The buffer to read STATE_SIZE bytes of state from.
+	 */
+	public void readState(ByteBuffer in) {
+		velocity = in.getDouble();
+		bounceAmount = in.getDouble();
+		acceleration = in.getDouble();
+		friction = in.getDouble();
+		paddleHeight = in.getDouble();
+		paddleWidth = in.getDouble();
+		x = in.getInt();
+		y = in.getInt();
+		width = in.getInt();
+		height = in.getInt();
+		screenHeight = in.getInt();
+		screenWidth = in.getInt();
+		lastX = in.getInt();
+		lastY = in.getInt();
+		previousX = x;
+		previousY = y;
+	}
+}
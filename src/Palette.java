@@ -0,0 +1,78 @@
+import java.awt.*;
+
+/**
+ * The Palette class holds every color used while the game is running.
+ * Colors are created once when the class is loaded and handed out by reference, so looking one up on the tick or
+ * paint path is an array read rather than a new Color. Trail fades are precomputed as ramps indexed by segment age
+ * for every segment size a trail can start at.
+ */
+public final class Palette {
+    public static final int MAX_TRAIL_SIZE = 32, MAX_TRAIL_AGE = 32;
+
+    public static final Color POWERUP_BUFF = new Color(180, 255, 0);
+    public static final Color POWERUP_DEBUFF = new Color(255, 165, 0);
+    public static final Color POWERUP_EXTRA_BALL = new Color(255, 223, 12);
+
+    // Indexed by BallModel.Owner ordinal: LEFT, RIGHT, NONE
+    private static final Color[] BALL_COLORS = {new Color(255, 0, 0), new Color(0, 0, 255), new Color(255, 255, 255)};
+    private static final Color[] TRAIL_COLORS = {new Color(200, 0, 0), new Color(0, 0, 200), new Color(150, 150, 150)};
+    private static final Color[][][] TRAIL_FADE = new Color[TRAIL_COLORS.length][MAX_TRAIL_SIZE + 1][MAX_TRAIL_AGE];
+
+    static {
+        // A segment of size s at age a is drawn at (s - 2a) / s of its starting brightness
+        for (int owner = 0; owner < TRAIL_COLORS.length; owner++) {
+            Color start = TRAIL_COLORS[owner];
+            for (int size = 0; size <= MAX_TRAIL_SIZE; size++) {
+                for (int age = 0; age < MAX_TRAIL_AGE; age++) {
+                    double fade = size > 0 ? Math.max((size - age * 2) / (double) size, 0.0) : 0.0;
+                    TRAIL_FADE[owner][size][age] = new Color(
+                            (int) (start.getRed() * fade),
+                            (int) (start.getGreen() * fade),
+                            (int) (start.getBlue() * fade)
+                    );
+                }
+            }
+        }
+    }
+
+    private Palette() {
+    }
+
+    /**
+     * Gets the color of a ball with the given owner.
+     *
+     * @param owner The paddle that last touched the ball.
+     * @return The interned ball color.
+     */
+    public static Color ballColor(BallModel.Owner owner) {
+        return BALL_COLORS[owner.ordinal()];
+    }
+
+    /**
+     * Gets the color of a power-up of the given type.
+     * Buffs are green, debuffs are orange, and extra balls are yellow.
+     *
+     * @param type The type of the power-up.
+     * @return The interned power-up color.
+     */
+    public static Color powerUpColor(PowerUpModel.Type type) {
+        switch (type) {
+            case SIZE_INCREASE:
+            case SPEED_INCREASE: return POWERUP_BUFF;
+            case SIZE_DEBUFF:
+            case SPEED_DEBUFF: return POWERUP_DEBUFF;
+            default: return POWERUP_EXTRA_BALL;
+        }
+    }
+
+    /**
+     * Gets the fade ramp for a trail segment, indexed by the segment's age.
+     *
+     * @param ownerIndex The ordinal of the ball's owner when the segment was left.
+     * @param size       The starting size of the segment, clamped to MAX_TRAIL_SIZE.
+     * @return The precomputed colors of the segment at every age up to MAX_TRAIL_AGE.
+     */
+    public static Color[] trailFade(int ownerIndex, int size) {
+        return TRAIL_FADE[ownerIndex][Math.max(0, Math.min(size, MAX_TRAIL_SIZE))];
+    }
+}
@@ -1,19 +1,14 @@
-import csta.ibm.pong.GameObject;
-
 import java.awt.*;
-import java.util.LinkedList;
-import java.util.Queue;
 
 /**
  * The ParticleGenerator class represents a particle generator within the game environment.
- * It extends the GameObject class and provides methods to control the generation,
- * appearance, and behavior of particles over time.
+ * Generators are updated by the EffectLayer and spawn their particles into its ParticlePool,
+ * controlling the generation and appearance of particles over time.
  */
-public class ParticleGenerator extends GameObject {
+public class ParticleGenerator {
     private int x, y, duration, frequency, velocity, lifespan;
     private Color colour;
-    private Pong game;
-    private Queue<Particle> allParticles;
+    private ParticlePool particles;
     /**
      * Initializes a particle generator with the specified parameters.
      *
@@ -23,61 +18,65 @@ public class ParticleGenerator extends GameObject {
      * @param velocity   The velocity of the particles generated.
      * @param frequency  The frequency of particle generation.
      * @param color      The color of the particles.
-     * @param mainGame   The main game instance.
+     * @param particles  The particle pool that holds the particles.
      */
-    public ParticleGenerator(int x, int y, int duration, int velocity, int frequency, int lifeSpan, Color color, Pong mainGame) {
+    public ParticleGenerator(int x, int y, int duration, int velocity, int frequency, int lifeSpan, Color color, ParticlePool particles) {
+        restart(x, y, duration, velocity, frequency, lifeSpan, color);
+        this.particles = particles;
+    }
+
+    /**
+     * Starts the generator over with new parameters, so a finished generator can be reused instead of allocating
+     * a new one. It keeps spawning into the same particle pool.
+     *
+     * @param x          The x-coordinate of the particle generator.
+     * @param y          The y-coordinate of the particle generator.
+     * @param duration   The duration of the particle generation.
+     * @param velocity   The velocity of the particles generated.
+     * @param frequency  The frequency of particle generation.
+     * @param color      The color of the particles.
+     */
+    public void restart(int x, int y, int duration, int velocity, int frequency, int lifeSpan, Color color) {
         this.x = x;
         this.y = y;
         this.duration = duration;
         this.frequency = frequency;
         this.velocity = velocity;
         this.lifespan = lifeSpan;
-        allParticles = new LinkedList<>();
         colour = color;
-        game = mainGame;
     }
 
 
     /**
      * Checks if the particle generator has finished generating particles.
      *
+     * Every particle shares the same lifespan, so the last ones have expired once the generator has been idle
+     * for that many frames.
+     *
      * @return True if the duration is less than 0 and there are no particles left; false otherwise.
      */
     public boolean isFinished() {
-        return duration < 0 && allParticles.size() == 0;
+        return duration < 0 && -duration >= lifespan;
     }
 
     /**
-     * Creates particles based on the generator's parameters and adds them to the game.
+     * Creates particles based on the generator's parameters and spawns them into the particle pool.
      */
     public void createParticles() {
+        int radius = (int) (Math.sqrt(velocity / 4.0));
         for (int i = 0; i < frequency; i++) {
-            Particle newParticle = new Particle(x, y, (int) (Math.sqrt(velocity / 4.0)), (int) (Math.random() * 10 + 30), lifespan, colour);
-            allParticles.add(newParticle);
-            game.add(newParticle);
-        }
-    }
-
-
-    /**
-     * Updates the particles by removing those that have reached their minimum size.
-     */
-    public void updateParticles() {
-        while(allParticles.size() > 0 && allParticles.peek().getWidth() <= 0) {
-            game.remove(allParticles.poll());
+            particles.spawn(x, y, radius, (int) (particles.getRandom().nextDouble() * 10 + 30), lifespan, colour);
         }
     }
 
     /**
      * Performs the actions of the particle generator for each game iteration.
-     * If the duration is greater than 0, it creates particles, then updates and decrements the duration.
+     * If the duration is greater than 0, it creates particles, then decrements the duration.
      */
-    @Override
     public void act() {
         if (duration > 0) {
             createParticles();
         }
-        updateParticles();
         duration -= 1;
     }
 
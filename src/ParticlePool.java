@@ -0,0 +1,197 @@
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The ParticlePool class stores every live particle in a fixed set of primitive arrays.
+ * Live particles are packed into the front of the arrays; when a particle expires the last live particle is moved
+ * into its slot, so spawning never allocates and updating is a single loop over contiguous data.
+ * Once the pool is full, further spawns are dropped and counted rather than growing the arrays.
+ */
+public class ParticlePool {
+    private final int capacity;
+    private final int[] x, y, dx, dy, lifespan, totalLifespan, initialSize;
+    private final Color[] color;
+    private RandomStream random;
+    private int liveCount;
+    private long spawnedCount, droppedCount;
+
+    /**
+     * Constructs a particle pool with a hard cap on the number of live particles.
+     *
+     * @param capacity The maximum number of particles that can be alive at once.
+     * @param random   The random number stream that picks each particle's direction and size.
+     */
+    public ParticlePool(int capacity, RandomStream random) {
+        this.capacity = capacity;
+        this.random = random;
+        x = new int[capacity];
+        y = new int[capacity];
+        dx = new int[capacity];
+        dy = new int[capacity];
+        lifespan = new int[capacity];
+        totalLifespan = new int[capacity];
+        initialSize = new int[capacity];
+        color = new Color[capacity];
+    }
+
+    /**
+     * Spawns a particle in the next free slot.
+     * The per-tick movement is worked out here once, so updating the particle never needs a square root.
+     *
+     * @param centerX   The x-coordinate of the particle's center.
+     * @param centerY   The y-coordinate of the particle's center.
+     * @param r         The radius of the particle's motion range.
+     * @param size      The size of the particle.
+     * @param life      The lifespan of the particle.
+     * @param colour    The color of the particle.
+     * @return True if the particle was spawned, false if the pool was full and it was dropped.
+     */
+    public boolean spawn(int centerX, int centerY, int r, int size, int life, Color colour) {
+        if (liveCount >= capacity || life <= 0) {
+            droppedCount++;
+            return false;
+        }
+        // Pick a random direction whose x and y components add up to r * r, as the old particles did
+        double vx = random.nextDouble() * r * r * 2 - r * r;
+        double vy = (r * r - Math.abs(vx)) * Math.signum(random.nextDouble() - 0.5);
+
+        int i = liveCount++;
+        x[i] = centerX - size / 2;
+        y[i] = centerY - size / 2;
+        dx[i] = (int) (Math.signum(vx) * Math.sqrt(Math.abs(vx)));
+        dy[i] = (int) (Math.signum(vy) * Math.sqrt(Math.abs(vy)));
+        lifespan[i] = life;
+        totalLifespan[i] = life;
+        initialSize[i] = size;
+        color[i] = colour;
+        spawnedCount++;
+        return true;
+    }
+
+    /**
+     * Moves every live particle and releases the ones whose lifespan has run out.
+     */
+    public void update() {
+        int i = 0;
+        while (i < liveCount) {
+            x[i] += dx[i];
+            y[i] += dy[i];
+            if (--lifespan[i] > 0) {
+                i++;
+            } else {
+                // Fill the expired slot with the last live particle and look at the same slot again
+                release(i);
+            }
+        }
+    }
+
+    /**
+     * Paints every live particle inside the region being painted, shrinking each one in proportion to its remaining
+     * lifespan.
+     *
+     * @param g    The graphics context.
+     * @param clip The region being painted.
+     */
+    public void paint(Graphics g, Rectangle clip) {
+        for (int i = 0; i < liveCount; i++) {
+            int size = initialSize[i] * lifespan[i] / totalLifespan[i];
+            if (size <= 0) continue;
+            if (!Collision.intersects(clip.x, clip.y, clip.width, clip.height, x[i], y[i], size, size)) continue;
+            g.setColor(color[i]);
+            g.fillRect(x[i], y[i], size, size);
+        }
+    }
+
+    /**
+     * Asks for the region of every live particle to be repainted.
+     *
+     * @param layer The component the particles are drawn on.
+     */
+    public void repaint(JComponent layer) {
+        for (int i = 0; i < liveCount; i++) {
+            layer.repaint(x[i], y[i], initialSize[i], initialSize[i]);
+        }
+    }
+
+    /**
+     * Removes every particle from the pool. The spawn and drop counters are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < liveCount; i++) {
+            color[i] = null;
+        }
+        liveCount = 0;
+    }
+
+    /**
+     * Gets the maximum number of particles that can be alive at once.
+     *
+     * @return The capacity of the pool.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of particles currently alive.
+     *
+     * @return The number of live particles.
+     */
+    public int getLiveCount() {
+        return liveCount;
+    }
+
+    /**
+     * Gets the number of particles spawned since the pool was created.
+     *
+     * @return The total number of spawned particles.
+     */
+    public long getSpawnedCount() {
+        return spawnedCount;
+    }
+
+    /**
+     * Gets the number of particles dropped because the pool was full.
+     *
+     * @return The total number of dropped particles.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Frees a slot by moving the last live particle into it.
+     *
+     * @param i The index of the slot to free.
+     */
+    private void release(int i) {
+        int last = --liveCount;
+        x[i] = x[last];
+        y[i] = y[last];
+        dx[i] = dx[last];
+        dy[i] = dy[last];
+        lifespan[i] = lifespan[last];
+        totalLifespan[i] = totalLifespan[last];
+        initialSize[i] = initialSize[last];
+        color[i] = color[last];
+        color[last] = null;
+    }
+
+    /**
+     * Gets the random number stream that picks each particle's direction and size.
+     *
+     * @return The stream.
+     */
+    public RandomStream getRandom() {
+        return random;
+    }
+
+    /**
+     * Sets the random number stream that picks each particle's direction and size, such as when a new match starts.
+     *
+     * @param random The stream.
+     */
+    public void setRandom(RandomStream random) {
+        this.random = random;
+    }
+}
@@ -5,52 +5,127 @@
  */
 
 import csta.ibm.pong.Game;
+import csta.ibm.pong.GameObject;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.List;
 
 /**
  * The main class for the pong mini-game
  * Contains a single ball and two paddles
  * controlled by the 'z', 'x', 'n', and 'm' keys
+ *
+ * The rules of the game are simulated by a PongModel; this class drives it from the keyboard and the menu and keeps
+ * a Swing view of every ball, paddle, and power-up in it.
  */
-public class Pong extends Game {
+public class Pong extends Game implements PongModel.Listener, GameField {
 
 	private enum GameState {MENU, PLAYING, GAME_OVER};
 	private GameState currentState;
-	private final int WIN_SCORE = 50, PADDLE_HEIGHT = 200, BALL_RESPAWN_TIME = 200, POWERUP_RESPAWN_TIME = 50;
-	private int leftScore, rightScore, nextBallSpawn, nextPowerupSpawn;
+	private final int MAX_CATCH_UP_TICKS = 5, INFINITY_SPAWN_RATE = 20, PARTICLE_FREQUENCY = 10;
+	private final long FAST_REPLAY_NANOS = 15_000_000;
 	private boolean spacePressed;
+	private int input;
+	private final String recordDirectory = System.getProperty("pong.record");
+	private InputRecorder recorder;
+	private InputLog replay;
+	private NetClient client;
+	private long replayTick;
+	private boolean fastReplay;
+	private PongModel world;
 	private Paddle leftPaddle, rightPaddle;
-	private JLabel scoreCounter;
-	private ArrayList<Ball> allBalls = new ArrayList<>();
+	private Hud hud;
+	private MatchTick matchTick;
+	private final Runnable stateLogic = this::actStateLogic;
+	private final ArrayList<Ball> allBalls = new ArrayList<>();
 	private ArrayList<PowerUp> allPowerups = new ArrayList<>();
-	private ArrayList<ParticleGenerator> allParticleGenerators = new ArrayList<>();
+	private final ArrayList<PowerUp> sparePowerups = new ArrayList<>();
+	private EffectLayer effectLayer;
+	private final FrameStats stats = new FrameStats();
+	private StatsOverlay statsOverlay;
 	private ArrayList<Integer> toExplode;
-	private static int globalTime = 0;
 	private int mouseX = 0, mouseY = 0;
 	private Menu mainMenu;
 	private Font pixelFont;
+	private final GameLoop gameLoop;
+	private final int displayRate;
+	private final ArrayList<GameObject> steppedObjects = new ArrayList<>();
+	private final boolean fullRepaint = "full".equals(System.getProperty("pong.repaint"));
+	private boolean firstFrameShown;
 
 
 	/**
 	 * Constructs a new instance of the Pong game.
+	 *
+	 * The game normally runs one tick per timer event. Setting the system property pong.fixedStep to true runs it
+	 * from a fixed-timestep game loop instead, with the tick rate set by pong.tickRate and the display rate set by
+	 * pong.displayRate, both in frames per second. Setting pong.ballCollisions to true makes the balls bounce off
+	 * each other, and setting pong.infinity to a number of balls turns on infinity mode, which adds a swarm of up
+	 * to that many balls. The swarm is stepped with SIMD instructions when the game runs on Java 16 or newer with
+	 * --add-modules jdk.incubator.vector and the vector classes on the class path, unless pong.vector is false.
+	 * Every match draws its random numbers from a new seed, or from pong.seed every time if it is set.
+	 *
+	 * Setting pong.record to a directory records every match played into it, and setting pong.replay to one of those
+	 * recordings plays it back when the game starts, from the tick set by pong.replayFrom if it is set. The replay runs
+	 * in real time, or as fast as possible if pong.replayFast is true. Setting pong.connect to host or host:port
+	 * plays one paddle of a match run by a PongServer instead of playing on this machine alone.
+	 *
+	 * Only the parts of the window that have changed are repainted, unless pong.repaint is full, which repaints the
+	 * whole window every frame. Images are kept in video memory, unless pong.sprites is managed, which leaves them to
+	 * Java2D. Every phase of every frame is timed. F3 shows the timings on screen, and setting pong.stats to a file
+	 * writes them to it when the game exits. Each tick, and the events of a match, are also reported to Java Flight
+	 * Recorder.
+	 *
+	 * @see GameEvents
 	 */
 	public Pong() {
 		// Call the constructor of the superclass (JFrame)
 		super();
 		// Set the size of the game window
 		this.setSize(1280, 720);
+
+		// Choose between the timer-driven loop and the fixed-timestep loop
+		if (Boolean.getBoolean("pong.fixedStep")) {
+			gameLoop = new GameLoop(Integer.getInteger("pong.tickRate", 50), MAX_CATCH_UP_TICKS);
+			displayRate = Integer.getInteger("pong.displayRate", 60);
+			// Report the measured frame pacing when the game exits
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println("Game loop: " + gameLoop)));
+		} else {
+			gameLoop = null;
+			displayRate = 50;
+		}
+
+		// Repaint only what has changed, or the whole window every frame if asked to, timing every paint pass; then
+		// write out the frame timings when the game exits if asked to
+		RepaintManager.setCurrentManager(fullRepaint ? new TimedRepaintManager(stats, getRootPane())
+				: new DamageRepaintManager(stats, getRootPane()));
+		String statsFile = System.getProperty("pong.stats");
+		if (statsFile != null) {
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					stats.dump(Paths.get(statsFile));
+				} catch (IOException e) {
+					System.out.println("Could not write frame timings: " + e);
+				}
+			}));
+		}
 		this.addKeyListener(new KeyListener() {
 			public void keyTyped(KeyEvent e) {
 			}
 
 			public void keyPressed(KeyEvent e) {
+				// Show or hide the frame timings
+				if (e.getKeyCode() == KeyEvent.VK_F3 && statsOverlay != null) {
+					statsOverlay.setVisible(!statsOverlay.isVisible());
+				}
 				char pressed = Character.toUpperCase(e.getKeyChar());
 				switch(pressed) {
 					case ' ':
@@ -76,6 +151,17 @@ public class Pong extends Game {
 		initializeMenu();
 		initializeGame();
 
+		// Replay a recorded match if one was given
+		String replayFile = System.getProperty("pong.replay");
+		if (replayFile != null) {
+			startReplay(Paths.get(replayFile), Long.getLong("pong.replayFrom", 0L));
+		}
+
+		// Play a match run by a server if one was given
+		String server = System.getProperty("pong.connect");
+		if (server != null) {
+			connect(server);
+		}
 	}
 
 	/**
@@ -92,34 +178,49 @@ public class Pong extends Game {
 	 * Initializes the game components and sets up the initial game state.
 	 */
 	private void initializeGame() {
-		// Set the delay for the game loop.
-		setDelay(20);
+		// Set the delay for the game loop, which is the display rate when running at a fixed timestep.
+		setDelay(1000 / Math.max(1, displayRate));
+
+		// Create the simulated world and listen for balls and power-ups entering and leaving it.
+		world = new PongModel(getFieldWidth(), getFieldHeight());
+		world.setListener(this);
+		world.setBallCollisions(Boolean.getBoolean("pong.ballCollisions"));
+		world.setInfinity(Integer.getInteger("pong.infinity", 0), INFINITY_SPAWN_RATE);
 
 		// Create left and right paddles.
-		leftPaddle = new Paddle(40, PADDLE_HEIGHT, true);
-		rightPaddle = new Paddle(40, PADDLE_HEIGHT, false);
+		leftPaddle = new Paddle(world.getLeftPaddle());
+		rightPaddle = new Paddle(world.getRightPaddle());
 
 		// Add left and right paddles to the game.
 		add(leftPaddle);
 		add(rightPaddle);
 
-		try {
-			// Load the custom font for the game.
-			pixelFont = Font.createFont(Font.TRUETYPE_FONT, getClass().getResourceAsStream("/ARCADECLASSIC.TTF"));
-		} catch (IOException | FontFormatException e) {
-			// Handle font loading exceptions.
-			System.out.println(e);
+		// Draw the swarm of balls in infinity mode behind the paddles.
+		if (world.getSwarm() != null) {
+			add(new SwarmLayer(this, world.getSwarm()));
 		}
 
-		// Create and configure the score counter label.
-		scoreCounter = new JLabel("0     0");
-		scoreCounter.setFont(pixelFont.deriveFont(Font.BOLD, 48f));
-		scoreCounter.setForeground(Color.WHITE);
-		scoreCounter.setBounds(0, 20, getFieldWidth(), getFieldHeight() / 10);
-		scoreCounter.setHorizontalAlignment(SwingConstants.CENTER);
-		add(scoreCounter);
+		// Get the custom font for the game, which has been loading since the game started.
+		pixelFont = Assets.font().join();
+
+		// Create the HUD that draws the score.
+		hud = new Hud(this, pixelFont.deriveFont(Font.BOLD, 48f));
+		add(hud);
+
+		// Create the layer that draws every trail and particle, kept behind all other objects.
+		effectLayer = new EffectLayer(this, world.getRandom().effects());
+		add(effectLayer);
+
+		// Create the frame timing overlay, kept in front of all other objects
+		statsOverlay = new StatsOverlay(stats, world, effectLayer);
+		statsOverlay.setVisible(Boolean.getBoolean("pong.statsOverlay"));
+		add(statsOverlay);
+		getContentPane().setComponentZOrder(statsOverlay, 0);
 		repaint();
 
+		// Create the tick shared with AllocationGate, which updates the world and every view that follows it.
+		matchTick = new MatchTick(world, allBalls, effectLayer, hud, stats);
+
 		// Reset the game state.
 		resetGame();
 
@@ -146,23 +247,19 @@ public class Pong extends Game {
 		}
 		allPowerups.clear();
 
-		// Reset scores, next power-up spawn time, next ball spawn time, and global time.
-		leftScore = 0;
-		rightScore = 0;
-		nextPowerupSpawn = 0;
-		nextBallSpawn = 0;
-		globalTime = 0;
-
-		// Reset left and right paddles.
-		leftPaddle.reset();
-		rightPaddle.reset();
+		// Reset scores, spawn timers, time, and the paddles in the simulated world, and start the next match from a
+		// new seed, or from pong.seed every time if it is set.
+		world.setFieldSize(getFieldWidth(), getFieldHeight());
+		world.reset(Long.getLong("pong.seed", MatchRandom.newSeed()));
+		effectLayer.getParticles().setRandom(world.getRandom().effects());
 
-		// Reset the y-coordinate of left and right paddles to the center of the game field.
-		leftPaddle.setY((getFieldHeight() - leftPaddle.getHeight()) / 2);
-		rightPaddle.setY((getFieldHeight() - rightPaddle.getHeight()) / 2);
+		// Record the match that is starting, if recording is turned on
+		if (currentState == GameState.PLAYING && replay == null && recordDirectory != null) {
+			startRecording();
+		}
 
-		// Update the score counter text to display the reset scores.
-		scoreCounter.setText("0     0");
+		// Show the reset scores.
+		hud.setScore(0, 0);
 	}
 
 
@@ -172,15 +269,16 @@ public class Pong extends Game {
 	 * @param isIdle a boolean indicating if the game is currently idle
 	 */
 	public void checkForWin(boolean isIdle) {
+		BallModel.Owner winner = world.checkForWin();
 		// Check if the left player has won.
-		if (leftScore >= rightScore + 2 && leftScore >= WIN_SCORE) {
+		if (winner == BallModel.Owner.LEFT) {
 			// Uncomment the line below to display the winning message.
 			// Reset the game if it's idle, otherwise stop the game.
 			if (isIdle) resetGame();
 			else endGame(true);
 
 			// Check if the right player has won.
-		} else if (rightScore >= leftScore + 2 && rightScore >= WIN_SCORE) {
+		} else if (winner == BallModel.Owner.RIGHT) {
 			// Uncomment the line below to display the winning message.
 			// Reset the game if it's idle, otherwise stop the game.
 			if (isIdle) resetGame();
@@ -198,17 +296,24 @@ public class Pong extends Game {
 		toExplode = new ArrayList<>();
 
 		// Add indices of balls and powerups to the list
-		for (int i = 0; i < allBalls.size() + allPowerups.size(); i++) {
+		List<BallModel> balls = world.getBalls();
+		for (int i = 0; i < balls.size() + world.getPowerUps().size(); i++) {
 			toExplode.add(i);
-			if (i < allBalls.size()) {
+			if (i < balls.size()) {
 				// Stop all balls by setting their velocity to 0
-				allBalls.get(i).setVX(0);
-				allBalls.get(i).setVY(0);
+				balls.get(i).setVX(0);
+				balls.get(i).setVY(0);
 			}
 		}
+		// Stop the swarm too; it is cleared once the explosions are over
+		if (world.getSwarm() != null) {
+			world.getSwarm().stop();
+		}
+		// The match is over, so finish its recording
+		stopRecording();
 
 		// Shuffle the list to randomize the explosion effect
-		Collections.shuffle(toExplode);
+		world.getRandom().effects().shuffle(toExplode);
 
 		// Set the winner in the main menu
 		mainMenu.setWinner(leftWin);
@@ -220,129 +325,321 @@ public class Pong extends Game {
 
 
 	/**
-	 * Updates the scoring in the game.
+	 * Advances the game for one timer event.
+	 *
+	 * Without a fixed-timestep loop this runs a single tick, and the game objects are updated afterwards by the
+	 * timer. With one, it works out how many ticks are due from the real time that has passed, runs each of them
+	 * together with every game object's act(), and then draws the balls and paddles interpolated between the last
+	 * two ticks so movement stays smooth when the tick rate and display rate differ.
+	 *
+	 * @see #tick()
+	 * @see GameLoop#advance(long)
 	 */
-	public void updateScoring() {
-		// Iterate through all balls in the game.
-		for (Ball currentBall : allBalls) {
-			// Check if the ball is out of bounds on the right side.
-			if (currentBall.getX() > getFieldWidth()) {
-				// Increment left player's score and reset the ball's position.
-				leftScore++;
-				currentBall.resetPosition(getFieldWidth(), getFieldHeight());
-			}
-			// Check if the ball is out of bounds on the left side.
-			else if (currentBall.getX() + currentBall.getWidth() < 0) {
-				// Increment right player's score and reset the ball's position.
-				rightScore++;
-				currentBall.resetPosition(getFieldWidth(), getFieldHeight());
+	public void act() {
+		if (!firstFrameShown) {
+			firstFrameShown = true;
+			Assets.logFirstFrame();
+		}
+		stats.startFrame();
+		stats.countComponents(getContentPane().getComponentCount());
+		if (fullRepaint) {
+			getRootPane().repaint();
+		}
+		if (replay != null && fastReplay) {
+			actFastReplay();
+			return;
+		}
+		if (gameLoop == null) {
+			tick();
+			return;
+		}
+
+		int ticks = gameLoop.advance(System.nanoTime());
+		for (int i = 0; i < ticks; i++) {
+			// Remember where everything was before this tick
+			world.storePreviousPositions();
+			tick();
+			// Update every game object, as the timer does when there is no fixed-timestep loop
+			for (int j = 0; j < steppedObjects.size(); j++) {
+				steppedObjects.get(j).act();
 			}
 		}
 
-		// Update the score counter text to display the updated scores.
-		scoreCounter.setText(leftScore + "     " + rightScore);
-		// Adjust the position of the score counter.
-		scoreCounter.setBounds(0, 20, getFieldWidth(), getFieldHeight() / 10);
+		// Draw the paddles and balls between the previous and current tick
+		double alpha = gameLoop.getAlpha();
+		leftPaddle.showInterpolated(alpha);
+		rightPaddle.showInterpolated(alpha);
+		for (Ball currentBall : allBalls) {
+			currentBall.showInterpolated(alpha);
+		}
 	}
 
 
 	/**
-	 * Checks for collisions between power-ups and balls, generates particles, and manages power-up lifespan.
+	 * Performs actions based on the current state of the game.
 	 *
-	 * This method iterates through all active power-ups in the game. For each power-up, it checks for collisions
-	 * with each ball in play. If a collision is detected, particles are generated at the collision point, the power-up
-	 * is removed from the game, and the loop moves to the next power-up. If no collision is detected, the power-up is
-	 * retained for further use. After iterating through all power-ups, the list of active power-ups is updated to contain
-	 * only those that are still in play. Additionally, it invokes the checkGeneratorLifespan method to manage the lifespan
-	 * of particle generators.
+	 * This method acts as the main controller for game logic. It reads the input of the tick, then runs the
+	 * MatchTick, which updates the world, the trails, and the score, runs the logic of the current game state, and
+	 * finally moves the paddles and balls of the simulated world.
 	 *
-	 * @see PowerUp
-	 * @see Ball
-	 * @see #checkGeneratorLifespan()
-	 */
-	public void checkPowerupCollision() {
-		// List to store power-ups that are not collided with any ball.
-		ArrayList<PowerUp> carriedOver = new ArrayList<>();
-		// Iterate through all active power-ups
-		for (PowerUp currentPowerUp: allPowerups) {
-			boolean collided = false;
-			// Check for collision with each ball
-			for (Ball currentBall: allBalls) {
-				// If collision detected, generate particles, remove power-up, and break the loop
-				if (currentPowerUp.checkCollides(currentBall, leftPaddle, rightPaddle, this)) {
-					collided = true;
-					addNewParticleGenerator(
-							currentPowerUp.getX() + currentPowerUp.getWidth() / 2,
-							currentPowerUp.getY() + currentPowerUp.getWidth() / 2,
-							1,
-							currentBall.getVX() * currentBall.getVX() + currentBall.getVY() * currentBall.getVY(),
-							7,
-							currentPowerUp.getColor()
-					);
-					remove(currentPowerUp);
-					break;
-				}
-			}
-			// If no collision detected, retain power-up
-			if (!collided) {
-				carriedOver.add(currentPowerUp);
-			}
+	 * @see MatchTick#run(long, boolean, Runnable)
+	 * @see #actStateLogic()
+	 */
+	private void tick() {
+		long start = System.nanoTime();
+		// A client shows the server's match instead of simulating its own
+		if (client != null) {
+			tickClient();
+			stats.lap(FrameStats.Phase.TICK, start);
+			return;
+		}
+		// Keep the simulated world the same size as the window, except in a replay, which keeps the recorded size
+		if (replay == null) {
+			world.setFieldSize(getFieldWidth(), getFieldHeight());
+		}
+		// Poll the keys once for the whole tick, or read them from the replay
+		input = replay != null ? nextReplayInput() : pollInput();
+		// Record the tick while a match is being played
+		if (recorder != null && currentState == GameState.PLAYING) {
+			recordTick();
+		}
+		// Perform general game logic, with the logic of the current state, then move everything; nothing is spawned
+		// once the game is over
+		matchTick.run(start, currentState != GameState.GAME_OVER, stateLogic);
+	}
+
+
+	/**
+	 * Switches between game states and executes the logic specific to the current one.
+	 *
+	 * @see #actMenuLogic()
+	 * @see #actPlayerLogic()
+	 * @see #actGameOverLogic()
+	 */
+	private void actStateLogic() {
+		switch (currentState) {
+			case MENU: actMenuLogic(); break;
+			case PLAYING: actPlayerLogic(); break;
+			case GAME_OVER: actGameOverLogic(); break;
 		}
-		// Update the list of all power-ups to contain only those that are still in play
-		allPowerups = carriedOver;
-		// Manage the lifespan of particle generators
-		checkGeneratorLifespan();
 	}
 
 
 	/**
-	 * Checks the lifespan of particle generators and removes those that have finished.
+	 * Connects to a PongServer. From then on every tick sends it the keys held and shows its match.
 	 *
-	 * This method iterates through all particle generators currently active in the game. If a generator
-	 * has finished its lifespan, it is removed from the list of active generators. Otherwise, it is
-	 * retained for further use in the game. After the iteration, the list of active generators is updated
-	 * to contain only the ones that are still active.
+	 * @param address The address of the server, as host or host:port.
+	 */
+	private void connect(String address) {
+		try {
+			client = new NetClient(NetClient.parseAddress(address));
+		} catch (IOException e) {
+			// Play on this machine instead
+			System.out.println(e);
+		}
+	}
+
+
+	/**
+	 * Runs a single tick as a client of a server: sends the keys held, shows the newest snapshot of the server's
+	 * match with this player's paddle predicted ahead of it, and follows the server from the menu into the match and
+	 * on to the game-over screen.
 	 *
-	 * @see ParticleGenerator
-	 */
-	public void checkGeneratorLifespan() {
-		ArrayList<ParticleGenerator> carriedOver = new ArrayList<>();
-		// Iterate through all particle generators
-		for (ParticleGenerator currentGenerator: allParticleGenerators) {
-			// Check if the current generator has finished its lifespan
-			if (currentGenerator.isFinished()) {
-				// If generator has finished, remove it from the list of active generators
-				remove(currentGenerator);
+	 * @see NetClient#apply(PongModel)
+	 */
+	private void tickClient() {
+		input = pollInput();
+		try {
+			client.sendInput(NetProtocol.paddleInput(input));
+			client.receive();
+		} catch (IOException e) {
+			System.out.println(e);
+		}
+		// The snapshot adds views for new balls and power-ups through the listener; drop the views of the rest
+		client.apply(world);
+		syncNetworkViews();
+		for (Ball currentBall : allBalls) {
+			currentBall.updateTrail(effectLayer);
+		}
+		hud.setScore(world.getLeftScore(), world.getRightScore());
+
+		switch (client.getPhase()) {
+			case NetProtocol.WAITING:
+				if (currentState != GameState.MENU) setStateMenu();
+				mainMenu.updateVisibility(true, false);
+				break;
+			case NetProtocol.PLAYING:
+				if (currentState != GameState.PLAYING) setStatePlaying();
+				mainMenu.updateVisibility(false, false);
+				break;
+			case NetProtocol.OVER:
+				if (currentState != GameState.GAME_OVER) {
+					mainMenu.setWinner(client.getWinner() == BallModel.Owner.LEFT);
+					setStateOver();
+				}
+				mainMenu.updateVisibility(true, true);
+				break;
+		}
+	}
+
+
+	/**
+	 * Removes the views of balls and power-ups that are no longer in the world after a snapshot, and moves the views
+	 * of power-ups that are still there to where the snapshot put them.
+	 */
+	private void syncNetworkViews() {
+		List<BallModel> balls = world.getBalls();
+		for (int i = allBalls.size() - 1; i >= 0; i--) {
+			if (!balls.contains(allBalls.get(i).getModel())) {
+				remove(allBalls.remove(i));
+			}
+		}
+		List<PowerUpModel> powerUps = world.getPowerUps();
+		for (int i = allPowerups.size() - 1; i >= 0; i--) {
+			PowerUp view = allPowerups.get(i);
+			if (powerUps.contains(view.getModel())) {
+				view.refresh();
 			} else {
-				// If generator is still active, add it to the list of carried over generators
-				carriedOver.add(currentGenerator);
+				// The world keeps power-ups that leave it to reuse, so keep the view to go with it
+				remove(allPowerups.remove(i));
+				sparePowerups.add(view);
 			}
 		}
-		// Update the list of all particle generators to contain only the ones that are still active
-		allParticleGenerators = carriedOver;
 	}
 
 
 	/**
-	 * Performs actions based on the current state of the game.
+	 * Reads the keys the game is controlled with.
 	 *
-	 * This method acts as the main controller for game logic. It first executes general game logic through the
-	 * actGameLogic method. Then, it updates the visibility of the main menu based on the current game state.
-	 * Finally, it switches between different game states and executes specific logic accordingly.
+	 * @return The keys held, as a combination of InputRecorder.LEFT_UP (Z), LEFT_DOWN (X), RIGHT_UP (N),
+	 * RIGHT_DOWN (M), and SPACE.
+	 */
+	private int pollInput() {
+		int keys = 0;
+		if (ZKeyPressed()) keys |= InputRecorder.LEFT_UP;
+		if (XKeyPressed()) keys |= InputRecorder.LEFT_DOWN;
+		if (NKeyPressed()) keys |= InputRecorder.RIGHT_UP;
+		if (MKeyPressed()) keys |= InputRecorder.RIGHT_DOWN;
+		if (spacePressed) keys |= InputRecorder.SPACE;
+		return keys;
+	}
+
+
+	/**
+	 * Starts recording the match that has just been reset into a new file in the pong.record directory.
+	 */
+	private void startRecording() {
+		stopRecording();
+		long seed = world.getRandom().getSeed();
+		Path file = Paths.get(recordDirectory, "match-" + Long.toHexString(seed) + ".pongrec");
+		try {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			recorder = new InputRecorder(file, seed, InputRecorder.DEFAULT_KEYFRAME_INTERVAL);
+			// A replay keeps the field at its recorded size, so the window must keep its size until the match is over
+			setResizable(false);
+		} catch (IOException e) {
+			// Play on without recording
+			System.out.println(e);
+		}
+	}
+
+
+	/**
+	 * Records the input of the tick that is about to run, stopping the recording if the file cannot grow.
+	 */
+	private void recordTick() {
+		try {
+			recorder.record(input, world);
+		} catch (IOException e) {
+			System.out.println(e);
+			stopRecording();
+		}
+	}
+
+
+	/**
+	 * Finishes the recording of the current match, if there is one.
+	 */
+	private void stopRecording() {
+		if (recorder == null) {
+			return;
+		}
+		try {
+			recorder.close();
+		} catch (IOException e) {
+			System.out.println(e);
+		}
+		recorder = null;
+		setResizable(true);
+	}
+
+
+	/**
+	 * Starts replaying a recorded match from the last keyframe at or before a tick, then plays on to that tick.
 	 *
-	 * @see #actGameLogic()
-	 * @see Menu#updateVisibility(boolean, boolean)
-	 * @see #actMenuLogic()
-	 * @see #actPlayerLogic()
+	 * @param file The recording.
+	 * @param fromTick The tick to start watching from.
 	 */
-	public void act() {
-		// Perform general game logic
-		actGameLogic();
-		// Switch between game states and execute specific logic
-		switch (currentState) {
-			case MENU: actMenuLogic(); break;
-			case PLAYING: actPlayerLogic(); break;
-			case GAME_OVER: actGameOverLogic(); break;
+	private void startReplay(Path file, long fromTick) {
+		try {
+			replay = new InputLog(file);
+		} catch (IOException e) {
+			System.out.println(e);
+			return;
+		}
+		fastReplay = Boolean.getBoolean("pong.replayFast");
+		setStatePlaying();
+		resetGame();
+		replayTick = replay.restore(fromTick, world);
+
+		// The world was replaced without telling the listener, so build the views of its balls and power-ups again
+		for (BallModel ball : world.getBalls()) {
+			ballAdded(ball);
+		}
+		for (PowerUpModel powerUp : world.getPowerUps()) {
+			powerUpAdded(powerUp);
+		}
+
+		// Play on from the keyframe to the tick asked for
+		while (replay != null && replayTick < fromTick) {
+			tick();
+		}
+	}
+
+
+	/**
+	 * Reads the input of the next tick of the replay, ending the replay once the recording runs out.
+	 *
+	 * @return The recorded keys, or the keys held now once the replay has ended.
+	 */
+	private int nextReplayInput() {
+		if (replayTick >= replay.getTickCount()) {
+			try {
+				replay.close();
+			} catch (IOException e) {
+				System.out.println(e);
+			}
+			replay = null;
+			return pollInput();
+		}
+		return replay.getInput(replayTick++);
+	}
+
+
+	/**
+	 * Runs as many ticks of the replay as fit in one frame, for watching a replay as fast as possible.
+	 */
+	private void actFastReplay() {
+		long deadline = System.nanoTime() + FAST_REPLAY_NANOS;
+		do {
+			world.storePreviousPositions();
+			tick();
+		} while (replay != null && System.nanoTime() < deadline);
+		// Update every game object once per frame, as the timer does when there is no fixed-timestep loop
+		if (gameLoop != null) {
+			for (int j = 0; j < steppedObjects.size(); j++) {
+				steppedObjects.get(j).act();
+			}
 		}
 	}
 
@@ -353,32 +650,29 @@ public class Pong extends Game {
 	 * This method handles player input for controlling the paddles. If certain keys are pressed, it triggers
 	 * the corresponding paddle movement (up or down). Additionally, it checks for win conditions in the game.
 	 *
-	 * @see Paddle#moveUp()
-	 * @see Paddle#moveDown()
-	 * @see #ZKeyPressed()
-	 * @see #XKeyPressed()
-	 * @see #NKeyPressed()
-	 * @see #MKeyPressed()
+	 * @see PaddleModel#moveUp()
+	 * @see PaddleModel#moveDown()
+	 * @see #pollInput()
 	 * @see #checkForWin(boolean)
 	 */
 	private void actPlayerLogic() {
 		// Update main menu visibility based on current game state
 		mainMenu.updateVisibility(false, false);
 		// Move left paddle up if Z key is pressed
-		if (ZKeyPressed()) {
-			leftPaddle.moveUp();
+		if ((input & InputRecorder.LEFT_UP) != 0) {
+			world.getLeftPaddle().moveUp();
 		}
 		// Move left paddle down if X key is pressed
-		if (XKeyPressed()) {
-			leftPaddle.moveDown();
+		if ((input & InputRecorder.LEFT_DOWN) != 0) {
+			world.getLeftPaddle().moveDown();
 		}
 		// Move right paddle up if N key is pressed
-		if (NKeyPressed()) {
-			rightPaddle.moveUp();
+		if ((input & InputRecorder.RIGHT_UP) != 0) {
+			world.getRightPaddle().moveUp();
 		}
 		// Move right paddle down if M key is pressed
-		if (MKeyPressed()) {
-			rightPaddle.moveDown();
+		if ((input & InputRecorder.RIGHT_DOWN) != 0) {
+			world.getRightPaddle().moveDown();
 		}
 
 		// Check for win conditions
@@ -394,88 +688,25 @@ public class Pong extends Game {
 	 * Additionally, it checks for win conditions in the game if applicable.
 	 *
 	 * @see Menu#processPressed(boolean, boolean, boolean, boolean, Pong)
-	 * @see Paddle#idle(ArrayList)
-	 * @see #ZKeyPressed()
-	 * @see #XKeyPressed()
-	 * @see #NKeyPressed()
-	 * @see #MKeyPressed()
+	 * @see PongModel#idle()
+	 * @see #pollInput()
 	 * @see #checkForWin(boolean)
 	 */
 	private void actMenuLogic() {
 		// Update main menu visibility based on current game state
 		mainMenu.updateVisibility(true, false);
 		// Increment global time counter
-		globalTime += 1;
+		world.advanceClock();
 		// Process user input to navigate menu options
-		mainMenu.processPressed(ZKeyPressed(), XKeyPressed(), NKeyPressed(), MKeyPressed(), this);
-		// Ensure left paddle remains idle
-		leftPaddle.idle(allBalls);
-		// Ensure right paddle remains idle
-		rightPaddle.idle(allBalls);
+		mainMenu.processPressed((input & InputRecorder.LEFT_UP) != 0, (input & InputRecorder.LEFT_DOWN) != 0,
+				(input & InputRecorder.RIGHT_UP) != 0, (input & InputRecorder.RIGHT_DOWN) != 0, this);
+		// Ensure both paddles remain idle
+		world.idle();
 		// Check for win conditions if applicable
 		checkForWin(true);
 	}
 
 
-	/**
-	 * Executes general game logic.
-	 *
-	 * This method handles various aspects of the game logic. It increments the global time counter, checks for
-	 * collisions between balls and paddles, updates ball positions after collisions, updates scoring, checks for
-	 * collisions between power-ups and balls, and manages the spawning of new balls and power-ups. Additionally,
-	 * it updates the dimensions of the paddles based on the screen size.
-	 *
-	 * @see Ball#checkPaddleCollision(Paddle, Paddle)
-	 * @see Ball#checkVerticalCollision(int)
-	 * @see Ball#updateTrail(Pong)
-	 * @see #updateScoring()
-	 * @see #checkPowerupCollision()
-	 * @see Paddle#setScreenHeight(int)
-	 * @see Paddle#setScreenWidth(int)
-	 * @see #getFieldHeight()
-	 * @see #getFieldWidth()
-	 * @see #addNewBall()
-	 * @see #addNewPowerup()
-	 */
-	private void actGameLogic() {
-		// Increment global time counter
-		globalTime += 1;
-
-		// Iterate through all balls and handle collisions, trail update
-		for (Ball currentBall: allBalls) {
-			currentBall.checkPaddleCollision(leftPaddle, rightPaddle);
-			currentBall.checkVerticalCollision(getFieldHeight());
-			currentBall.updateTrail(this);
-		}
-
-		// Update scoring
-		updateScoring();
-
-		// Check for collisions between power-ups and balls
-		checkPowerupCollision();
-
-		// Update paddles with the screen dimensions
-		leftPaddle.setScreenHeight(getFieldHeight());
-		rightPaddle.setScreenHeight(getFieldHeight());
-		leftPaddle.setScreenWidth(getFieldWidth());
-		rightPaddle.setScreenWidth(getFieldWidth());
-
-		if (currentState != GameState.GAME_OVER) {
-			// Spawn new ball if necessary
-			if (globalTime > nextBallSpawn) {
-				nextBallSpawn += BALL_RESPAWN_TIME;
-				addNewBall();
-			}
-
-			// Spawn new power-up if necessary
-			if (globalTime > nextPowerupSpawn) {
-				nextPowerupSpawn += POWERUP_RESPAWN_TIME;
-				addNewPowerup();
-				repaint();
-			}
-		}
-	}
-
 	/**
 	 * Handles the game logic when the game is over.
 	 */
@@ -484,31 +715,33 @@ public class Pong extends Game {
 		mainMenu.updateVisibility(true, true);
 
 		// Check if space bar is pressed to return to the main menu
-		if (spacePressed) {
+		if ((input & InputRecorder.SPACE) != 0) {
 			setStateMenu();
 		}
 
+		List<BallModel> balls = world.getBalls();
+		List<PowerUpModel> powerUps = world.getPowerUps();
 		// Check if there are elements to explode
 		if (toExplode.size() > 0) {
 			// Get the index of the next element to explode
 			int toRemove = toExplode.get(0);
 
 			// If the index is for a powerup
-			if (toRemove >= allBalls.size()) {
+			if (toRemove >= balls.size()) {
 				// Get the powerup at the specified index
-				PowerUp p = allPowerups.get(toRemove - allBalls.size());
+				PowerUpModel p = powerUps.get(toRemove - balls.size());
 
 				// Create particle generator for the powerup explosion
-				addNewParticleGenerator(p.getX(), p.getY(), 1, (int) (Math.random() * 50 + 200), 7, p.getColor());
+				addNewParticleGenerator(p.getX(), p.getY(), 1, (int) (world.getRandom().effects().nextDouble() * 50 + 200), 7, Palette.powerUpColor(p.getType()));
 
 				// Remove the powerup from the game
-				remove(p);
+				removePowerUpView(p);
 			} else {
 				// If the index is for a ball
-				Ball b = allBalls.get(toRemove);
+				BallModel b = balls.get(toRemove);
 
 				// Create particle generator for the ball explosion
-				addNewParticleGenerator(b.getX(), b.getY(), 1, (int) (Math.random() * 50 + 200), 7, b.getColor());
+				addNewParticleGenerator(b.getX(), b.getY(), 1, (int) (world.getRandom().effects().nextDouble() * 50 + 200), 7, Palette.ballColor(b.getOwner()));
 
 				// Remove the ball from the game
 				b.selfDestruct();
@@ -520,29 +753,26 @@ public class Pong extends Game {
 			for (Ball b : allBalls) {
 				remove(b);
 			}
+			for (PowerUp p : allPowerups) {
+				remove(p);
+			}
 			allBalls.clear();
 			allPowerups.clear();
+			world.clearObjects();
 		}
 	}
 
 
-
 	/**
-	 * Adds a new ball to the game.
-	 * This method creates a new ball object and adds it to the game if the maximum ball limit has not been reached.
-	 * The new ball is created with random initial position and velocity within the game field boundaries.
+	 * Adds a view for a ball that has been added to the world.
 	 *
-	 * @see Ball
-	 * @see #getFieldWidth()
-	 * @see #getFieldHeight()
+	 * @param ball The new ball.
+	 * @see PongModel#addNewBall()
 	 */
-	public void addNewBall() {
-		// Check if the maximum ball limit has been reached
-		if (allBalls.size() > 50) {
-			return;
-		}
-		// Create a new ball with random initial position and velocity
-		Ball newBall = new Ball(getFieldWidth(), getFieldHeight());
+	@Override
+	public void ballAdded(BallModel ball) {
+		// Create a view that follows the new ball
+		Ball newBall = new Ball(ball);
 		// Add the new ball to the list of all balls
 		allBalls.add(newBall);
 		// Add the new ball to the game canvas
@@ -551,22 +781,25 @@ public class Pong extends Game {
 
 
 	/**
-	 * Adds a new power-up to the game.
-	 *
-	 * This method creates a new power-up object and adds it to the game if the maximum power-up limit has not been reached.
-	 * The new power-up is created with random initial position within the game field boundaries.
+	 * Adds a view for a power-up that has been added to the world.
 	 *
-	 * @see PowerUp
-	 * @see #getFieldWidth()
-	 * @see #getFieldHeight()
+	 * @param powerUp The new power-up.
+	 * @see PongModel#addNewPowerup()
 	 */
-	private void addNewPowerup() {
-		// Check if the maximum power-up limit has been reached
-		if (allPowerups.size() > 50) {
-			return;
+	@Override
+	public void powerUpAdded(PowerUpModel powerUp) {
+		// Reuse the view the power-up had when it was last collected, or create a view of the new power-up
+		PowerUp newPowerup = null;
+		for (int i = 0; i < sparePowerups.size(); i++) {
+			if (sparePowerups.get(i).getModel() == powerUp) {
+				newPowerup = sparePowerups.remove(i);
+				newPowerup.refresh();
+				break;
+			}
+		}
+		if (newPowerup == null) {
+			newPowerup = new PowerUp(powerUp);
 		}
-		// Create a new power-up with random initial position
-		PowerUp newPowerup = new PowerUp(getFieldWidth(), getFieldHeight());
 		// Add the new power-up to the list of all power-ups
 		allPowerups.add(newPowerup);
 		// Add the new power-up to the game canvas
@@ -574,31 +807,67 @@ public class Pong extends Game {
 	}
 
 
+	/**
+	 * Shows a power-up being collected by generating particles where it was and removing its view.
+	 *
+	 * @param powerUp The collected power-up.
+	 * @param ball The ball that collected it.
+	 */
+	@Override
+	public void powerUpCollected(PowerUpModel powerUp, BallModel ball) {
+		int centerX = powerUp.getX() + powerUp.getSize() / 2;
+		int centerY = powerUp.getY() + powerUp.getSize() / 2;
+		int speed = ball.getVX() * ball.getVX() + ball.getVY() * ball.getVY();
+		addNewParticleGenerator(centerX, centerY, 1, speed, 7, Palette.powerUpColor(powerUp.getType()));
+		// The world reuses collected power-ups, so keep the view to go with it
+		PowerUp view = removePowerUpView(powerUp);
+		if (view != null) {
+			sparePowerups.add(view);
+		}
+	}
+
+
+	/**
+	 * Removes the view of a power-up from the game.
+	 *
+	 * @param powerUp The power-up whose view should be removed.
+	 * @return The view removed, or null if the power-up had none.
+	 */
+	private PowerUp removePowerUpView(PowerUpModel powerUp) {
+		for (int i = 0; i < allPowerups.size(); i++) {
+			if (allPowerups.get(i).getModel() == powerUp) {
+				PowerUp view = allPowerups.remove(i);
+				remove(view);
+				return view;
+			}
+		}
+		return null;
+	}
+
+
 	/**
 	 * Adds a new particle generator to the game.
 	 *
-	 * This method creates a new particle generator object and adds it to the game. The particle generator is created
-	 * with the specified position, velocity, size, color, and reference to the game instance.
+	 * This method starts a burst of particles on the effect layer with the specified position, velocity, size, and
+	 * color, reusing a particle generator that has finished if there is one.
 	 *
 	 * @param x The x-coordinate of the particle generator's position.
 	 * @param y The y-coordinate of the particle generator's position.
 	 * @param velocity The velocity of the particles emitted by the generator.
 	 * @param color The color of the particles emitted by the generator.
-	 * @see ParticleGenerator
+	 * @see EffectLayer#addBurst(int, int, int, int, int, int, Color)
 	 */
 	private void addNewParticleGenerator(int x, int y, int duration, int velocity, int lifespan, Color color) {
-		// Create a new particle generator with the specified parameters
-		ParticleGenerator newParticleGenerator = new ParticleGenerator(x, y, duration, velocity, 10, lifespan, color, this);
-		// Add the new particle generator to the list of all particle generators
-		allParticleGenerators.add(newParticleGenerator);
-		// Add the new particle generator to the game canvas
-		add(newParticleGenerator);
+		// Start a burst on the effect layer, which reuses a finished generator and updates it until it has finished
+		effectLayer.addBurst(x, y, duration, velocity, PARTICLE_FREQUENCY, lifespan, color);
+		GameEvents.particleBurst(duration * PARTICLE_FREQUENCY, lifespan);
 	}
 
 	/**
 	 * Sets the game state to MENU.
 	 */
 	public void setStateMenu() {
+		GameEvents.stateChanged(currentState, GameState.MENU);
 		currentState = GameState.MENU;
 	}
 
@@ -606,6 +875,7 @@ public class Pong extends Game {
 	 * Sets the game state to PLAYING.
 	 */
 	public void setStatePlaying() {
+		GameEvents.stateChanged(currentState, GameState.PLAYING);
 		currentState = GameState.PLAYING;
 	}
 
@@ -613,9 +883,61 @@ public class Pong extends Game {
 	 * Sets the game state to GAME_OVER.
 	 */
 	public void setStateOver() {
+		GameEvents.stateChanged(currentState, GameState.GAME_OVER);
 		currentState = GameState.GAME_OVER;
 	}
 
+	/**
+	 * Adds a game object to the game, keeping the effect layer behind every other object.
+	 *
+	 * Swing paints the last child of a container first, so the effect layer is moved back to the end of the
+	 * component list whenever something new is added after it. When running at a fixed timestep, the object is
+	 * updated by the game loop instead of the timer.
+	 *
+	 * @param object The game object to add.
+	 */
+	@Override
+	public void add(GameObject object) {
+		if (gameLoop != null) {
+			steppedObjects.add(object);
+			getContentPane().add(object);
+		} else {
+			super.add(object);
+		}
+		if (effectLayer != null && object != effectLayer) {
+			getContentPane().setComponentZOrder(effectLayer, getContentPane().getComponentCount() - 1);
+		}
+		// Only changed regions are repainted, so draw the new object where it is
+		object.repaint();
+	}
+
+	/**
+	 * Removes a game object from the game.
+	 *
+	 * @param object The game object to remove.
+	 */
+	@Override
+	public void remove(GameObject object) {
+		// Only changed regions are repainted, so erase the object from where it was drawn
+		object.repaint();
+		if (gameLoop != null) {
+			steppedObjects.remove(object);
+			getContentPane().remove(object);
+		} else {
+			super.remove(object);
+		}
+	}
+
+	/**
+	 * Gets the timings of every phase of the frames played so far.
+	 *
+	 * @return The frame statistics.
+	 */
+	@Override
+	public FrameStats getStats() {
+		return stats;
+	}
+
 	/**
 	 * Main method to launch the Pong game.
 	 *
@@ -623,9 +945,15 @@ public class Pong extends Game {
 	 * @throws IOException If an I/O error occurs.
 	 */
 	public static void main(String[] args) throws IOException {
+		// Start loading every image and the font, and show their progress while the window is created
+		Assets.start();
+		Splash splash = new Splash();
+		splash.open();
 		// Create a new instance of the Pong game
 		Pong p = new Pong();
-		// Set the game window to be visible
+		// Wait for the rest of the assets, then swap the splash for the game window
+		Assets.all().join();
+		splash.close();
 		p.setVisible(true);
 		// Initialize game components
 		p.initComponents();
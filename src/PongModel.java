@@ -0,0 +1,760 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The simulation state of a whole Pong match: the balls, the two paddles, the power-ups, the score, and the timers
+ * that spawn new balls and power-ups.
+ *
+ * It uses no AWT or Swing classes, so a match can be stepped as fast as the CPU allows on a machine with no display.
+ * Every random choice is drawn from the world's own MatchRandom streams, so a world created with a seed always plays
+ * the same match, and many worlds can be stepped on different threads at once without sharing a generator.
+ * The Pong class drives one of these and keeps a Swing view of every object in it, using a Listener to hear about
+ * objects being added or collected.
+ */
+public class PongModel {
+
+	/**
+	 * Receives notifications about objects entering and leaving the world, so a view can follow along.
+	 */
+	public interface Listener {
+		/**
+		 * Called after a ball has been added to the world.
+		 *
+		 * @param ball The new ball.
+		 */
+		void ballAdded(BallModel ball);
+
+		/**
+		 * Called after a power-up has been added to the world.
+		 *
+		 * @param powerUp The new power-up.
+		 */
+		void powerUpAdded(PowerUpModel powerUp);
+
+		/**
+		 * Called after a ball has collected a power-up and the power-up has been removed from the world.
+		 *
+		 * @param powerUp The collected power-up.
+		 * @param ball The ball that collected it.
+		 */
+		void powerUpCollected(PowerUpModel powerUp, BallModel ball);
+	}
+
+	public static final int WIN_SCORE = 50, PADDLE_WIDTH = 40, PADDLE_HEIGHT = 200;
+	public static final int BALL_RESPAWN_TIME = 200, POWERUP_RESPAWN_TIME = 50, MAX_BALLS = 50, MAX_POWERUPS = 50;
+	private final PaddleModel leftPaddle, rightPaddle;
+	// Sized for a full world up front, so filling them never reallocates during play; spawning stops one past the limit
+	private ArrayList<BallModel> allBalls = new ArrayList<>(MAX_BALLS + 2);
+	private ArrayList<PowerUpModel> allPowerups = new ArrayList<>(MAX_POWERUPS + 2);
+	private final ArrayList<PowerUpModel> sparePowerUps = new ArrayList<>(MAX_POWERUPS + 2);
+	private int fieldWidth, fieldHeight, leftScore, rightScore, nextBallSpawn, nextPowerupSpawn, time, powerUpsCollected;
+	private int winScore = WIN_SCORE, ballRespawnTime = BALL_RESPAWN_TIME, powerupRespawnTime = POWERUP_RESPAWN_TIME;
+	private int maxBalls = MAX_BALLS, maxPowerUps = MAX_POWERUPS;
+	private final PowerUpGrid powerUpGrid;
+	private final BallSweep ballSweep = new BallSweep();
+	private boolean ballCollisions;
+	private BallStore swarm;
+	private int swarmSpawnRate;
+	private PowerUpModel[] touchedPowerUps = new PowerUpModel[8];
+	private MatchRandom random;
+	private Listener listener;
+
+	/**
+	 * Constructs an empty world with the given field size.
+	 *
+	 * @param fieldWidth The width of the playing field.
+	 * @param fieldHeight The height of the playing field.
+	 */
+	public PongModel(int fieldWidth, int fieldHeight) {
+		this(fieldWidth, fieldHeight, new MatchRandom());
+	}
+
+	/**
+	 * Constructs an empty world with the given field size whose random choices all come from the given seed.
+	 *
+	 * @param fieldWidth The width of the playing field.
+	 * @param fieldHeight The height of the playing field.
+	 * @param seed The seed of the world's random number streams.
+	 */
+	public PongModel(int fieldWidth, int fieldHeight, long seed) {
+		this(fieldWidth, fieldHeight, new MatchRandom(seed));
+	}
+
+	private PongModel(int fieldWidth, int fieldHeight, MatchRandom random) {
+		this.random = random;
+		powerUpGrid = new PowerUpGrid(fieldWidth, fieldHeight);
+		leftPaddle = new PaddleModel(PADDLE_WIDTH, PADDLE_HEIGHT, true);
+		rightPaddle = new PaddleModel(PADDLE_WIDTH, PADDLE_HEIGHT, false);
+		setFieldSize(fieldWidth, fieldHeight);
+		fillSparePowerUps();
+		reset();
+	}
+
+	/**
+	 * Sets the listener that is told about objects being added or collected.
+	 *
+	 * @param listener The listener, or null for none.
+	 */
+	public void setListener(Listener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Changes the rules the world is played by, for trying out different balances of the game.
+	 *
+	 * @param newWinScore The score a player must reach, with a lead of two, to win. WIN_SCORE by default.
+	 * @param newBallRespawnTime The number of ticks between new balls. BALL_RESPAWN_TIME by default.
+	 * @param newPowerupRespawnTime The number of ticks between new power-ups. POWERUP_RESPAWN_TIME by default.
+	 */
+	public void setRules(int newWinScore, int newBallRespawnTime, int newPowerupRespawnTime) {
+		winScore = newWinScore;
+		ballRespawnTime = Math.max(1, newBallRespawnTime);
+		powerupRespawnTime = Math.max(1, newPowerupRespawnTime);
+	}
+
+	/**
+	 * Changes how many balls and power-ups can be in play at once.
+	 *
+	 * @param newMaxBalls The most balls in play. MAX_BALLS by default.
+	 * @param newMaxPowerUps The most power-ups in play. MAX_POWERUPS by default.
+	 */
+	public void setLimits(int newMaxBalls, int newMaxPowerUps) {
+		maxBalls = newMaxBalls;
+		maxPowerUps = newMaxPowerUps;
+		allBalls.ensureCapacity(maxBalls + 2);
+		allPowerups.ensureCapacity(maxPowerUps + 2);
+		sparePowerUps.ensureCapacity(maxPowerUps + 2);
+		fillSparePowerUps();
+	}
+
+	/**
+	 * Takes every power-up out of play and keeps them to be reused by later spawns.
+	 */
+	private void recyclePowerUps() {
+		for (int i = 0; i < allPowerups.size(); i++) {
+			sparePowerUps.add(allPowerups.get(i));
+		}
+		allPowerups.clear();
+	}
+
+	/**
+	 * Creates spare power-ups until there are enough to fill the world, so no power-up is ever allocated during play.
+	 */
+	private void fillSparePowerUps() {
+		while (sparePowerUps.size() + allPowerups.size() <= maxPowerUps) {
+			sparePowerUps.add(new PowerUpModel());
+		}
+	}
+
+	/**
+	 * Sets whether balls bounce off each other. By default they pass through each other.
+	 *
+	 * @param enabled True to make balls bounce off each other.
+	 */
+	public void setBallCollisions(boolean enabled) {
+		ballCollisions = enabled;
+	}
+
+	/**
+	 * Turns on infinity mode, where a swarm of balls kept in a BallStore is added on top of the regular balls.
+	 * Swarm balls bounce off the walls and paddles and score, but do not collect power-ups or steer the paddles.
+	 *
+	 * @param capacity The most swarm balls in play, or 0 to turn infinity mode off.
+	 * @param spawnRate The number of swarm balls added every tick until the swarm is full.
+	 */
+	public void setInfinity(int capacity, int spawnRate) {
+		swarm = capacity > 0 ? new BallStore(capacity) : null;
+		swarmSpawnRate = spawnRate;
+	}
+
+	/**
+	 * Sets the size of the playing field and updates the paddles with it.
+	 *
+	 * @param newWidth The width of the playing field.
+	 * @param newHeight The height of the playing field.
+	 */
+	public void setFieldSize(int newWidth, int newHeight) {
+		fieldWidth = newWidth;
+		fieldHeight = newHeight;
+		leftPaddle.setScreenHeight(fieldHeight);
+		rightPaddle.setScreenHeight(fieldHeight);
+		leftPaddle.setScreenWidth(fieldWidth);
+		rightPaddle.setScreenWidth(fieldWidth);
+
+		// Rebuild the power-up index if the field has grown or shrunk by a cell
+		if (!powerUpGrid.covers(fieldWidth, fieldHeight)) {
+			powerUpGrid.resize(fieldWidth, fieldHeight);
+			for (int i = 0; i < allPowerups.size(); i++) {
+				powerUpGrid.insert(allPowerups.get(i));
+			}
+		}
+	}
+
+
+	/**
+	 * Resets the world to its initial state and starts drawing from new random number streams, so the next match
+	 * plays out the same every time it is started from the same seed and given the same input.
+	 *
+	 * @param seed The seed of the next match.
+	 */
+	public void reset(long seed) {
+		random = new MatchRandom(seed);
+		reset();
+	}
+
+	/**
+	 * Resets the world to its initial state, removing every ball and power-up.
+	 */
+	public void reset() {
+		allBalls.clear();
+		recyclePowerUps();
+		powerUpGrid.clear();
+		ballSweep.clear();
+		if (swarm != null) {
+			swarm.clear();
+		}
+
+		// Reset scores, next power-up spawn time, next ball spawn time, and time.
+		leftScore = 0;
+		rightScore = 0;
+		nextPowerupSpawn = 0;
+		nextBallSpawn = 0;
+		time = 0;
+		powerUpsCollected = 0;
+
+		// Reset left and right paddles to the center of the field.
+		leftPaddle.reset();
+		rightPaddle.reset();
+		leftPaddle.setY((fieldHeight - leftPaddle.getHeight()) / 2);
+		rightPaddle.setY((fieldHeight - rightPaddle.getHeight()) / 2);
+	}
+
+	/**
+	 * Removes every ball and power-up without touching the score.
+	 */
+	public void clearObjects() {
+		allBalls.clear();
+		recyclePowerUps();
+		powerUpGrid.clear();
+		ballSweep.clear();
+		if (swarm != null) {
+			swarm.clear();
+		}
+	}
+
+
+	/**
+	 * Runs every rule of a single tick except moving the paddles and balls.
+	 *
+	 * @param spawning Whether new balls and power-ups may be spawned this tick.
+	 * @see #checkCollisions()
+	 * @see #updateScoring()
+	 * @see #checkPowerupCollision()
+	 * @see #spawnObjects()
+	 */
+	public void update(boolean spawning) {
+		checkCollisions();
+		updateScoring();
+		checkPowerupCollision();
+		if (spawning) {
+			spawnObjects();
+		}
+	}
+
+	/**
+	 * Advances the clock and checks every ball against the paddles and the top and bottom walls, and against the other
+	 * balls if ball collisions are turned on.
+	 */
+	public void checkCollisions() {
+		// Increment the clock
+		time += 1;
+
+		// Bounce balls off each other before the paddles and walls have the final say
+		if (ballCollisions) {
+			ballSweep.collide(allBalls);
+		}
+
+		for (int i = 0; i < allBalls.size(); i++) {
+			BallModel currentBall = allBalls.get(i);
+			currentBall.checkPaddleCollision(leftPaddle, rightPaddle);
+			currentBall.checkVerticalCollision(fieldHeight);
+		}
+
+		// Check the whole swarm against the paddles and walls
+		if (swarm != null) {
+			swarm.bouncePaddles(leftPaddle, rightPaddle);
+			swarm.bounceWalls(fieldHeight);
+		}
+	}
+
+	/**
+	 * Updates the scoring in the game.
+	 */
+	public void updateScoring() {
+		// Iterate through all balls in the game.
+		for (int i = 0; i < allBalls.size(); i++) {
+			BallModel currentBall = allBalls.get(i);
+			// Check if the ball is out of bounds on the right side.
+			if (currentBall.getX() > fieldWidth) {
+				// Increment left player's score and reset the ball's position.
+				leftScore++;
+				GameEvents.scored(BallModel.Owner.LEFT, 1, leftScore, rightScore);
+				currentBall.resetPosition(fieldWidth, fieldHeight);
+			}
+			// Check if the ball is out of bounds on the left side.
+			else if (currentBall.getX() + currentBall.getWidth() < 0) {
+				// Increment right player's score and reset the ball's position.
+				rightScore++;
+				GameEvents.scored(BallModel.Owner.RIGHT, 1, leftScore, rightScore);
+				currentBall.resetPosition(fieldWidth, fieldHeight);
+			}
+		}
+
+		// Score the swarm the same way
+		if (swarm != null) {
+			swarm.score(fieldWidth, fieldHeight, random.swarm());
+			leftScore += swarm.getLeftScored();
+			rightScore += swarm.getRightScored();
+			if (swarm.getLeftScored() > 0) {
+				GameEvents.scored(BallModel.Owner.LEFT, swarm.getLeftScored(), leftScore, rightScore);
+			}
+			if (swarm.getRightScored() > 0) {
+				GameEvents.scored(BallModel.Owner.RIGHT, swarm.getRightScored(), leftScore, rightScore);
+			}
+		}
+	}
+
+	/**
+	 * Checks for collisions between power-ups and balls.
+	 *
+	 * Each ball looks up the power-ups it touches in the power-up grid, so only the power-ups near a ball are checked.
+	 * However many power-ups a ball touches at once, it collects all of them.
+	 * A touched power-up activates its effect, is removed from the world, and the listener is told so it can show the
+	 * pickup. Balls are checked in the order they were added, so when two balls touch the same power-up in a tick, the
+	 * older one collects it.
+	 */
+	public void checkPowerupCollision() {
+		// Iterate through the balls in play, including any added by an extra ball power-up
+		for (int i = 0; i < allBalls.size() && powerUpGrid.size() > 0; i++) {
+			BallModel currentBall = allBalls.get(i);
+			int touched;
+			while ((touched = powerUpGrid.query(currentBall.getX(), currentBall.getY(),
+					currentBall.getWidth(), currentBall.getHeight(), touchedPowerUps)) < 0) {
+				// More power-ups overlap the ball than fit, so make room for them all and look again; the larger
+				// array is kept, so a stack this deep only allocates the first time
+				touchedPowerUps = new PowerUpModel[touchedPowerUps.length * 2];
+			}
+			for (int j = 0; j < touched; j++) {
+				PowerUpModel currentPowerUp = touchedPowerUps[j];
+				touchedPowerUps[j] = null;
+				// Activate the power-up, then take it out of play and report the pickup
+				if (currentPowerUp.checkCollides(currentBall, leftPaddle, rightPaddle, this)) {
+					powerUpGrid.remove(currentPowerUp);
+					allPowerups.remove(currentPowerUp);
+					powerUpsCollected++;
+					if (listener != null) {
+						listener.powerUpCollected(currentPowerUp, currentBall);
+					}
+					// Keep it to be put back into play by the next spawn
+					sparePowerUps.add(currentPowerUp);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Spawns a new ball or power-up when their timers run out.
+	 */
+	public void spawnObjects() {
+		// Grow the swarm until it is full
+		if (swarm != null) {
+			swarm.spawn(swarmSpawnRate, fieldWidth, fieldHeight, random.swarm());
+		}
+
+		// Spawn new ball if necessary
+		if (time > nextBallSpawn) {
+			nextBallSpawn += ballRespawnTime;
+			addNewBall();
+		}
+
+		// Spawn new power-up if necessary
+		if (time > nextPowerupSpawn) {
+			nextPowerupSpawn += powerupRespawnTime;
+			addNewPowerup();
+		}
+	}
+
+	/**
+	 * Advances the clock by one tick without simulating anything.
+	 * The menu's attract mode does this every tick on top of the regular update, so its spawns come twice as often.
+	 */
+	public void advanceClock() {
+		time += 1;
+	}
+
+	/**
+	 * Lets both paddles follow the closest incoming ball, as in the menu's attract mode.
+	 */
+	public void idle() {
+		leftPaddle.idle(allBalls);
+		rightPaddle.idle(allBalls);
+	}
+
+	/**
+	 * Moves the paddles and then the balls by their velocities.
+	 */
+	public void move() {
+		leftPaddle.act();
+		rightPaddle.act();
+		for (int i = 0; i < allBalls.size(); i++) {
+			allBalls.get(i).act();
+		}
+		if (swarm != null) {
+			swarm.integrate();
+		}
+	}
+
+	/**
+	 * Remembers where the paddles and balls are before a tick, so frames drawn between ticks can be interpolated.
+	 */
+	public void storePreviousPositions() {
+		leftPaddle.storePreviousPosition();
+		rightPaddle.storePreviousPosition();
+		for (int i = 0; i < allBalls.size(); i++) {
+			allBalls.get(i).storePreviousPosition();
+		}
+	}
+
+	/**
+	 * Checks if either player has won the game.
+	 * A player wins by reaching the winning score, WIN_SCORE unless the rules were changed, with a lead of at least
+	 * two points.
+	 *
+	 * @return LEFT or RIGHT for the winning side, or NONE if nobody has won yet.
+	 */
+	public BallModel.Owner checkForWin() {
+		if (leftScore >= rightScore + 2 && leftScore >= winScore) {
+			return BallModel.Owner.LEFT;
+		} else if (rightScore >= leftScore + 2 && rightScore >= winScore) {
+			return BallModel.Owner.RIGHT;
+		}
+		return BallModel.Owner.NONE;
+	}
+
+
+	/**
+	 * Adds a new ball to the world if the maximum ball limit has not been reached.
+	 * The new ball is created with random initial position and velocity within the field boundaries.
+	 */
+	public void addNewBall() {
+		// Check if the maximum ball limit has been reached
+		if (allBalls.size() > maxBalls) {
+			return;
+		}
+		BallModel newBall = new BallModel(fieldWidth, fieldHeight, random.balls());
+		allBalls.add(newBall);
+		GameEvents.ballSpawned(newBall, allBalls.size());
+		if (listener != null) {
+			listener.ballAdded(newBall);
+		}
+	}
+
+	/**
+	 * Adds a new power-up to the world if the maximum power-up limit has not been reached.
+	 * The new power-up is created with random initial position within the field boundaries, reusing a collected
+	 * power-up if there is one so spawning in steady play allocates nothing.
+	 */
+	public void addNewPowerup() {
+		// Check if the maximum power-up limit has been reached
+		if (allPowerups.size() > maxPowerUps) {
+			return;
+		}
+		PowerUpModel newPowerup;
+		if (sparePowerUps.isEmpty()) {
+			newPowerup = new PowerUpModel(fieldWidth, fieldHeight, random.powerUps());
+		} else {
+			newPowerup = sparePowerUps.remove(sparePowerUps.size() - 1);
+			newPowerup.respawn(fieldWidth, fieldHeight, random.powerUps());
+		}
+		allPowerups.add(newPowerup);
+		powerUpGrid.insert(newPowerup);
+		if (listener != null) {
+			listener.powerUpAdded(newPowerup);
+		}
+	}
+
+	/**
+	 * Gets every ball in the world.
+	 *
+	 * @return The list of balls.
+	 */
+	public List<BallModel> getBalls() {
+		return allBalls;
+	}
+
+	/**
+	 * Gets the swarm of balls added in infinity mode.
+	 *
+	 * @return The swarm, or null if infinity mode is off.
+	 */
+	public BallStore getSwarm() {
+		return swarm;
+	}
+
+	/**
+	 * Gets every power-up in the world.
+	 *
+	 * @return The list of power-ups.
+	 */
+	public List<PowerUpModel> getPowerUps() {
+		return allPowerups;
+	}
+
+	/**
+	 * Gets the left paddle.
+	 *
+	 * @return The left paddle.
+	 */
+	public PaddleModel getLeftPaddle() {
+		return leftPaddle;
+	}
+
+	/**
+	 * Gets the right paddle.
+	 *
+	 * @return The right paddle.
+	 */
+	public PaddleModel getRightPaddle() {
+		return rightPaddle;
+	}
+
+	/**
+	 * Gets the left player's score.
+	 *
+	 * @return The left score.
+	 */
+	public int getLeftScore() {
+		return leftScore;
+	}
+
+	/**
+	 * Gets the right player's score.
+	 *
+	 * @return The right score.
+	 */
+	public int getRightScore() {
+		return rightScore;
+	}
+
+	/**
+	 * Gets the number of power-ups collected since the last reset.
+	 *
+	 * @return The number of power-ups collected.
+	 */
+	public int getPowerUpsCollected() {
+		return powerUpsCollected;
+	}
+
+	/**
+	 * Gets the random number streams of the current match.
+	 *
+	 * @return The streams.
+	 */
+	public MatchRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Gets the number of bytes writeState writes for the world as it is now.
+	 *
+	 * @return The size of the world's state.
+	 */
+	public int getStateSize() {
+		return 15 * 4 + 1 + MatchRandom.STATE_SIZE + 2 * PaddleModel.STATE_SIZE
+				+ 4 + allBalls.size() * BallModel.STATE_SIZE + 4 + allPowerups.size() * PowerUpModel.STATE_SIZE
+				+ ballSweep.getStateSize() + (swarm != null ? swarm.getStateSize() : 0);
+	}
+
+	/**
+	 * Writes the whole state of the world: its rules, score, timers, random number streams, paddles, balls,
+	 * power-ups, and swarm. A world that reads the state back with readState plays on exactly as this one would.
+	 *
+	 * @param out The buffer to write getStateSize() bytes of state to.
+	 */
+	public void writeState(ByteBuffer out) {
+		out.putInt(winScore).putInt(ballRespawnTime).putInt(powerupRespawnTime).putInt(maxBalls).putInt(maxPowerUps);
+		out.put((byte) (ballCollisions ? 1 : 0)).putInt(swarm != null ? swarm.getCapacity() : 0).putInt(swarmSpawnRate);
+		out.putInt(fieldWidth).putInt(fieldHeight).putInt(leftScore).putInt(rightScore);
+		out.putInt(nextBallSpawn).putInt(nextPowerupSpawn).putInt(time).putInt(powerUpsCollected);
+		random.writeState(out);
+		leftPaddle.writeState(out);
+		rightPaddle.writeState(out);
+		out.putInt(allBalls.size());
+		for (int i = 0; i < allBalls.size(); i++) {
+			allBalls.get(i).writeState(out);
+		}
+		out.putInt(allPowerups.size());
+		for (int i = 0; i < allPowerups.size(); i++) {
+			allPowerups.get(i).writeState(out);
+		}
+		ballSweep.writeState(out, allBalls);
+		if (swarm != null) {
+			swarm.writeState(out);
+		}
+	}
+
+	/**
+	 * Replaces the whole state of the world with one written by writeState.
+	 * The listener is not told about the balls and power-ups that are replaced, so a view has to be rebuilt from
+	 * getBalls and getPowerUps afterwards.
+	 *
+	 * @param in The buffer to read the state from.
+	 */
+	public void readState(ByteBuffer in) {
+		setRules(in.getInt(), in.getInt(), in.getInt());
+		setLimits(in.getInt(), in.getInt());
+		setBallCollisions(in.get() != 0);
+		int swarmCapacity = in.getInt(), spawnRate = in.getInt();
+		if (swarmCapacity != (swarm != null ? swarm.getCapacity() : 0)) {
+			setInfinity(swarmCapacity, spawnRate);
+		}
+		swarmSpawnRate = spawnRate;
+		setFieldSize(in.getInt(), in.getInt());
+		leftScore = in.getInt();
+		rightScore = in.getInt();
+		nextBallSpawn = in.getInt();
+		nextPowerupSpawn = in.getInt();
+		time = in.getInt();
+		powerUpsCollected = in.getInt();
+		random = MatchRandom.readState(in);
+		leftPaddle.readState(in);
+		rightPaddle.readState(in);
+
+		clearObjects();
+		int balls = in.getInt();
+		for (int i = 0; i < balls; i++) {
+			allBalls.add(new BallModel(in, random.balls()));
+		}
+		int powerUps = in.getInt();
+		for (int i = 0; i < powerUps; i++) {
+			PowerUpModel powerUp = new PowerUpModel(in);
+			allPowerups.add(powerUp);
+			powerUpGrid.insert(powerUp);
+		}
+		ballSweep.readState(in, allBalls);
+		if (swarm != null) {
+			swarm.readState(in);
+		}
+	}
+
+	/**
+	 * Gets the number of bytes writeSnapshot writes for the world as it is now.
+	 *
+	 * @return The size of a snapshot of the world.
+	 */
+	public int getSnapshotSize() {
+		return 5 * 4 + 2 * PaddleModel.STATE_SIZE + 4 + allBalls.size() * BallModel.STATE_SIZE
+				+ 4 + allPowerups.size() * PowerUpModel.STATE_SIZE;
+	}
+
+	/**
+	 * Writes what is needed to draw the world: the field size, score, clock, paddles, balls, and power-ups.
+	 * Unlike writeState, the rules, timers, random number streams, and swarm are left out, so a world that reads a
+	 * snapshot can show the match but not play it on.
+	 *
+	 * @param out The buffer to write getSnapshotSize() bytes to.
+	 */
+	public void writeSnapshot(ByteBuffer out) {
+		out.putInt(fieldWidth).putInt(fieldHeight).putInt(leftScore).putInt(rightScore).putInt(time);
+		leftPaddle.writeState(out);
+		rightPaddle.writeState(out);
+		out.putInt(allBalls.size());
+		for (int i = 0; i < allBalls.size(); i++) {
+			allBalls.get(i).writeState(out);
+		}
+		out.putInt(allPowerups.size());
+		for (int i = 0; i < allPowerups.size(); i++) {
+			allPowerups.get(i).writeState(out);
+		}
+	}
+
+	/**
+	 * Makes the world show a snapshot written by writeSnapshot, such as one sent by a server.
+	 * Balls and power-ups are updated in place, in order, so the first n of each stay the same objects. The listener
+	 * is told about every ball and power-up added to the end of the lists; ones dropped from the end are not
+	 * reported, so a view should drop whatever follows a ball or power-up no longer in the world.
+	 *
+	 * @param in The buffer to read the snapshot from.
+	 */
+	public void readSnapshot(ByteBuffer in) {
+		setFieldSize(in.getInt(), in.getInt());
+		leftScore = in.getInt();
+		rightScore = in.getInt();
+		time = in.getInt();
+		leftPaddle.readState(in);
+		rightPaddle.readState(in);
+
+		int balls = in.getInt();
+		while (allBalls.size() > balls) {
+			allBalls.remove(allBalls.size() - 1);
+		}
+		for (int i = 0; i < balls; i++) {
+			if (i < allBalls.size()) {
+				allBalls.get(i).readState(in);
+			} else {
+				BallModel ball = new BallModel(in, random.balls());
+				allBalls.add(ball);
+				if (listener != null) {
+					listener.ballAdded(ball);
+				}
+			}
+		}
+
+		int powerUps = in.getInt();
+		while (allPowerups.size() > powerUps) {
+			sparePowerUps.add(allPowerups.remove(allPowerups.size() - 1));
+		}
+		powerUpGrid.clear();
+		for (int i = 0; i < powerUps; i++) {
+			boolean added = i >= allPowerups.size();
+			if (added) {
+				allPowerups.add(sparePowerUps.isEmpty() ? new PowerUpModel()
+						: sparePowerUps.remove(sparePowerUps.size() - 1));
+			}
+			PowerUpModel powerUp = allPowerups.get(i);
+			powerUp.readState(in);
+			powerUpGrid.insert(powerUp);
+			if (added && listener != null) {
+				listener.powerUpAdded(powerUp);
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of ticks the clock has advanced since the last reset.
+	 *
+	 * @return The current time.
+	 */
+	public int getTime() {
+		return time;
+	}
+
+	/**
+	 * Gets the width of the playing field.
+	 *
+	 * @return The field width.
+	 */
+	public int getFieldWidth() {
+		return fieldWidth;
+	}
+
+	/**
+	 * Gets the height of the playing field.
+	 *
+	 * @return The field height.
+	 */
+	public int getFieldHeight() {
+		return fieldHeight;
+	}
+}
@@ -0,0 +1,334 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+/**
+ * The PongServer class runs the one true copy of a match for two players on other machines, which connect to it with
+ * NetClient. It needs no window and can be run on its own:
+ *
+ *     java -Djava.awt.headless=true -cp out PongServer [port]
+ *
+ * The first client to send input plays the left paddle and the second the right. Until both are connected the server
+ * plays the menu's attract mode, and once a match is won it waits OVER_TICKS ticks before starting the next one. A
+ * client that has sent nothing for TIMEOUT_TICKS ticks loses its paddle, and the match goes back to waiting.
+ *
+ * Everything runs on one thread around a non-blocking DatagramChannel. Between ticks the thread waits on a Selector
+ * for datagrams until the next tick is due, so input is taken as soon as it arrives without a thread per client, and
+ * packets are received into and sent from direct buffers, which the channel uses without copying. Every tick each
+ * client's queued input is applied to its paddle, the world is stepped, and each client is sent a snapshot of the
+ * world compressed against the newest one it has said it received.
+ *
+ * @see NetProtocol
+ */
+public class PongServer implements Closeable {
+    public static final int TICK_RATE = 50, TIMEOUT_TICKS = 5 * TICK_RATE, OVER_TICKS = 5 * TICK_RATE;
+    // How far a client's input may run ahead of the ticks before the oldest of it is dropped
+    public static final int MAX_INPUT_LAG = 3;
+    private static final long TICK_NANOS = 1_000_000_000L / TICK_RATE;
+    private final DatagramChannel channel;
+    private final Selector selector;
+    private final ByteBuffer received = ByteBuffer.allocateDirect(NetProtocol.MAX_PACKET);
+    private final ByteBuffer sent = ByteBuffer.allocateDirect(NetProtocol.MAX_PACKET);
+    private final PongModel world = new PongModel(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT);
+    private final Player[] players = {new Player(BallModel.Owner.LEFT), new Player(BallModel.Owner.RIGHT)};
+    private byte[] state = new byte[0];
+    private ByteBuffer stateBuffer = ByteBuffer.wrap(state);
+    private byte phase = NetProtocol.WAITING;
+    private BallModel.Owner winner = BallModel.Owner.NONE;
+    private int tick, overTicks;
+
+    /**
+     * A client playing one of the paddles, with the input it has sent that has not been applied yet.
+     */
+    private static class Player {
+        private static final int INPUTS = 64;
+        private final BallModel.Owner side;
+        private final int[] inputs = new int[INPUTS];
+        private final NetProtocol.History history = new NetProtocol.History();
+        private SocketAddress address;
+        private int newestSeq, appliedSeq, input, ackTick, lastHeard;
+
+        private Player(BallModel.Owner side) {
+            this.side = side;
+        }
+
+        /**
+         * Gives the paddle to a client, forgetting anything from the client that had it before.
+         */
+        private void connect(SocketAddress newAddress, int tick) {
+            address = newAddress;
+            newestSeq = -1;
+            appliedSeq = -1;
+            input = 0;
+            ackTick = NetProtocol.NO_TICK;
+            lastHeard = tick;
+            history.clear();
+        }
+
+        /**
+         * Takes the input for the next tick: the next one in sequence if it has arrived, or the last one again if not.
+         * If the client has got too far ahead, such as after a burst of delayed packets, the input in between is
+         * skipped so the client does not stay that far behind.
+         */
+        private int nextInput() {
+            if (newestSeq > appliedSeq) {
+                if (newestSeq - appliedSeq > MAX_INPUT_LAG) {
+                    appliedSeq = newestSeq - 1;
+                }
+                appliedSeq++;
+                input = inputs[appliedSeq % INPUTS];
+            }
+            return input;
+        }
+    }
+
+    /**
+     * Constructs a server listening on a UDP port.
+     *
+     * @param port The port, or 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public PongServer(int port) throws IOException {
+        channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+        channel.bind(new InetSocketAddress(port));
+        selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_READ);
+        world.reset();
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return channel.socket().getLocalPort();
+    }
+
+    /**
+     * Runs ticks at TICK_RATE ticks a second until the server is closed.
+     *
+     * @throws IOException If the channel fails.
+     */
+    public void run() throws IOException {
+        long next = System.nanoTime();
+        while (channel.isOpen()) {
+            receive();
+            tick();
+            send();
+            // Take input as it arrives until the next tick is due
+            next += TICK_NANOS;
+            long remaining;
+            try {
+                while ((remaining = next - System.nanoTime()) > 0) {
+                    selector.select(Math.max(1, remaining / 1_000_000));
+                    selector.selectedKeys().clear();
+                    receive();
+                }
+            } catch (ClosedSelectorException e) {
+                // Closed from another thread
+                return;
+            }
+            // After a stall, such as the machine sleeping, carry on from now instead of running the missed ticks
+            if (-remaining > TICK_NANOS * TICK_RATE) {
+                next = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Reads every datagram waiting on the channel.
+     */
+    private void receive() throws IOException {
+        while (channel.isOpen()) {
+            received.clear();
+            SocketAddress from = channel.receive(received);
+            if (from == null) {
+                return;
+            }
+            received.flip();
+            if (received.remaining() >= NetProtocol.INPUT_SIZE && received.getInt() == NetProtocol.MAGIC
+                    && received.get() == NetProtocol.INPUT) {
+                readInput(from);
+            }
+        }
+    }
+
+    /**
+     * Queues the input in an INPUT packet, giving the client a paddle if it has none and one is free.
+     */
+    private void readInput(SocketAddress from) {
+        Player player = find(from);
+        if (player == null) {
+            player = find(null);
+            if (player == null) {
+                // Both paddles are taken
+                return;
+            }
+            player.connect(from, tick);
+            System.out.println(from + " plays " + player.side);
+        }
+        int seq = received.getInt(), ackTick = received.getInt();
+        for (int i = 0; i < NetProtocol.INPUT_HISTORY; i++) {
+            int input = received.get();
+            // Keep every input from the packet that has not been applied or dropped yet
+            if (seq - i > player.appliedSeq && seq - i > player.newestSeq - Player.INPUTS) {
+                player.inputs[(seq - i) % Player.INPUTS] = input;
+            }
+        }
+        player.newestSeq = Math.max(player.newestSeq, seq);
+        player.ackTick = Math.max(player.ackTick, ackTick);
+        player.lastHeard = tick;
+    }
+
+    /**
+     * Finds the player with an address, or a free paddle for a null address.
+     */
+    private Player find(SocketAddress address) {
+        for (Player player : players) {
+            if (address == null ? player.address == null : address.equals(player.address)) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs a single tick of whichever phase the match is in.
+     */
+    private void tick() {
+        // Let go of clients that have gone quiet
+        for (Player player : players) {
+            if (player.address != null && tick - player.lastHeard > TIMEOUT_TICKS) {
+                System.out.println(player.address + " timed out");
+                player.address = null;
+                if (phase != NetProtocol.WAITING) {
+                    startPhase(NetProtocol.WAITING);
+                }
+            }
+        }
+
+        world.storePreviousPositions();
+        switch (phase) {
+            case NetProtocol.WAITING:
+                if (players[0].address != null && players[1].address != null) {
+                    startPhase(NetProtocol.PLAYING);
+                    break;
+                }
+                // Play the attract mode, in the same order as the main menu
+                world.update(true);
+                world.advanceClock();
+                world.idle();
+                if (world.checkForWin() != BallModel.Owner.NONE) {
+                    world.reset();
+                }
+                world.move();
+                break;
+            case NetProtocol.PLAYING:
+                world.update(true);
+                NetProtocol.applyInput(world.getLeftPaddle(), players[0].nextInput());
+                NetProtocol.applyInput(world.getRightPaddle(), players[1].nextInput());
+                winner = world.checkForWin();
+                if (winner != BallModel.Owner.NONE) {
+                    startPhase(NetProtocol.OVER);
+                    break;
+                }
+                world.move();
+                break;
+            case NetProtocol.OVER:
+                if (++overTicks >= OVER_TICKS) {
+                    startPhase(players[0].address != null && players[1].address != null
+                            ? NetProtocol.PLAYING : NetProtocol.WAITING);
+                }
+                break;
+        }
+        tick++;
+    }
+
+    /**
+     * Moves the match into a phase, starting a fresh match unless the phase is OVER.
+     */
+    private void startPhase(byte newPhase) {
+        phase = newPhase;
+        overTicks = 0;
+        if (newPhase != NetProtocol.OVER) {
+            winner = BallModel.Owner.NONE;
+            world.reset(MatchRandom.newSeed());
+        }
+        if (newPhase == NetProtocol.PLAYING) {
+            // Input sent while waiting is stale, so start from each client's newest
+            for (Player player : players) {
+                player.appliedSeq = player.newestSeq;
+            }
+        }
+    }
+
+    /**
+     * Sends each client the world as it is after the tick.
+     */
+    private void send() throws IOException {
+        int length = world.getSnapshotSize();
+        if (state.length < length) {
+            state = new byte[length * 2];
+            stateBuffer = ByteBuffer.wrap(state);
+        }
+        stateBuffer.clear();
+        world.writeSnapshot(stateBuffer);
+
+        int sentTick = tick - 1;
+        for (Player player : players) {
+            if (player.address == null) {
+                continue;
+            }
+            // Compress against the newest snapshot the client has, or send the whole of it if that is gone
+            byte[] baseline = player.history.get(player.ackTick);
+            int baseTick = baseline != null ? player.ackTick : NetProtocol.NO_TICK;
+            if (NetProtocol.SNAPSHOT_HEADER_SIZE + NetProtocol.maxDeltaSize(length) > sent.capacity()) {
+                continue;
+            }
+            sent.clear();
+            sent.putInt(NetProtocol.MAGIC).put(NetProtocol.SNAPSHOT).putInt(sentTick).putInt(baseTick)
+                    .put((byte) player.side.ordinal()).put(phase).put((byte) winner.ordinal())
+                    .putInt(player.appliedSeq).putInt(length);
+            NetProtocol.writeDelta(sent, state, length, baseline,
+                    baseline != null ? player.history.getLength(baseTick) : 0);
+            sent.flip();
+            channel.send(sent, player.address);
+            player.history.store(sentTick, state, length);
+        }
+    }
+
+    /**
+     * Stops the server. It can be called from another thread to stop run().
+     *
+     * @throws IOException If the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        // Closing the channel wakes the selector, and run() stops once it sees the channel is closed
+        channel.close();
+        selector.close();
+    }
+
+    /**
+     * Runs a server.
+     *
+     * @param args The port to listen on, DEFAULT_PORT if not given.
+     */
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : NetProtocol.DEFAULT_PORT;
+        try (PongServer server = new PongServer(port)) {
+            System.out.println("Serving Pong on port " + server.getPort());
+            server.run();
+        } catch (IOException e) {
+            System.out.println(e);
+        }
+    }
+}
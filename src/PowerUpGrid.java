@@ -0,0 +1,186 @@
+import java.util.Arrays;
+
+/**
+ * The PowerUpGrid class is a uniform grid over the playing field that indexes power-ups by the cells they cover.
+ * Power-ups never move once they have spawned, so each one is inserted when it appears and removed when it is
+ * collected. A ball then only has to be checked against the power-ups in the few cells it overlaps, which keeps the
+ * cost of power-up collisions proportional to the number of balls however many power-ups are in play.
+ * Objects outside the field are treated as being in the nearest cell on the edge.
+ */
+public class PowerUpGrid {
+    public static final int CELL_SIZE = 64;
+    private static final int INITIAL_CELL_CAPACITY = 4;
+    private int columns, rows;
+    private PowerUpModel[][] cells;
+    private int[] cellCounts;
+    private int size;
+
+    /**
+     * Constructs an empty grid covering a field of the given size.
+     *
+     * @param fieldWidth  The width of the playing field.
+     * @param fieldHeight The height of the playing field.
+     */
+    public PowerUpGrid(int fieldWidth, int fieldHeight) {
+        resize(fieldWidth, fieldHeight);
+    }
+
+    /**
+     * Changes the size of the field the grid covers. Every power-up in the grid is dropped, so the caller must insert
+     * them again.
+     *
+     * @param fieldWidth  The width of the playing field.
+     * @param fieldHeight The height of the playing field.
+     */
+    public void resize(int fieldWidth, int fieldHeight) {
+        columns = Math.max(1, (fieldWidth + CELL_SIZE - 1) / CELL_SIZE);
+        rows = Math.max(1, (fieldHeight + CELL_SIZE - 1) / CELL_SIZE);
+        cells = new PowerUpModel[columns * rows][];
+        cellCounts = new int[columns * rows];
+        size = 0;
+        // Give every cell its entries up front, so inserting only allocates when a cell overflows
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new PowerUpModel[INITIAL_CELL_CAPACITY];
+        }
+    }
+
+    /**
+     * Checks if the grid was built for a field of the given size.
+     *
+     * @param fieldWidth  The width of the playing field.
+     * @param fieldHeight The height of the playing field.
+     * @return True if resizing to the given size would not change the grid.
+     */
+    public boolean covers(int fieldWidth, int fieldHeight) {
+        return columns == Math.max(1, (fieldWidth + CELL_SIZE - 1) / CELL_SIZE)
+                && rows == Math.max(1, (fieldHeight + CELL_SIZE - 1) / CELL_SIZE);
+    }
+
+    /**
+     * Adds a power-up to every cell it covers.
+     *
+     * @param powerUp The power-up to add.
+     */
+    public void insert(PowerUpModel powerUp) {
+        int left = column(powerUp.getX()), right = column(powerUp.getX() + powerUp.getSize() - 1);
+        int top = row(powerUp.getY()), bottom = row(powerUp.getY() + powerUp.getSize() - 1);
+        for (int row = top; row <= bottom; row++) {
+            for (int column = left; column <= right; column++) {
+                int cell = row * columns + column;
+                PowerUpModel[] entries = cells[cell];
+                if (cellCounts[cell] == entries.length) {
+                    entries = cells[cell] = Arrays.copyOf(entries, entries.length * 2);
+                }
+                entries[cellCounts[cell]++] = powerUp;
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Removes a power-up from every cell it covers.
+     *
+     * @param powerUp The power-up to remove.
+     */
+    public void remove(PowerUpModel powerUp) {
+        int left = column(powerUp.getX()), right = column(powerUp.getX() + powerUp.getSize() - 1);
+        int top = row(powerUp.getY()), bottom = row(powerUp.getY() + powerUp.getSize() - 1);
+        boolean found = false;
+        for (int row = top; row <= bottom; row++) {
+            for (int column = left; column <= right; column++) {
+                int cell = row * columns + column;
+                PowerUpModel[] entries = cells[cell];
+                for (int i = 0; i < cellCounts[cell]; i++) {
+                    if (entries[i] == powerUp) {
+                        // Order within a cell does not matter, so fill the gap with the last entry
+                        entries[i] = entries[--cellCounts[cell]];
+                        entries[cellCounts[cell]] = null;
+                        found = true;
+                        break;
+                    }
+                }
+            }
+        }
+        if (found) {
+            size--;
+        }
+    }
+
+    /**
+     * Removes every power-up from the grid.
+     */
+    public void clear() {
+        for (int cell = 0; cell < cellCounts.length; cell++) {
+            Arrays.fill(cells[cell], 0, cellCounts[cell], null);
+            cellCounts[cell] = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * Finds every power-up that overlaps a rectangle.
+     *
+     * @param x      The x-coordinate of the rectangle.
+     * @param y      The y-coordinate of the rectangle.
+     * @param width  The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @param found  The array to write the power-ups into. Each power-up is written once.
+     * @return The number of power-ups written, or -1 if there are more than fit in found, in which case the query
+     * should be made again with a larger array.
+     */
+    public int query(int x, int y, int width, int height, PowerUpModel[] found) {
+        if (size == 0 || width <= 0 || height <= 0) {
+            return 0;
+        }
+        int count = 0;
+        int left = column(x), right = column(x + width - 1);
+        int top = row(y), bottom = row(y + height - 1);
+        for (int row = top; row <= bottom; row++) {
+            for (int column = left; column <= right; column++) {
+                int cell = row * columns + column;
+                PowerUpModel[] entries = cells[cell];
+                for (int i = 0; i < cellCounts[cell]; i++) {
+                    PowerUpModel candidate = entries[i];
+                    if (!Collision.intersects(x, y, width, height,
+                            candidate.getX(), candidate.getY(), candidate.getSize(), candidate.getSize())) {
+                        continue;
+                    }
+                    // A power-up that spans several cells is seen once for each of them
+                    if (!contains(found, count, candidate)) {
+                        if (count == found.length) {
+                            return -1;
+                        }
+                        found[count++] = candidate;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of power-ups in the grid.
+     *
+     * @return The power-up count.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int column(int x) {
+        return Math.max(0, Math.min(columns - 1, Math.floorDiv(x, CELL_SIZE)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, CELL_SIZE)));
+    }
+
+    private static boolean contains(PowerUpModel[] array, int count, PowerUpModel powerUp) {
+        for (int i = 0; i < count; i++) {
+            if (array[i] == powerUp) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
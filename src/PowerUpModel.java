@@ -0,0 +1,157 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The simulation state of a power-up.
+ * Provides methods to control the power-up's effects on paddles and balls within the game.
+ * It uses no AWT or Swing classes, so it can be stepped without a display; the PowerUp class draws it.
+ */
+public class PowerUpModel {
+    public enum Type {SIZE_INCREASE, SPEED_INCREASE, EXTRA_BALL, SIZE_DEBUFF, SPEED_DEBUFF}
+    public static final int STATE_SIZE = 1 + 2 * 4;
+    private static final Type[] TYPES = Type.values();
+    private Type powerUpType;
+    private int x, y;
+    private final int size = 30;
+
+    /**
+     * Constructs a new power-up with a random type and position.
+     *
+     * @param screenWidth The width of the game screen.
+     * @param screenHeight The height of the game screen.
+     * @param random The random number stream for the power-ups of the world the power-up is in.
+     */
+    public PowerUpModel(int screenWidth, int screenHeight, RandomStream random) {
+        respawn(screenWidth, screenHeight, random);
+    }
+
+    /**
+     * Constructs a power-up that is not in play yet, kept spare until respawn puts it into play.
+     */
+    public PowerUpModel() {
+        powerUpType = TYPES[0];
+    }
+
+    /**
+     * Gives the power-up a new random type and position, so a collected power-up can be put back into play instead of
+     * allocating a new one. It draws the same random numbers as constructing a new power-up.
+     *
+     * @param screenWidth The width of the game screen.
+     * @param screenHeight The height of the game screen.
+     * @param random The random number stream for the power-ups of the world the power-up is in.
+     */
+    public void respawn(int screenWidth, int screenHeight, RandomStream random) {
+        // Select a random type for the PowerUp
+        powerUpType = TYPES[(int) (random.nextDouble() * TYPES.length)];
+
+        // Set random position for the PowerUp within the game screen boundaries
+        x = (int) ((((screenWidth - size) * 8.0 / 10) * random.nextDouble()) + ((screenWidth - size) * 1.0/10));
+        y = (int) ((screenHeight - size) * random.nextDouble());
+    }
+
+    /**
+     * Constructs a power-up from the state written by writeState, such as one saved in a replay keyframe.
+     *
+     * @param in The buffer to read STATE_SIZE bytes of state from.
+     */
+    public PowerUpModel(ByteBuffer in) {
+        readState(in);
+    }
+
+    /**
+     * Puts the power-up back to a state written by writeState, such as to show a snapshot sent by a server.
+     *
+     * @param in The buffer to read STATE_SIZE bytes of state from.
+     */
+    public void readState(ByteBuffer in) {
+        powerUpType = TYPES[in.get()];
+        x = in.getInt();
+        y = in.getInt();
+    }
+
+    /**
+     * Checks if the PowerUp collides with a ball and activates its effect if applicable.
+     *
+     * @param currentBall The ball to check collision with.
+     * @param leftPaddle The left paddle.
+     * @param rightPaddle The right paddle.
+     * @param world The game world the power-up belongs to.
+     * @return True if the PowerUp collides with the ball and its effect is activated, otherwise false.
+     */
+    public boolean checkCollides(BallModel currentBall, PaddleModel leftPaddle, PaddleModel rightPaddle, PongModel world) {
+        // Check if the PowerUp collides with the ball
+        if (!currentBall.collides(x, y, size, size)) {
+            return false;
+        }
+        // Activate the PowerUp effect based on the last paddle that touched the ball
+        if (currentBall.lastTouchedLeft()) {
+            activateEffect(leftPaddle, rightPaddle, world, BallModel.Owner.LEFT);
+        } else if (currentBall.lastTouchedRight()) {
+            activateEffect(rightPaddle, leftPaddle, world, BallModel.Owner.RIGHT);
+        }
+        return true;
+    }
+
+    /**
+     * Activates the effect of the PowerUp on the specified paddle and game world.
+     *
+     * @param friendly The friendly paddle to apply the effect.
+     * @param opponent The opponent paddle.
+     * @param world The game world the power-up belongs to.
+     * @param collector The player whose ball collected the power-up.
+     */
+    private void activateEffect(PaddleModel friendly, PaddleModel opponent, PongModel world, BallModel.Owner collector) {
+        GameEvents.powerUpCollected(powerUpType, collector);
+        switch (powerUpType) {
+            case SIZE_INCREASE: friendly.changePaddleHeight(1.2); break;
+            case SIZE_DEBUFF: opponent.changePaddleHeight(0.8); break;
+            case SPEED_INCREASE: friendly.changePaddleSpeed(0.1); break;
+            case SPEED_DEBUFF: opponent.changePaddleSpeed(-0.2); break;
+            case EXTRA_BALL: world.addNewBall(); break;
+        }
+    }
+
+    /**
+     * Gets the type of the power-up.
+     *
+     * @return The power-up type.
+     */
+    public Type getType() {
+        return powerUpType;
+    }
+
+    /**
+     * Gets the x-coordinate of the power-up.
+     *
+     * @return The x-coordinate of the power-up.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y-coordinate of the power-up.
+     *
+     * @return The y-coordinate of the power-up.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Gets the width and height of the power-up.
+     *
+     * @return The size of the power-up.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Writes the whole state of the power-up, so it can be rebuilt exactly with the ByteBuffer constructor.
+     *
+     * @param out The buffer to write STATE_SIZE bytes of state to.
+     */
+    public void writeState(ByteBuffer out) {
+        out.put((byte) powerUpType.ordinal()).putInt(x).putInt(y);
+    }
+}
@@ -0,0 +1,177 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+
+/**
+ * The Replay class plays back a recorded match with no window, as fast as the CPU allows.
+ * It runs the same rules Pong runs while a match is being played, with the keys read from the recording, and checks
+ * the world against every keyframe it passes, so it shows both how quickly a recording replays and whether the replay
+ * has drifted from what was recorded:
+ *
+ *     java -Djava.awt.headless=true -cp out Replay recording [fromTick]
+ *
+ * @see InputRecorder
+ */
+public class Replay {
+    private final InputLog log;
+    private final PongModel world = new PongModel(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT);
+    private ByteBuffer state = ByteBuffer.allocate(1024);
+    private long tick;
+    private int keyframesChecked, keyframesDiffering;
+    private BallModel.Owner winner = BallModel.Owner.NONE;
+
+    /**
+     * Constructs a replay starting from the last keyframe at or before a tick.
+     *
+     * @param log      The recording to play back.
+     * @param fromTick The tick to start from; 0 plays the whole match.
+     */
+    public Replay(InputLog log, long fromTick) {
+        this.log = log;
+        tick = log.restore(fromTick, world);
+    }
+
+    /**
+     * Runs a single tick of the match with the keys recorded for it, in the same order as Pong runs a match.
+     *
+     * @return True once the match has been won or the recording has run out.
+     */
+    public boolean tick() {
+        if (isOver()) {
+            return true;
+        }
+        // Check the world against the keyframe recorded at this tick; the one the replay started from checks that
+        // restoring a keyframe is exact
+        int interval = log.getKeyframeInterval();
+        if (tick % interval == 0 && tick / interval < log.getKeyframeCount()) {
+            checkKeyframe((int) (tick / interval));
+        }
+
+        int input = log.getInput(tick);
+        world.update(true);
+        if ((input & InputRecorder.LEFT_UP) != 0) {
+            world.getLeftPaddle().moveUp();
+        }
+        if ((input & InputRecorder.LEFT_DOWN) != 0) {
+            world.getLeftPaddle().moveDown();
+        }
+        if ((input & InputRecorder.RIGHT_UP) != 0) {
+            world.getRightPaddle().moveUp();
+        }
+        if ((input & InputRecorder.RIGHT_DOWN) != 0) {
+            world.getRightPaddle().moveDown();
+        }
+        winner = world.checkForWin();
+        world.move();
+        tick++;
+        return isOver();
+    }
+
+    /**
+     * Compares the world with a keyframe byte for byte.
+     */
+    private void checkKeyframe(int index) {
+        ByteBuffer keyframe = log.getKeyframe(index);
+        if (state.capacity() < world.getStateSize()) {
+            state = ByteBuffer.allocate(world.getStateSize() * 2);
+        }
+        state.clear();
+        world.writeState(state);
+        state.flip();
+        if (state.equals(keyframe)) {
+            keyframesChecked++;
+        } else {
+            keyframesDiffering++;
+        }
+    }
+
+    /**
+     * Plays the rest of the recording.
+     */
+    public void play() {
+        while (!tick()) {
+            // Keep ticking until the match is over
+        }
+    }
+
+    /**
+     * Checks if the replay has finished, either because the match was won or the recording has run out.
+     *
+     * @return True if no more ticks can be replayed.
+     */
+    public boolean isOver() {
+        return winner != BallModel.Owner.NONE || tick >= log.getTickCount();
+    }
+
+    /**
+     * Gets the number of ticks replayed so far, counted from the start of the recording.
+     *
+     * @return The current tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the number of keyframes the replay matched exactly.
+     *
+     * @return The number of matching keyframes.
+     */
+    public int getKeyframesChecked() {
+        return keyframesChecked;
+    }
+
+    /**
+     * Gets the number of keyframes the replay drifted from.
+     *
+     * @return The number of differing keyframes.
+     */
+    public int getKeyframesDiffering() {
+        return keyframesDiffering;
+    }
+
+    /**
+     * Gets the player who won the match.
+     *
+     * @return LEFT or RIGHT, or NONE if the recording ended before the match was won.
+     */
+    public BallModel.Owner getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the world being replayed.
+     *
+     * @return The world.
+     */
+    public PongModel getWorld() {
+        return world;
+    }
+
+    /**
+     * Replays a recording and reports the result, how fast it replayed, and whether it matched every keyframe.
+     *
+     * @param args The recording, and optionally the tick to start from.
+     * @throws IOException If the recording cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: Replay recording [fromTick]");
+            return;
+        }
+        try (InputLog log = new InputLog(Paths.get(args[0]))) {
+            long fromTick = args.length > 1 ? Long.parseLong(args[1]) : 0;
+            long start = System.nanoTime();
+            Replay replay = new Replay(log, fromTick);
+            long startTick = replay.getTick();
+            replay.play();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            PongModel world = replay.getWorld();
+            System.out.printf("Seed %d: replayed ticks %d to %d of %d in %.3f s (%.0f ticks/s)%n", log.getSeed(),
+                    startTick, replay.getTick(), log.getTickCount(), seconds, (replay.getTick() - startTick) / seconds);
+            System.out.printf("Winner: %s, score %d - %d%n", replay.getWinner(), world.getLeftScore(), world.getRightScore());
+            System.out.printf("Keyframes: %d matched, %d differed%n", replay.getKeyframesChecked(), replay.getKeyframesDiffering());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * The ScalarBallKernel class steps one ball at a time with plain loops, which the JIT may still unroll and vectorise
+ * where it can. Each loop has one test that almost every ball fails in the same way and skips the rest of the work for
+ * it; a branch that is predicted right every time turned out cheaper than computing every ball's result without
+ * branches.
+ */
+public class ScalarBallKernel implements BallKernel {
+
+    @Override
+    public void integrate(float[] x, float[] y, float[] vx, float[] vy, int count) {
+        for (int i = 0; i < count; i++) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+        }
+    }
+
+    @Override
+    public void bounceWalls(float[] y, float[] vy, float[] size, int count, int fieldHeight) {
+        for (int i = 0; i < count; i++) {
+            float top = y[i], bottom = fieldHeight - size[i];
+            if (top < 0) {
+                y[i] = 0;
+                vy[i] = -vy[i];
+            } else if (top > bottom) {
+                y[i] = bottom;
+                vy[i] = -vy[i];
+            }
+        }
+    }
+
+    @Override
+    public int findOutOfBounds(float[] x, float[] size, int count, int fieldWidth, int[] out) {
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (x[i] > fieldWidth || x[i] + size[i] < 0) {
+                out[found++] = i;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,64 @@
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The Splash class is a small undecorated window that shows how many of the game's assets have loaded while the game
+ * window is being created. It draws itself with a few rectangles and a system font, so it needs nothing that is still
+ * loading, and polls Assets for its progress.
+ *
+ * @see Assets
+ */
+public class Splash extends JWindow {
+    private static final int WIDTH = 360, HEIGHT = 90, BAR_HEIGHT = 12, PADDING = 20, POLL_DELAY = 30;
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.BOLD, 16);
+    private static final Color BAR_COLOR = new Color(0, 0, 255), TRACK_COLOR = new Color(60, 60, 60);
+    private final Timer poll = new Timer(POLL_DELAY, e -> repaint());
+
+    /**
+     * Constructs the splash in the centre of the screen.
+     */
+    public Splash() {
+        setSize(WIDTH, HEIGHT);
+        setLocationRelativeTo(null);
+        setContentPane(new JComponent() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                paintProgress(g);
+            }
+        });
+    }
+
+    /**
+     * Draws the progress bar and the number of assets loaded.
+     */
+    private void paintProgress(Graphics g) {
+        int loaded = Assets.getLoaded(), total = Assets.getTotal();
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.setColor(Color.WHITE);
+        g.setFont(FONT);
+        g.drawString("Loading " + loaded + " / " + total, PADDING, PADDING + 16);
+
+        int barWidth = WIDTH - 2 * PADDING, barY = HEIGHT - PADDING - BAR_HEIGHT;
+        g.setColor(TRACK_COLOR);
+        g.fillRect(PADDING, barY, barWidth, BAR_HEIGHT);
+        g.setColor(BAR_COLOR);
+        g.fillRect(PADDING, barY, barWidth * loaded / Math.max(1, total), BAR_HEIGHT);
+    }
+
+    /**
+     * Shows the splash and starts following the progress.
+     */
+    public void open() {
+        setVisible(true);
+        poll.start();
+    }
+
+    /**
+     * Stops following the progress and closes the splash.
+     */
+    public void close() {
+        poll.stop();
+        dispose();
+    }
+}
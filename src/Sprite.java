@@ -0,0 +1,136 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * The Sprite class is an image converted once into the pixel format of the screen, so drawing it is a straight copy.
+ * Images read from files are usually in a format the screen does not use, and Java2D converts them pixel by pixel
+ * every time they are drawn. A sprite bakes the image at the size it is drawn at into a compatible image when it is
+ * created, and when drawn to the screen it also keeps a copy in a VolatileImage, which lives in video memory.
+ *
+ * A VolatileImage can lose its contents at any time, such as when the display mode changes or another program takes
+ * the video memory. It is checked before every draw and redrawn from the baked image if it was lost, or created again
+ * if it no longer suits the screen being drawn to. While it cannot be restored, the baked image is drawn instead.
+ *
+ * @see SpriteCache
+ */
+public class Sprite {
+    private final BufferedImage baked;
+    private final boolean useVolatile;
+    private VolatileImage volatileImage;
+    private GraphicsConfiguration volatileConfig;
+
+    /**
+     * Constructs a sprite from an image, baked at the image's own size.
+     *
+     * @param image       The image.
+     * @param useVolatile Whether to keep a copy in video memory when drawn.
+     */
+    public Sprite(BufferedImage image, boolean useVolatile) {
+        this(image, image.getWidth(), image.getHeight(), useVolatile);
+    }
+
+    /**
+     * Constructs a sprite from an image, baked at the given size.
+     *
+     * @param image       The image.
+     * @param width       The width to draw the image at.
+     * @param height      The height to draw the image at.
+     * @param useVolatile Whether to keep a copy in video memory when drawn.
+     */
+    public Sprite(BufferedImage image, int width, int height, boolean useVolatile) {
+        this.useVolatile = useVolatile && !GraphicsEnvironment.isHeadless();
+        baked = createCompatibleImage(Math.max(1, width), Math.max(1, height));
+        Graphics2D g = baked.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, baked.getWidth(), baked.getHeight(), null);
+        g.dispose();
+    }
+
+    /**
+     * Creates a translucent image in the pixel format of the default screen, or in premultiplied ARGB, the format
+     * Java2D blends fastest, when there is no screen.
+     *
+     * @param width  The width of the image.
+     * @param height The height of the image.
+     * @return The image, fully transparent.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration();
+        return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Draws the sprite with its top-left corner at a point.
+     *
+     * @param g The graphics context.
+     * @param x The x-coordinate to draw at.
+     * @param y The y-coordinate to draw at.
+     */
+    public void draw(Graphics g, int x, int y) {
+        if (useVolatile && g instanceof Graphics2D) {
+            GraphicsConfiguration config = ((Graphics2D) g).getDeviceConfiguration();
+            // Images and printers have no video memory to keep a copy in
+            if (config.getDevice().getType() == GraphicsDevice.TYPE_RASTER_SCREEN && validate(config)) {
+                g.drawImage(volatileImage, x, y, null);
+                if (!volatileImage.contentsLost()) {
+                    return;
+                }
+            }
+        }
+        g.drawImage(baked, x, y, null);
+    }
+
+    /**
+     * Makes sure the copy in video memory exists, suits the screen, and holds the sprite.
+     *
+     * @return True if the copy can be drawn, or false if it could not be restored.
+     */
+    private boolean validate(GraphicsConfiguration config) {
+        int status = volatileImage == null || config != volatileConfig
+                ? VolatileImage.IMAGE_INCOMPATIBLE : volatileImage.validate(config);
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (volatileImage != null) {
+                volatileImage.flush();
+            }
+            volatileImage = config.createCompatibleVolatileImage(baked.getWidth(), baked.getHeight(),
+                    Transparency.TRANSLUCENT);
+            volatileConfig = config;
+            if (volatileImage == null) {
+                return false;
+            }
+            status = VolatileImage.IMAGE_RESTORED;
+        }
+        if (status == VolatileImage.IMAGE_RESTORED) {
+            // The contents are gone, so copy the baked image back in
+            Graphics2D g = volatileImage.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(baked, 0, 0, null);
+            g.dispose();
+        }
+        return !volatileImage.contentsLost();
+    }
+
+    /**
+     * Gets the width the sprite is drawn at.
+     *
+     * @return The width.
+     */
+    public int getWidth() {
+        return baked.getWidth();
+    }
+
+    /**
+     * Gets the height the sprite is drawn at.
+     *
+     * @return The height.
+     */
+    public int getHeight() {
+        return baked.getHeight();
+    }
+}
@@ -0,0 +1,60 @@
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The SpriteCache class loads every image the game draws and keeps it as a Sprite.
+ * Each image is read and converted to the screen's pixel format in the background the first time it is asked for,
+ * and every later request for it returns the same sprite, so nothing on the paint path reads a file or converts a
+ * pixel. Images are loaded on the executor of Assets, which asks for all of them as the game starts.
+ *
+ * Sprites keep a copy in video memory unless pong.sprites is set to "managed", which leaves their upkeep to Java2D.
+ *
+ * @see Sprite
+ */
+public final class SpriteCache {
+    private static final boolean USE_VOLATILE = !"managed".equals(System.getProperty("pong.sprites"));
+    private static final ConcurrentHashMap<String, CompletableFuture<Sprite>> SPRITES = new ConcurrentHashMap<>();
+
+    private SpriteCache() {
+    }
+
+    /**
+     * Gets the sprite of an image in the game's resources, starting to load it if it has not been asked for yet.
+     *
+     * @param name The file name of the image, such as "play_button.png".
+     * @return A future completed with the sprite. If the image cannot be read, the sprite is empty and one pixel
+     * across.
+     */
+    public static CompletableFuture<Sprite> request(String name) {
+        return SPRITES.computeIfAbsent(name,
+                key -> CompletableFuture.supplyAsync(() -> load(key), Assets.getExecutor()));
+    }
+
+    /**
+     * Copies an image out of the asset archive, or reads it if the archive does not hold it, and bakes it into a
+     * sprite.
+     */
+    private static Sprite load(String name) {
+        AssetArchive archive = Assets.getArchive();
+        BufferedImage image = archive != null ? archive.getImage(name) : null;
+        if (image != null) {
+            return new Sprite(image, USE_VOLATILE);
+        }
+        try (InputStream in = SpriteCache.class.getClassLoader().getResourceAsStream(name)) {
+            if (in != null) {
+                image = ImageIO.read(in);
+            }
+        } catch (IOException e) {
+            System.out.println(e);
+        }
+        if (image == null) {
+            System.out.println("Missing image: " + name);
+            image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        }
+        return new Sprite(image, USE_VOLATILE);
+    }
+}
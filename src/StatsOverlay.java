@@ -0,0 +1,81 @@
+import csta.ibm.pong.GameObject;
+
+import java.awt.*;
+
+/**
+ * The StatsOverlay class shows the frame timing statistics and how many things are in the game, in the top-left
+ * corner of the field. For each phase of a frame it shows the median, 99th percentile, and worst time since the game
+ * started, in microseconds. It is hidden until toggled with F3.
+ *
+ * @see FrameStats
+ */
+public class StatsOverlay extends GameObject {
+    private static final int LINE_HEIGHT = 14, PADDING = 6;
+    private static final FrameStats.Phase[] PHASES = FrameStats.Phase.values();
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    private final FrameStats stats;
+    private final PongModel world;
+    private final EffectLayer effects;
+
+    /**
+     * Constructs a hidden overlay.
+     *
+     * @param stats   The timing statistics to show.
+     * @param world   The world whose balls and power-ups are counted.
+     * @param effects The effect layer whose particles and generators are counted.
+     */
+    public StatsOverlay(FrameStats stats, PongModel world, EffectLayer effects) {
+        this.stats = stats;
+        this.world = world;
+        this.effects = effects;
+        setSize(300, (PHASES.length + 6) * LINE_HEIGHT + 2 * PADDING);
+        setLocation(10, 10);
+        setVisible(false);
+    }
+
+    /**
+     * Repaints the overlay while it is shown.
+     */
+    @Override
+    public void act() {
+        if (isVisible()) {
+            repaint();
+        }
+    }
+
+    /**
+     * Draws a line for every phase and the entity counts.
+     *
+     * @param g The graphics context.
+     */
+    @Override
+    public void paint(Graphics g) {
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, getWidth(), getHeight());
+        g.setColor(Color.WHITE);
+        g.setFont(FONT);
+
+        int y = PADDING + LINE_HEIGHT - 3;
+        g.drawString(String.format("%-11s %7s %7s %7s", "phase (us)", "p50", "p99", "max"), PADDING, y);
+        for (FrameStats.Phase phase : PHASES) {
+            Histogram h = stats.get(phase);
+            y += LINE_HEIGHT;
+            g.drawString(String.format("%-11s %7.0f %7.0f %7.0f", phase.name().toLowerCase(), h.getPercentile(50) / 1e3,
+                    h.getPercentile(99) / 1e3, h.getMax() / 1e3), PADDING, y);
+        }
+
+        BallStore swarm = world.getSwarm();
+        y += LINE_HEIGHT * 2;
+        g.drawString("balls " + world.getBalls().size() + "  swarm " + (swarm != null ? swarm.size() : 0)
+                + "  power-ups " + world.getPowerUps().size(), PADDING, y);
+        y += LINE_HEIGHT;
+        g.drawString("particles " + effects.getParticles().getLiveCount() + "  generators "
+                + effects.getGeneratorCount(), PADDING, y);
+        y += LINE_HEIGHT;
+        g.drawString("components " + stats.getComponents() + " (max " + stats.getMaxComponents() + ")", PADDING, y);
+        y += LINE_HEIGHT;
+        g.drawString(String.format("repainted %dk px (p50 %dk)", stats.getLastPixels() / 1000,
+                stats.getPixels().getPercentile(50) / 1000), PADDING, y);
+    }
+}
@@ -0,0 +1,124 @@
+import csta.ibm.pong.GameObject;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * The SwarmLayer class draws every ball in a BallStore in one pass.
+ * Rather than filling one rectangle per ball through the Graphics object, the balls are written straight into the
+ * pixels of an image covering the field, and the image is drawn once, so drawing costs the same per ball whether
+ * there are a hundred balls or a hundred thousand.
+ *
+ * The image is drawn into once a frame, in act(), and painting only copies the part of it being painted, since the
+ * layer is painted once for every damaged rectangle of the window.
+ */
+public class SwarmLayer extends GameObject {
+    private static final BallModel.Owner[] OWNERS = BallModel.Owner.values();
+    private final GameField game;
+    private final BallStore store;
+    private final int[] ownerColors = new int[OWNERS.length];
+    private final Rectangle clip = new Rectangle();
+    private BufferedImage image;
+    private int[] pixels;
+    private int drawnLeft, drawnTop, drawnRight, drawnBottom;
+
+    /**
+     * Constructs a layer covering the game field.
+     *
+     * @param game  The field, which the layer is kept the size of.
+     * @param store The balls to draw.
+     */
+    public SwarmLayer(GameField game, BallStore store) {
+        this.game = game;
+        this.store = store;
+        for (int i = 0; i < OWNERS.length; i++) {
+            ownerColors[i] = Palette.ballColor(OWNERS[i]).getRGB();
+        }
+        setSize(game.getFieldWidth(), game.getFieldHeight());
+    }
+
+    /**
+     * Keeps the layer covering the whole field, draws the swarm into its image, and repaints the region the swarm was
+     * drawn in and is drawn in now.
+     */
+    @Override
+    public void act() {
+        setSize(game.getFieldWidth(), game.getFieldHeight());
+        int width = getWidth(), height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        } else {
+            // Only the region drawn last frame holds any balls
+            fill(drawnLeft, drawnTop, drawnRight, drawnBottom, 0);
+        }
+        if (drawnRight > drawnLeft) {
+            repaint(drawnLeft, drawnTop, drawnRight - drawnLeft, drawnBottom - drawnTop);
+        }
+
+        // Draw every ball, and find the smallest rectangle holding them all
+        float[] x = store.getX(), y = store.getY(), size = store.getSizes();
+        byte[] owner = store.getOwners();
+        float left = Float.MAX_VALUE, top = Float.MAX_VALUE, right = -Float.MAX_VALUE, bottom = -Float.MAX_VALUE;
+        for (int i = 0; i < store.size(); i++) {
+            fill((int) x[i], (int) y[i], (int) x[i] + (int) size[i], (int) y[i] + (int) size[i],
+                    ownerColors[owner[i]]);
+            left = Math.min(left, x[i]);
+            top = Math.min(top, y[i]);
+            right = Math.max(right, x[i] + size[i]);
+            bottom = Math.max(bottom, y[i] + size[i]);
+        }
+        if (store.size() > 0) {
+            drawnLeft = (int) left;
+            drawnTop = (int) top;
+            drawnRight = (int) right + 1;
+            drawnBottom = (int) bottom + 1;
+            repaint(drawnLeft, drawnTop, drawnRight - drawnLeft, drawnBottom - drawnTop);
+        } else {
+            drawnRight = drawnLeft;
+        }
+    }
+
+    /**
+     * Fills a rectangle of the image with a color, clipped to the image.
+     */
+    private void fill(int left, int top, int right, int bottom, int color) {
+        int width = image.getWidth();
+        left = Math.max(0, left);
+        top = Math.max(0, top);
+        right = Math.min(width, right);
+        bottom = Math.min(image.getHeight(), bottom);
+        if (right <= left) {
+            return;
+        }
+        for (int row = top; row < bottom; row++) {
+            Arrays.fill(pixels, row * width + left, row * width + right, color);
+        }
+    }
+
+    /**
+     * Draws the part of the layer's image that is being painted and holds any balls.
+     *
+     * @param g The graphics context.
+     */
+    @Override
+    public void paint(Graphics g) {
+        if (image == null || drawnRight <= drawnLeft) {
+            return;
+        }
+        // The whole image, unless the graphics context is clipped to less
+        clip.setBounds(0, 0, image.getWidth(), image.getHeight());
+        g.getClipBounds(clip);
+        int left = Math.max(Math.max(0, clip.x), drawnLeft), top = Math.max(Math.max(0, clip.y), drawnTop);
+        int right = Math.min(Math.min(image.getWidth(), clip.x + clip.width), drawnRight);
+        int bottom = Math.min(Math.min(image.getHeight(), clip.y + clip.height), drawnBottom);
+        if (right > left && bottom > top) {
+            g.drawImage(image, left, top, right, bottom, left, top, right, bottom, null);
+        }
+    }
+}
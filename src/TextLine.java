@@ -0,0 +1,138 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The TextLine class is a line of text drawn from a GlyphAtlas into an image of its own, which is only drawn again
+ * when the text changes. Drawing the line is then a single image copy whatever its length, and setting it to the text
+ * it already shows costs a comparison and nothing else.
+ *
+ * The image grows to fit the longest text the line has shown and is reused for shorter text, so a line whose text
+ * changes often, such as one being typed out a letter at a time, allocates nothing once it has shown its longest text.
+ * The graphics context drawing into the image is kept with it for the same reason, rather than created for each text.
+ */
+public class TextLine {
+    private final GlyphAtlas atlas;
+    private char[] text = new char[0];
+    private int length, width;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    /**
+     * Constructs an empty line.
+     *
+     * @param atlas The atlas to draw the characters from.
+     */
+    public TextLine(GlyphAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /**
+     * Sets the whole of a text as the line.
+     *
+     * @param newText The text to show.
+     * @return True if the text changed, in which case the line has been drawn again.
+     */
+    public boolean setText(CharSequence newText) {
+        return setText(newText, newText.length());
+    }
+
+    /**
+     * Sets the start of a text as the line, such as for text being typed out.
+     *
+     * @param newText   The text to take the characters from.
+     * @param newLength The number of characters to show from the start of the text.
+     * @return True if the text changed, in which case the line has been drawn again.
+     */
+    public boolean setText(CharSequence newText, int newLength) {
+        newLength = Math.max(0, Math.min(newLength, newText.length()));
+        if (newLength == length && matches(newText)) {
+            return false;
+        }
+        if (text.length < newLength) {
+            text = new char[newLength];
+        }
+        for (int i = 0; i < newLength; i++) {
+            text[i] = newText.charAt(i);
+        }
+        length = newLength;
+        render(newText);
+        return true;
+    }
+
+    /**
+     * Checks if the characters shown are the first characters of a text.
+     */
+    private boolean matches(CharSequence newText) {
+        for (int i = 0; i < length; i++) {
+            if (text[i] != newText.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draws the characters into the line's image, growing it if they do not fit.
+     */
+    private void render(CharSequence newText) {
+        width = atlas.getWidth(newText, length);
+        int padding = atlas.getPadding();
+        int imageWidth = width + 2 * padding, imageHeight = atlas.getHeight() + 2 * padding;
+        if (image == null || image.getWidth() < imageWidth) {
+            image = Sprite.createCompatibleImage(Math.max(imageWidth, image == null ? 1 : image.getWidth() * 2),
+                    imageHeight);
+            if (graphics != null) {
+                graphics.dispose();
+            }
+            graphics = image.createGraphics();
+        }
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.setComposite(AlphaComposite.SrcOver);
+        atlas.draw(graphics, newText, length, padding, padding);
+    }
+
+    /**
+     * Draws the line with its top-left corner at a point.
+     *
+     * @param g The graphics context.
+     * @param x The x-coordinate of the start of the line.
+     * @param y The y-coordinate of the top of the line.
+     */
+    public void draw(Graphics g, int x, int y) {
+        if (length > 0) {
+            int padding = atlas.getPadding();
+            g.drawImage(image, x - padding, y - padding, null);
+        }
+    }
+
+    /**
+     * Gets the width of the text shown.
+     *
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the line.
+     *
+     * @return The line height.
+     */
+    public int getHeight() {
+        return atlas.getHeight();
+    }
+
+    /**
+     * Gets the region the line covers when drawn at a point, including anything drawn outside it.
+     *
+     * @param x      The x-coordinate of the start of the line.
+     * @param y      The y-coordinate of the top of the line.
+     * @param bounds The rectangle to set to the region.
+     */
+    public void getBounds(int x, int y, Rectangle bounds) {
+        int padding = atlas.getPadding();
+        bounds.setBounds(x - padding, y - padding, width + 2 * padding, atlas.getHeight() + 2 * padding);
+    }
+}
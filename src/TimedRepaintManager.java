@@ -0,0 +1,86 @@
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The TimedRepaintManager class is Swing's repaint manager with every paint pass timed into FrameStats.
+ * Swing paints every component that asked to be repainted in one pass on the event thread, so timing the pass covers
+ * the paint methods of every game object, the labels, and the menu.
+ *
+ * It also counts how many pixels of the game's window each pass repaints. Swing repaints the smallest rectangle
+ * holding every region of a window that asked to be repainted, so that is what is counted.
+ */
+public class TimedRepaintManager extends RepaintManager {
+    protected final FrameStats stats;
+    protected final JRootPane root;
+    protected int offsetX, offsetY;
+    private int dirtyLeft = Integer.MAX_VALUE, dirtyTop = Integer.MAX_VALUE, dirtyRight, dirtyBottom;
+
+    /**
+     * Constructs a repaint manager that records into the given statistics.
+     *
+     * @param stats The statistics to record each paint pass in as FrameStats.Phase.PAINT.
+     * @param root  The root pane of the game's window, whose repainted pixels are counted.
+     */
+    public TimedRepaintManager(FrameStats stats, JRootPane root) {
+        this.stats = stats;
+        this.root = root;
+    }
+
+    /**
+     * Finds where a component is in the game's window, setting offsetX and offsetY to the position of its top-left
+     * corner in the root pane.
+     *
+     * @param c The component.
+     * @return True if the component is in the game's window, otherwise false.
+     */
+    protected boolean locate(Component c) {
+        int x = 0, y = 0;
+        for (Component p = c; p != null; p = p.getParent()) {
+            if (p == root) {
+                offsetX = x;
+                offsetY = y;
+                return true;
+            }
+            x += p.getX();
+            y += p.getY();
+        }
+        return false;
+    }
+
+    /**
+     * Queues a region of a component to be repainted, counting it towards the pixels the next pass repaints.
+     *
+     * @param c The component to repaint.
+     * @param x The x-coordinate of the region in the component.
+     * @param y The y-coordinate of the region in the component.
+     * @param w The width of the region.
+     * @param h The height of the region.
+     */
+    @Override
+    public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+        super.addDirtyRegion(c, x, y, w, h);
+        if (w > 0 && h > 0 && locate(c)) {
+            dirtyLeft = Math.min(dirtyLeft, Math.max(0, offsetX + x));
+            dirtyTop = Math.min(dirtyTop, Math.max(0, offsetY + y));
+            dirtyRight = Math.max(dirtyRight, Math.min(root.getWidth(), offsetX + x + w));
+            dirtyBottom = Math.max(dirtyBottom, Math.min(root.getHeight(), offsetY + y + h));
+        }
+    }
+
+    /**
+     * Paints every component that needs it, recording how long it took and how many pixels were repainted.
+     */
+    @Override
+    public void paintDirtyRegions() {
+        long start = System.nanoTime();
+        super.paintDirtyRegions();
+        if (dirtyRight > dirtyLeft && dirtyBottom > dirtyTop) {
+            stats.countPixels((long) (dirtyRight - dirtyLeft) * (dirtyBottom - dirtyTop));
+        }
+        dirtyLeft = Integer.MAX_VALUE;
+        dirtyTop = Integer.MAX_VALUE;
+        dirtyRight = 0;
+        dirtyBottom = 0;
+        stats.lap(FrameStats.Phase.PAINT, start);
+    }
+}
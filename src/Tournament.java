@@ -0,0 +1,305 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The Tournament class plays a large batch of computer-versus-computer matches with no window, spread over every core.
+ * Matches are split between the threads of a fork/join pool, and each is played in its own world seeded from the
+ * tournament's seed and the match's number, so a tournament can be replayed exactly whatever the thread count.
+ * The results of every match are gathered into win rates, match lengths, power-up pickups, and the number of balls in
+ * play over time, which is what we look at when balancing the winning score and the respawn times.
+ *
+ *     java -Djava.awt.headless=true -cp out Tournament [matches] [threads] [seed]
+ *
+ * The rules can be changed with the system properties pong.winScore, pong.ballRespawnTime, and
+ * pong.powerupRespawnTime, and the number of balls and power-ups allowed in play with pong.maxBalls and
+ * pong.maxPowerUps. Setting pong.ballCollisions to true makes the balls bounce off each other.
+ */
+public class Tournament {
+    public static final int SAMPLE_INTERVAL = 100, MAX_SAMPLES = 100, MATCHES_PER_TASK = 4;
+    private final int matches, maxTicks;
+    private final long seed;
+    private final int winScore, ballRespawnTime, powerupRespawnTime;
+    private int maxBalls = PongModel.MAX_BALLS, maxPowerUps = PongModel.MAX_POWERUPS;
+    private boolean ballCollisions;
+
+    /**
+     * Constructs a tournament played by the default rules.
+     *
+     * @param matches  The number of matches to play.
+     * @param maxTicks The number of ticks after which a match is abandoned without a winner.
+     * @param seed     The seed every match's seed is derived from.
+     */
+    public Tournament(int matches, int maxTicks, long seed) {
+        this(matches, maxTicks, seed, PongModel.WIN_SCORE, PongModel.BALL_RESPAWN_TIME, PongModel.POWERUP_RESPAWN_TIME);
+    }
+
+    /**
+     * Constructs a tournament played by the given rules.
+     *
+     * @param matches            The number of matches to play.
+     * @param maxTicks           The number of ticks after which a match is abandoned without a winner.
+     * @param seed               The seed every match's seed is derived from.
+     * @param winScore           The score a player must reach to win.
+     * @param ballRespawnTime    The number of ticks between new balls.
+     * @param powerupRespawnTime The number of ticks between new power-ups.
+     * @see PongModel#setRules(int, int, int)
+     */
+    public Tournament(int matches, int maxTicks, long seed, int winScore, int ballRespawnTime, int powerupRespawnTime) {
+        this.matches = matches;
+        this.maxTicks = maxTicks;
+        this.seed = seed;
+        this.winScore = winScore;
+        this.ballRespawnTime = ballRespawnTime;
+        this.powerupRespawnTime = powerupRespawnTime;
+    }
+
+    /**
+     * Changes how many balls and power-ups can be in play at once in every match.
+     *
+     * @param newMaxBalls    The most balls in play.
+     * @param newMaxPowerUps The most power-ups in play.
+     * @see PongModel#setLimits(int, int)
+     */
+    public void setLimits(int newMaxBalls, int newMaxPowerUps) {
+        maxBalls = newMaxBalls;
+        maxPowerUps = newMaxPowerUps;
+    }
+
+    /**
+     * Sets whether balls bounce off each other in every match.
+     *
+     * @param enabled True to make balls bounce off each other.
+     * @see PongModel#setBallCollisions(boolean)
+     */
+    public void setBallCollisions(boolean enabled) {
+        ballCollisions = enabled;
+    }
+
+    /**
+     * Plays every match of the tournament in the given pool.
+     *
+     * @param pool The pool to play the matches in.
+     * @return The combined results of every match.
+     */
+    public Results play(ForkJoinPool pool) {
+        return pool.invoke(new MatchTask(0, matches));
+    }
+
+    /**
+     * Plays a single match of the tournament.
+     *
+     * @param index The number of the match, from 0.
+     * @param into  The results to add the match to.
+     */
+    private void playMatch(int index, Results into) {
+        HeadlessMatch match = new HeadlessMatch(HeadlessMatch.FIELD_WIDTH, HeadlessMatch.FIELD_HEIGHT, maxTicks,
+                matchSeed(index));
+        PongModel world = match.getWorld();
+        world.setRules(winScore, ballRespawnTime, powerupRespawnTime);
+        world.setLimits(maxBalls, maxPowerUps);
+        world.setBallCollisions(ballCollisions);
+
+        while (!match.isOver()) {
+            // Sample the number of balls in play at regular intervals
+            int ticks = match.getTicks();
+            if (ticks % SAMPLE_INTERVAL == 0 && ticks / SAMPLE_INTERVAL < MAX_SAMPLES) {
+                into.ballSamples[ticks / SAMPLE_INTERVAL] += world.getBalls().size();
+                into.sampledMatches[ticks / SAMPLE_INTERVAL]++;
+            }
+            match.tick();
+        }
+        into.addMatch(match.getWinner(), match.getTicks(), world.getPowerUpsCollected(), world.getBalls().size());
+    }
+
+    /**
+     * Derives the seed of a match from the tournament's seed, so neighbouring matches get unrelated seeds.
+     *
+     * @param index The number of the match.
+     * @return The seed of the match's world.
+     */
+    private long matchSeed(int index) {
+        // The finalizer of SplitMix64
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays a range of matches, splitting it in half until each part is small enough to play on one thread.
+     */
+    private class MatchTask extends RecursiveTask<Results> {
+        private final int from, to;
+
+        MatchTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Results compute() {
+            if (to - from <= MATCHES_PER_TASK) {
+                Results results = new Results();
+                for (int i = from; i < to; i++) {
+                    playMatch(i, results);
+                }
+                return results;
+            }
+            int middle = (from + to) >>> 1;
+            MatchTask left = new MatchTask(from, middle);
+            left.fork();
+            Results right = new MatchTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * The combined results of a set of matches.
+     */
+    public static class Results {
+        private long matches, leftWins, rightWins, abandoned, totalTicks, powerUpsCollected, finalBalls;
+        private int shortestMatch = Integer.MAX_VALUE, longestMatch = 0;
+        private final long[] ballSamples = new long[MAX_SAMPLES], sampledMatches = new long[MAX_SAMPLES];
+
+        /**
+         * Adds a finished match to the results.
+         */
+        private void addMatch(BallModel.Owner winner, int ticks, int powerUps, int balls) {
+            matches++;
+            switch (winner) {
+                case LEFT: leftWins++; break;
+                case RIGHT: rightWins++; break;
+                default: abandoned++; break;
+            }
+            totalTicks += ticks;
+            shortestMatch = Math.min(shortestMatch, ticks);
+            longestMatch = Math.max(longestMatch, ticks);
+            powerUpsCollected += powerUps;
+            finalBalls += balls;
+        }
+
+        /**
+         * Adds another set of results to this one.
+         *
+         * @param other The results to add.
+         * @return These results, for chaining.
+         */
+        public Results merge(Results other) {
+            matches += other.matches;
+            leftWins += other.leftWins;
+            rightWins += other.rightWins;
+            abandoned += other.abandoned;
+            totalTicks += other.totalTicks;
+            powerUpsCollected += other.powerUpsCollected;
+            finalBalls += other.finalBalls;
+            shortestMatch = Math.min(shortestMatch, other.shortestMatch);
+            longestMatch = Math.max(longestMatch, other.longestMatch);
+            for (int i = 0; i < MAX_SAMPLES; i++) {
+                ballSamples[i] += other.ballSamples[i];
+                sampledMatches[i] += other.sampledMatches[i];
+            }
+            return this;
+        }
+
+        /**
+         * Gets the number of matches played.
+         *
+         * @return The match count.
+         */
+        public long getMatches() {
+            return matches;
+        }
+
+        /**
+         * Gets the total number of ticks played across every match.
+         *
+         * @return The tick count.
+         */
+        public long getTotalTicks() {
+            return totalTicks;
+        }
+
+        /**
+         * Gets the fraction of matches won by the left paddle.
+         *
+         * @return The left win rate, between 0 and 1.
+         */
+        public double getLeftWinRate() {
+            return matches == 0 ? 0 : leftWins / (double) matches;
+        }
+
+        /**
+         * Gets the fraction of matches won by the right paddle.
+         *
+         * @return The right win rate, between 0 and 1.
+         */
+        public double getRightWinRate() {
+            return matches == 0 ? 0 : rightWins / (double) matches;
+        }
+
+        /**
+         * Gets the mean number of balls in play at a given sample, over the matches still running at that time.
+         *
+         * @param sample The sample, taken every SAMPLE_INTERVAL ticks.
+         * @return The mean ball count, or -1 if no match lasted that long.
+         */
+        public double getMeanBalls(int sample) {
+            return sampledMatches[sample] == 0 ? -1 : ballSamples[sample] / (double) sampledMatches[sample];
+        }
+
+        /**
+         * Writes a summary of the results.
+         *
+         * @return The summary, over several lines.
+         */
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("Matches: %d (left %.1f%%, right %.1f%%, abandoned %d)%n",
+                    matches, getLeftWinRate() * 100, getRightWinRate() * 100, abandoned));
+            out.append(String.format("Length: mean %.0f, shortest %d, longest %d ticks%n",
+                    matches == 0 ? 0.0 : totalTicks / (double) matches, shortestMatch, longestMatch));
+            out.append(String.format("Power-ups collected: %.1f per match%n",
+                    matches == 0 ? 0.0 : powerUpsCollected / (double) matches));
+            out.append(String.format("Balls at the end: %.1f per match%n",
+                    matches == 0 ? 0.0 : finalBalls / (double) matches));
+            out.append("Balls in play over time:");
+            for (int i = 0; i < MAX_SAMPLES && sampledMatches[i] > 0; i += 5) {
+                out.append(String.format("%n  tick %5d: %5.1f balls (%d matches running)",
+                        i * SAMPLE_INTERVAL, getMeanBalls(i), sampledMatches[i]));
+            }
+            return out.toString();
+        }
+    }
+
+    /**
+     * Plays a tournament and reports its results and how fast it was played.
+     *
+     * @param args The number of matches, the number of threads, and the seed, all optional.
+     */
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        Tournament tournament = new Tournament(matches, HeadlessMatch.DEFAULT_MAX_TICKS, seed,
+                Integer.getInteger("pong.winScore", PongModel.WIN_SCORE),
+                Integer.getInteger("pong.ballRespawnTime", PongModel.BALL_RESPAWN_TIME),
+                Integer.getInteger("pong.powerupRespawnTime", PongModel.POWERUP_RESPAWN_TIME));
+        tournament.setLimits(Integer.getInteger("pong.maxBalls", PongModel.MAX_BALLS),
+                Integer.getInteger("pong.maxPowerUps", PongModel.MAX_POWERUPS));
+        tournament.setBallCollisions(Boolean.getBoolean("pong.ballCollisions"));
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        Results results = tournament.play(pool);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        System.out.println("Seed: " + seed + ", threads: " + threads);
+        System.out.println(results);
+        System.out.printf("%.2f s, %.1f matches/s, %.0f ticks/s, %.1f matches/s per thread%n", seconds,
+                results.getMatches() / seconds, results.getTotalTicks() / seconds,
+                results.getMatches() / seconds / threads);
+    }
+}
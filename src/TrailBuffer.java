@@ -0,0 +1,142 @@
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The TrailBuffer class stores the trail of a single ball in a fixed-length ring of primitive arrays.
+ * Each frame the ball writes its position into the next slot, overwriting the oldest segment, so a trail never
+ * allocates once it has been created. A segment's age is worked out from the effect layer's frame counter, which
+ * decides how far it has drifted, how small it has shrunk, and which of the Palette's fade colors it is drawn with.
+ */
+public class TrailBuffer {
+    private final int length, segmentSize;
+    private final int[] x, y, size, stamp;
+    private final byte[] owner;
+    private final Color[][] fadeRamps;
+    private int head, lastStamp;
+    private boolean attached = false;
+
+    /**
+     * Constructs an empty trail.
+     *
+     * @param length       The number of segments kept before the oldest is overwritten, at most MAX_TRAIL_AGE.
+     * @param segmentSize  The size of a new trail segment, used to pick the fade ramps.
+     */
+    public TrailBuffer(int length, int segmentSize) {
+        this.length = Math.max(1, Math.min(length, Palette.MAX_TRAIL_AGE));
+        this.segmentSize = segmentSize;
+        x = new int[this.length];
+        y = new int[this.length];
+        size = new int[this.length];
+        stamp = new int[this.length];
+        owner = new byte[this.length];
+
+        // Look up the fade ramp of each owner once, so painting is a plain array read
+        BallModel.Owner[] owners = BallModel.Owner.values();
+        fadeRamps = new Color[owners.length][];
+        for (int o = 0; o < owners.length; o++) {
+            fadeRamps[o] = Palette.trailFade(o, segmentSize);
+        }
+    }
+
+    /**
+     * Writes a new segment over the oldest one.
+     *
+     * @param newX       The x-coordinate of the segment.
+     * @param newY       The y-coordinate of the segment.
+     * @param newSize    The starting size of the segment.
+     * @param ownerIndex The ordinal of the ball's owner when the segment was left.
+     * @param time       The effect layer's current frame.
+     */
+    public void record(int newX, int newY, int newSize, int ownerIndex, int time) {
+        x[head] = newX;
+        y[head] = newY;
+        size[head] = newSize;
+        stamp[head] = time;
+        owner[head] = (byte) ownerIndex;
+        head = (head + 1) % length;
+        lastStamp = time;
+    }
+
+    /**
+     * Paints every visible segment, oldest first.
+     * A segment drifts one pixel down and right and shrinks by two pixels for every frame it has aged. Segments
+     * outside the region being painted are skipped.
+     *
+     * @param g    The graphics context.
+     * @param time The effect layer's current frame.
+     * @param clip The region being painted.
+     */
+    public void paint(Graphics g, int time, Rectangle clip) {
+        for (int n = 0; n < length; n++) {
+            int i = (head + n) % length;
+            int age = time - stamp[i];
+            if (age <= 0 || age >= length) continue;
+            int currentSize = size[i] - 2 * age;
+            if (currentSize <= 0) continue;
+            if (!Collision.intersects(clip.x, clip.y, clip.width, clip.height,
+                    x[i] + age, y[i] + age, currentSize, currentSize)) continue;
+            g.setColor(fadeRamps[owner[i]][age]);
+            g.fillRect(x[i] + age, y[i] + age, currentSize, currentSize);
+        }
+    }
+
+    /**
+     * Asks for the region the trail was drawn in on the last frame or is drawn in now to be repainted: the smallest
+     * rectangle holding every segment young enough to be visible at its full size, since a segment only shrinks inside
+     * that as it fades.
+     *
+     * @param layer The component the trail is drawn on.
+     * @param time  The effect layer's current frame.
+     */
+    public void repaint(JComponent layer, int time) {
+        int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE, right = Integer.MIN_VALUE, bottom = Integer.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            if (size[i] > 0 && time - stamp[i] <= length) {
+                left = Math.min(left, x[i]);
+                top = Math.min(top, y[i]);
+                right = Math.max(right, x[i] + size[i]);
+                bottom = Math.max(bottom, y[i] + size[i]);
+            }
+        }
+        if (left < right) {
+            layer.repaint(left, top, right - left, bottom - top);
+        }
+    }
+
+    /**
+     * Checks if every segment of the trail has faded away.
+     *
+     * @param time The effect layer's current frame.
+     * @return True if nothing has been recorded for longer than a segment can be visible; false otherwise.
+     */
+    public boolean isFaded(int time) {
+        return time - lastStamp >= Math.min(length, (segmentSize + 1) / 2);
+    }
+
+    /**
+     * Gets the number of segments the trail keeps.
+     *
+     * @return The length of the trail.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Checks if the trail is currently held by an effect layer.
+     *
+     * @return True if the trail is being drawn; false otherwise.
+     */
+    public boolean isAttached() {
+        return attached;
+    }
+
+    /**
+     * Marks whether the trail is currently held by an effect layer.
+     *
+     * @param newValue The new value of the attached flag.
+     */
+    public void setAttached(boolean newValue) {
+        attached = newValue;
+    }
+}
@@ -0,0 +1,86 @@
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The VectorBallKernel class steps as many balls at once as fit in the CPU's widest vector register, using the
+ * jdk.incubator.vector module. Every lane computes its result and masks pick which lanes are written, so there are no
+ * per-ball branches; the few balls past the end of the last full vector are stepped one at a time.
+ *
+ * This class needs Java 17 and is compiled apart from the rest of the game with --add-modules jdk.incubator.vector, so
+ * the Vector module builds against a JDK of its own, named JAVA 17 JDK in the IDE, rather than the project's Java 8
+ * one. BallKernel.load only creates it when the module was added to the running JVM.
+ */
+public class VectorBallKernel implements BallKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void integrate(float[] x, float[] y, float[] vx, float[] vy, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, x, i).add(FloatVector.fromArray(SPECIES, vx, i)).intoArray(x, i);
+            FloatVector.fromArray(SPECIES, y, i).add(FloatVector.fromArray(SPECIES, vy, i)).intoArray(y, i);
+        }
+        for (int i = bound; i < count; i++) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+        }
+    }
+
+    @Override
+    public void bounceWalls(float[] y, float[] vy, float[] size, int count, int fieldHeight) {
+        int bound = SPECIES.loopBound(count);
+        FloatVector height = FloatVector.broadcast(SPECIES, fieldHeight);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector top = FloatVector.fromArray(SPECIES, y, i);
+            FloatVector bottom = height.sub(FloatVector.fromArray(SPECIES, size, i));
+            VectorMask<Float> above = top.lt(0f);
+            VectorMask<Float> below = top.compare(VectorOperators.GT, bottom).andNot(above);
+            VectorMask<Float> bounced = above.or(below);
+            // Most vectors have no ball touching a wall, so skip the stores for them
+            if (!bounced.anyTrue()) {
+                continue;
+            }
+            top.blend(0f, above).blend(bottom, below).intoArray(y, i);
+            FloatVector.fromArray(SPECIES, vy, i).lanewise(VectorOperators.NEG, bounced).intoArray(vy, i);
+        }
+        for (int i = bound; i < count; i++) {
+            float top = y[i], bottom = fieldHeight - size[i];
+            if (top < 0) {
+                y[i] = 0;
+                vy[i] = -vy[i];
+            } else if (top > bottom) {
+                y[i] = bottom;
+                vy[i] = -vy[i];
+            }
+        }
+    }
+
+    @Override
+    public int findOutOfBounds(float[] x, float[] size, int count, int fieldWidth, int[] out) {
+        int bound = SPECIES.loopBound(count);
+        FloatVector width = FloatVector.broadcast(SPECIES, fieldWidth);
+        int found = 0;
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector left = FloatVector.fromArray(SPECIES, x, i);
+            VectorMask<Float> past = left.compare(VectorOperators.GT, width)
+                    .or(left.add(FloatVector.fromArray(SPECIES, size, i)).lt(0f));
+            // Balls score rarely, so only look at the balls of vectors that hold one. Reading the mask's lanes would
+            // keep the JIT from keeping the mask in a register, so the balls are checked again one at a time instead
+            if (past.anyTrue()) {
+                for (int j = i; j < i + SPECIES.length(); j++) {
+                    if (x[j] > fieldWidth || x[j] + size[j] < 0) {
+                        out[found++] = j;
+                    }
+                }
+            }
+        }
+        for (int i = bound; i < count; i++) {
+            if (x[i] > fieldWidth || x[i] + size[i] < 0) {
+                out[found++] = i;
+            }
+        }
+        return found;
+    }
+}